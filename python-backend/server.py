@@ -30,6 +30,8 @@ import asyncio
 from concurrent.futures import ThreadPoolExecutor
 
 executor = ThreadPoolExecutor(max_workers=1)  # 1 LLM worker
+# Number of prompts generated together by /analyzeBatch; bounds GPU memory used by one generate call
+llm_batch_size = max(1, int(os.environ.get("LLM_BATCH_SIZE", "8")))
 # -----------------------------
 # FastAPI initialization
 # -----------------------------
@@ -66,6 +68,7 @@ ner_classifier = pipeline(
 llm_model_name = "NousResearch/Hermes-3-Llama-3.2-3B"
 tokenizer = AutoTokenizer.from_pretrained(llm_model_name)
 tokenizer.pad_token = tokenizer.eos_token
+tokenizer.padding_side = "left"  # decoder-only model: batched prompts must end right before generated tokens
 llm_model = AutoModelForCausalLM.from_pretrained(
     llm_model_name,
     dtype=torch.float16 if device == "cuda" else torch.float32,
@@ -161,6 +164,10 @@ class JobOffer(BaseModel):
     """Input model representing a job offer text to analyze."""
     text: str
 
+class JobOffersBatch(BaseModel):
+    """Input model representing many job offer texts analyzed in one request."""
+    texts: List[str]
+
 class SkillsRequest(BaseModel):
     """Input model representing a skills to group."""
     skills: List[str]
@@ -197,13 +204,30 @@ def query_llm(prompt: str, max_new_tokens: int = 200) -> str:
         print("DEBUG: LLM query failed:", str(e))
         return ""
 
-def ask_llm_for_seniority(text: str) -> str:
+def query_llm_batch(prompts: List[str], max_new_tokens: int = 200) -> List[str]:
     """
-    Determine seniority level (intern, junior, mid, senior) from a job description.
-    Defaults to 'mid' if uncertain.
+    Send many prompts to the LLM in batched generate calls of up to LLM_BATCH_SIZE prompts.
+    Returns generated texts in prompt order; a failed chunk gives empty strings, like query_llm.
     """
-    try:
-        prompt = f"""
+    results = []
+    for start in range(0, len(prompts), llm_batch_size):
+        chunk = prompts[start:start + llm_batch_size]
+        try:
+            inputs = tokenizer(chunk, return_tensors="pt", padding=True).to(device)
+            with torch.no_grad():
+                outputs = llm_model.generate(**inputs, max_new_tokens=max_new_tokens,
+                                             pad_token_id=tokenizer.pad_token_id)
+            for output in outputs:
+                result = tokenizer.decode(output, skip_special_tokens=True).strip()
+                parts = result.split("OUTPUT:")
+                results.append(parts[1].strip() if len(parts) > 1 else result)
+        except Exception as e:
+            print("DEBUG: batched LLM query failed:", str(e))
+            results.extend([""] * len(chunk))
+    return results
+
+def seniority_prompt(text: str) -> str:
+    return f"""
         Analyze the following job description and determine the seniority of the role.
         Return EXACTLY ONE WORD from: ["junior", "mid", "senior", "intern"].
         Do NOT add any explanation, context, or punctuation—only the word.
@@ -216,19 +240,28 @@ def ask_llm_for_seniority(text: str) -> str:
 
         OUTPUT:
         """
-        allowed = {"junior", "mid", "senior", "intern"}
-        words = query_llm(prompt, max_new_tokens=200).strip().lower()[:20]
 
-        return min((w for w in allowed if w in words),
-                   key=lambda w: words.index(w),
-                   default="mid")
+def parse_seniority(result: str) -> str:
+    """Pick the first allowed seniority word of the LLM output; 'mid' if there is none."""
+    allowed = {"junior", "mid", "senior", "intern"}
+    words = result.strip().lower()[:20]
+    return min((w for w in allowed if w in words),
+               key=lambda w: words.index(w),
+               default="mid")
+
+def ask_llm_for_seniority(text: str) -> str:
+    """
+    Determine seniority level (intern, junior, mid, senior) from a job description.
+    Defaults to 'mid' if uncertain.
+    """
+    try:
+        return parse_seniority(query_llm(seniority_prompt(text), max_new_tokens=200))
     except Exception as e:
         print("DEBUG: Seniority detection failed:", str(e))
         return "mid"
 
-def ask_llm_for_skills(text: str) -> List[str]:
-    """Extract technical skills from the job description using LLM JSON output."""
-    prompt = f"""
+def skills_prompt(text: str) -> str:
+    return f"""
     Extract all technical skills, programming languages, frameworks, tools,
     and libraries mentioned in the following job description.
     Return ONLY a JSON array of strings (skills), nothing else.
@@ -239,7 +272,9 @@ def ask_llm_for_skills(text: str) -> List[str]:
 
     JSON OUTPUT:
     """
-    result = query_llm(prompt, max_new_tokens=200)
+
+def parse_skills(result: str) -> List[str]:
+    """Read the first JSON array of the LLM output; skills longer than 3 words are dropped."""
     try:
         matches = re.findall(r"\[.*?\]", result, re.DOTALL)
         for m in matches:
@@ -254,9 +289,12 @@ def ask_llm_for_skills(text: str) -> List[str]:
         print("DEBUG: JSON parse failed for skills:", str(e))
         return []
 
-def ask_llm_for_skill_levels(text: str, skills: List[str]) -> Dict[str, int]:
-    """Assign an importance level (1–5) to each skill."""
-    prompt = f"""
+def ask_llm_for_skills(text: str) -> List[str]:
+    """Extract technical skills from the job description using LLM JSON output."""
+    return parse_skills(query_llm(skills_prompt(text), max_new_tokens=200))
+
+def skill_levels_prompt(text: str, skills: List[str]) -> str:
+    return f"""
     Assign a level 1–5 to each skill in the job description.
     Levels:
       5 = must-have / expert
@@ -275,7 +313,9 @@ def ask_llm_for_skill_levels(text: str, skills: List[str]) -> Dict[str, int]:
 
     JSON OUTPUT:
     """
-    result = query_llm(prompt, max_new_tokens=200)
+
+def parse_skill_levels(result: str, skills: List[str]) -> Dict[str, int]:
+    """Read the first JSON object of the LLM output; all skills get level 5 if there is none."""
     try:
         matches = re.findall(r"\{.*?\}", result, re.DOTALL)
         for m in matches:
@@ -289,6 +329,26 @@ def ask_llm_for_skill_levels(text: str, skills: List[str]) -> Dict[str, int]:
         print("DEBUG: JSON parse failed:", str(e))
         return {k: 5 for k in skills}  # fallback: assume all are must-have
 
+def ask_llm_for_skill_levels(text: str, skills: List[str]) -> Dict[str, int]:
+    """Assign an importance level (1–5) to each skill."""
+    return parse_skill_levels(query_llm(skill_levels_prompt(text, skills), max_new_tokens=200), skills)
+
+def analyze_texts(texts: List[str]) -> List[AnalysisResult]:
+    """
+    Analyze many job offers with batched LLM calls: each step (seniority, skills, skill levels)
+    runs for all offers together, so a batch costs about as many generate calls as a single offer
+    for every LLM_BATCH_SIZE offers. Results are in the same order as texts.
+    """
+    seniorities = [parse_seniority(r) for r in query_llm_batch([seniority_prompt(t) for t in texts])]
+    skills_lists = [[s for s in parse_skills(r) if is_probably_technical(s)]
+                    for r in query_llm_batch([skills_prompt(t) for t in texts])]
+    level_results = query_llm_batch([skill_levels_prompt(t, skills) for t, skills in zip(texts, skills_lists)])
+    results = []
+    for seniority, skills, result in zip(seniorities, skills_lists, level_results):
+        skill_levels = merge_similar_skills_with_levels(parse_skill_levels(result, skills), threshold=0.75)
+        results.append(AnalysisResult(seniority=seniority, skills=dict(skill_levels)))
+    return results
+
 def is_probably_technical(skill: str, threshold: float = 0.55, support_bonus: float = 0.05) -> bool:
     """
     Checks if a skill is technical or semi-technical (support).
@@ -659,6 +719,15 @@ async def analyze(offer: JobOffer) -> AnalysisResult:
 #     print("DEBUG: analyze :\n", grouped_skills)
     return AnalysisResult(seniority=seniority, skills=skills)
 
+@app.post("/analyzeBatch")
+async def analyze_batch(batch: JobOffersBatch) -> List[AnalysisResult]:
+    """
+    Analyze many job offers in one request with batched inference (see analyze_texts).
+    Results are returned in the same order as the input texts.
+    """
+    loop = asyncio.get_event_loop()
+    return await loop.run_in_executor(executor, analyze_texts, batch.texts)
+
 @app.post("/groupSkills")
 def group_skills_endpoint(req: SkillsRequest)-> Dict[str, str]:
     grouped = group_skills_with_llm(req.skills)
@@ -0,0 +1,113 @@
+package com.voidsamuraj.HireLens.dto.aggregation;
+
+import com.voidsamuraj.HireLens.entity.Groups;
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link UserJobsData#addJobs(List)} with the previous {@code synchronized} + {@code merge} implementation
+ * when 1, 4 and 16 workers feed the same instance. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserJobsDataBenchmark {
+
+    private static final int SKILLS = 2_000;
+    private static final int SKILLS_PER_JOB = 10;
+    private static final int JOBS_PER_BATCH = 16;
+
+    private UserJobsData striped;
+    private SynchronizedUserJobsData synchronizedData;
+    private List<List<JobEntity>> batches;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        striped = new UserJobsData(UUID.randomUUID());
+        synchronizedData = new SynchronizedUserJobsData();
+        Random random = new Random(42);
+        String[] locations = {"Poland", "Germany", "USA", "Worldwide", "UK", "Spain"};
+        batches = new ArrayList<>();
+        for (int b = 0; b < 64; b++) {
+            List<JobEntity> batch = new ArrayList<>();
+            for (int j = 0; j < JOBS_PER_BATCH; j++) {
+                JobEntity job = JobEntity.builder().candidateRequiredLocation(locations[random.nextInt(locations.length)]).build();
+                Map<String, Integer> skills = new HashMap<>();
+                while (skills.size() < SKILLS_PER_JOB)
+                    skills.put("skill-" + random.nextInt(SKILLS), 1 + random.nextInt(5));
+                job.setSkills(skills);
+                job.getSkills().forEach(s -> s.setGroup(new Groups(s.getGroup().getSkill(), "group-" + Math.floorMod(s.getGroup().getSkill().hashCode(), 20))));
+                batch.add(job);
+            }
+            batches.add(batch);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        List<JobEntity> nextBatch(List<List<JobEntity>> batches) {
+            return batches.get(next++ & (batches.size() - 1));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void striped_1(Cursor cursor) {
+        striped.addJobs(cursor.nextBatch(batches));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void striped_4(Cursor cursor) {
+        striped.addJobs(cursor.nextBatch(batches));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void striped_16(Cursor cursor) {
+        striped.addJobs(cursor.nextBatch(batches));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void synchronized_1(Cursor cursor) {
+        synchronizedData.addJobs(cursor.nextBatch(batches));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void synchronized_4(Cursor cursor) {
+        synchronizedData.addJobs(cursor.nextBatch(batches));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void synchronized_16(Cursor cursor) {
+        synchronizedData.addJobs(cursor.nextBatch(batches));
+    }
+
+    /** The previous aggregation: one monitor for the whole instance and a new {@link SkillData} per update. */
+    static class SynchronizedUserJobsData {
+        private final Map<String, Integer> locationsCount = new ConcurrentHashMap<>();
+        private final Map<String, SkillData> skillsData = new ConcurrentHashMap<>();
+
+        synchronized void addJobs(List<JobEntity> newJobs) {
+            for (JobEntity job : newJobs) {
+                String loc = Optional.ofNullable(job.getCandidateRequiredLocation())
+                        .filter(s -> !s.isBlank())
+                        .orElse("Undefined");
+                locationsCount.merge(loc, 1, Integer::sum);
+                job.getSkills().forEach(skill -> skillsData.merge(
+                        skill.getGroup().getSkill(),
+                        new SkillData(skill.getGroup().getGroupName(), skill.getLevel()),
+                        (oldVal, newVal) -> new SkillData(oldVal.group(), oldVal.count() + newVal.count())));
+            }
+        }
+    }
+}
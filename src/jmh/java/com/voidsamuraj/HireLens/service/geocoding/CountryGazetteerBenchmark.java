@@ -0,0 +1,35 @@
+package com.voidsamuraj.HireLens.service.geocoding;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CountryGazetteer#resolve(String)} on typical location strings of job offers.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CountryGazetteerBenchmark {
+
+    private static final String[] LOCATIONS = {
+            "Poland", "Remote - US", "Kraków, Poland", "USA or Canada", "Worldwide", "Europe",
+            "Remote (EU timezones)", "Berlin, Germany", "Latin America", "Springfield"
+    };
+
+    private CountryGazetteer gazetteer;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        gazetteer = new CountryGazetteer(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public List<String> resolve() {
+        return gazetteer.resolve(LOCATIONS[next++ % LOCATIONS.length]);
+    }
+}
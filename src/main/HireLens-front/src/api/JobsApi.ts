@@ -1,5 +1,6 @@
 import axios from "axios";
-import type { Job, StartJobPayload, ChartsDto } from "../utils/types.ts";
+import type { Job, StartJobPayload, ChartsDto, WsPayload } from "../utils/types.ts";
+import { toChartsDto } from "../ws/JobsWebSocket";
 
 
 const API_URL =  import.meta.env.VITE_API_URL || "http://localhost:8080";
@@ -47,12 +48,14 @@ export const fetchJobs = async (): Promise<Job[]> => {
 
 /**
  *
- * Fetches the aggregated jobs downloaded so far.
+ * Fetches the aggregated jobs downloaded so far, as last published over WebSocket,
+ * together with the sequence number after which chart deltas continue.
  *
  * @returns A promise.
  */
-export const fetchInitData = async (jobId: string, onData: (data: ChartsDto) => void) => {
-  const res = await axios.get<ChartsDto>(`${API_URL}/init`, {params: { jobId }});
-  onData(res.data);
+export const fetchInitData = async (jobId: string, onData: (data: ChartsDto, sequence: number) => void) => {
+  const res = await axios.get<WsPayload<ChartsDto> | "">(`${API_URL}/init`, {params: { jobId }});
+  if (res.data)
+    onData(toChartsDto(res.data.payload), Number(res.data.sequence ?? 0));
 };
 
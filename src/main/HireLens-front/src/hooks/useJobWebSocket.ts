@@ -1,15 +1,32 @@
-import { useState, useCallback } from "react";
+import { useState, useCallback, useRef } from "react";
 import { connectWebSocket, subscribeToJob, disconnectWebSocket } from "../ws/JobsWebSocket";
 import type { DataUpdateStatus } from "../utils/types.ts";
 import { useDispatch } from "react-redux";
-import { setChartsData } from "../state/chartsState";
+import { setChartsData, mergeChartsData } from "../state/chartsState";
+import { fetchInitData } from "../api/JobsApi";
 
 export const useJobWebSocket = () => {
   const [status, setStatus] = useState<DataUpdateStatus | null>(null);
   const dispatch = useDispatch();
+  // Sequence number of the last chart message applied; null while resynchronizing.
+  const chartSequence = useRef<number | null>(0);
+
+  const resyncCharts = useCallback((jobId: string) => {
+    if (chartSequence.current === null)
+      return;
+    chartSequence.current = null;
+    fetchInitData(jobId, (data, sequence) => {
+      dispatch(setChartsData(data));
+      chartSequence.current = sequence;
+    }).catch(() => { }).finally(() => {
+      if (chartSequence.current === null)
+        chartSequence.current = 0;
+    });
+  }, []);
 
   const startWebSocket = useCallback((jobId: string) => {
     setStatus(null);
+    chartSequence.current = 0;
 
     connectWebSocket(() => {
       subscribeToJob(jobId, {
@@ -24,9 +41,19 @@ export const useJobWebSocket = () => {
             if (Boolean(filteredLen > 0))
                 stopWebSocket();
         },
-        CHART_MAP: (data) => {
-             console.log(data);
+        CHART_MAP: (data, sequence) => {
               dispatch(setChartsData(data));
+              chartSequence.current = sequence;
+        },
+        CHART_DELTA: (data, sequence) => {
+              if (chartSequence.current === null)
+                return;
+              if (sequence !== chartSequence.current + 1) {
+                resyncCharts(jobId);
+                return;
+              }
+              dispatch(mergeChartsData(data));
+              chartSequence.current = sequence;
         },
         TYPE_CHART1: () => { }
 
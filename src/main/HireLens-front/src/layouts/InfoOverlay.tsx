@@ -46,9 +46,10 @@ function InfoOverlay() {
   }, [isOpenStateGlobal, isOverlayOpen]);
 
   useEffect(() => {
-        setErrorsArray(errorMessage.split(" ").filter(e => e.trim() !== ""));
+        const errors = errorMessage.split(" ").filter(e => e.trim() !== "");
+        setErrorsArray(errors);
         const exclude = ["fetchRemotiveError", "fetchRemoteOkError", "fetchAdzunaError", "fetchJoinriseError"];
-        const filteredLen = errorsArray?.filter(item => item && !exclude.includes(item)).length ?? 0;
+        const filteredLen = errors.filter(item => item && !exclude.includes(item)).length;
         setIsError(Boolean(filteredLen > 0));
   }, [errorMessage]);
 
@@ -102,7 +103,9 @@ function InfoOverlay() {
               </>
             )}
           </>
-          ) : (
+          ) : errorsArray.length > 0 ? (
+                errorsArray.map(error => <div className="line" key={error}>{t(error)}</div>)
+              ) : (
                 <div className="line">{t("enterPromptToStart")}</div>
               )
           }
@@ -2,7 +2,7 @@ import { useState, useEffect } from "react";
 import { useSelector, useDispatch } from "react-redux";
 import type { RootState } from "../state/store";
 import { setQuery } from "../state/restRequestParameters";
-import { setSearchState, resetAllStates } from "../state/searchState";
+import { setSearchState, resetAllStates, setErrorMessage } from "../state/searchState";
 import { setIsOpen } from "../state/overlayLocalState";
 import { Link } from "react-router-dom";
 import '../styles/navbar.css'
@@ -17,6 +17,7 @@ import JobFilter from '../components/JobFilter.tsx'
 import type { StartJobPayload } from '../utils/types.ts';
 import { useJobWebSocket } from '../hooks/useJobWebSocket'
 import { startJob } from "../api/JobsApi";
+import axios from "axios";
 
 /**
  * Navbar component provides navigation links, search input, language and theme toggles,
@@ -58,7 +59,8 @@ function Navbar() {
 
 
 
-// Starts a new job with current search parameters and opens WebSocket connection
+// Starts a new job with current search parameters and opens WebSocket connection;
+// if the backend refuses the job, opens the overlay with the error key it returned (e.g. "tooManyJobs")
   const performSearchRequest = async () => {
     const payload: StartJobPayload = {
       query: query,
@@ -66,6 +68,7 @@ function Navbar() {
       includeUnknown: includeUnknown,
       maxJobOffers: maxJobOffers
     };
+    dispatch(setErrorMessage(""));
     try {
       const result = await startJob(payload, (data) => {
         localStorage.setItem("jobId", data.jobId);
@@ -74,6 +77,9 @@ function Navbar() {
       console.log("Job wystartował:", result.jobId);
     } catch (err) {
       console.error("Błąd przy starcie joba:", err);
+      const errorKey = axios.isAxiosError<{ error?: string }>(err) ? err.response?.data?.error : undefined;
+      dispatch(setErrorMessage(typeof errorKey === "string" ? errorKey : "error"));
+      dispatch(setIsOpen(true));
     }
 
 
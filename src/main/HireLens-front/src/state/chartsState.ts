@@ -21,6 +21,7 @@ const initialState: ChartsDto = {
  *
  * Reducers:
  * - `setChartsData`: replaces the full dataset.
+ * - `mergeChartsData`: applies a delta: changed locations and skills overwrite current values.
  * - `clearChartsData`: resets to an empty structure.
  */
 const chartsStateSlice = createSlice({
@@ -31,6 +32,12 @@ const chartsStateSlice = createSlice({
         state.locations = action.payload.locations;
         state.skills = action.payload.skills;
     },
+    mergeChartsData: (state, action: PayloadAction<ChartsDto>) => {
+        Object.assign(state.locations, action.payload.locations);
+        Object.keys(action.payload.skills).forEach(category => {
+            state.skills[category] = { ...(state.skills[category] ?? {}), ...action.payload.skills[category] };
+        });
+    },
     clearChartsData: (state) => {
              state.locations = initialState.locations;
              state.skills = initialState.skills;
@@ -38,5 +45,5 @@ const chartsStateSlice = createSlice({
   },
 });
 
-export const { setChartsData,  clearChartsData } = chartsStateSlice.actions;
+export const { setChartsData, mergeChartsData, clearChartsData } = chartsStateSlice.actions;
 export default chartsStateSlice.reducer;
\ No newline at end of file
@@ -82,14 +82,21 @@ export interface LocationCount {
   count: number;
 }
 
+/**
+ * Message sent over WebSocket (and returned by /init for charts).
+ * CHART_MAP carries a full snapshot, CHART_DELTA only changed entries;
+ * both carry a sequence number increasing by one per chart message.
+ */
 export interface WsPayload<T> {
-  type: "STATUS" | "CHART_MAP";
+  type: "STATUS" | "CHART_MAP" | "CHART_DELTA";
   payload: T;
+  sequence?: number | null;
 }
 
 export type WsCallbackMap = {
          STATUS?: (data: DataUpdateStatus) => void;
-         CHART_MAP?: (data: ChartsDto) => void;
+         CHART_MAP?: (data: ChartsDto, sequence: number) => void;
+         CHART_DELTA?: (data: ChartsDto, sequence: number) => void;
          TYPE_CHART1?: (data: any) => void;
        };
 export interface OverlayLocalState {
@@ -18,7 +18,6 @@ export const subscribeToJob = (jobId: string, callbacks: WsCallbackMap) => {
   if (stompClient && stompClient.connected) {
     stompClient.subscribe(`/dataUpdate/${jobId}`, (message: any) => {
       const wsData: WsPayload<any> = JSON.parse(message.body);
-      const cb = callbacks[wsData.type as keyof WsCallbackMap];
         console.log(wsData);
       if (wsData.type === "STATUS") {
           const data = wsData.payload;
@@ -36,39 +35,40 @@ export const subscribeToJob = (jobId: string, callbacks: WsCallbackMap) => {
             cancelled: Boolean(data.cancelled),
             errorMessage: data.errorMessage
           };
-          if (cb) {
-            cb(status);
-          }
-      }else if(wsData.type === "CHART_MAP"){
-          const data = wsData.payload;
-            const dto: ChartsDto = {
-                    locations: {},
-                    skills: {}
-                };
+          callbacks.STATUS?.(status);
+      }else if(wsData.type === "CHART_MAP" || wsData.type === "CHART_DELTA"){
+          callbacks[wsData.type]?.(toChartsDto(wsData.payload), Number(wsData.sequence));
+      }
+    });
+  }
+};
 
-                if (data.locations) {
-                    Object.keys(data.locations).forEach(key => {
-                        dto.locations[key] = Number(data.locations[key]);
-                    });
-                }
+/**
+ * Converts chart data received from the backend to {@link ChartsDto} with numeric values.
+ */
+export const toChartsDto = (data: any): ChartsDto => {
+  const dto: ChartsDto = {
+    locations: {},
+    skills: {}
+  };
+
+  if (data?.locations) {
+    Object.keys(data.locations).forEach(key => {
+      dto.locations[key] = Number(data.locations[key]);
+    });
+  }
 
-                if (data.skills) {
-                  Object.keys(data.skills).forEach(category => {
-                    const skillMap = data.skills[category];
-                    dto.skills[category] = {};
+  if (data?.skills) {
+    Object.keys(data.skills).forEach(category => {
+      const skillMap = data.skills[category];
+      dto.skills[category] = {};
 
-                    Object.keys(skillMap).forEach(skill => {
-                      dto.skills[category][skill] = Number(skillMap[skill]);
-                    });
-                  });
-                }
-                console.log(dto);
-                if (cb) {
-                    cb(dto);
-                }
-          }
+      Object.keys(skillMap).forEach(skill => {
+        dto.skills[category][skill] = Number(skillMap[skill]);
+      });
     });
   }
+  return dto;
 };
 
 export const disconnectWebSocket = () => {
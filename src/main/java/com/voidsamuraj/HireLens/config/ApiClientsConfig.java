@@ -1,13 +1,22 @@
 package com.voidsamuraj.HireLens.config;
 
+import com.voidsamuraj.HireLens.client.remoteok.ApiClient;
 import com.voidsamuraj.HireLens.client.remoteok.api.DefaultApi;
 import com.voidsamuraj.HireLens.service.ai.AiClientService;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
  * Provides API client beans for the application.
@@ -17,6 +26,35 @@ public class ApiClientsConfig {
 
     @Value("${ai-server.address}")
     private String address;
+
+    /** Maximum number of connections to a single job API host; Reactor Netty keeps one pool per remote address. */
+    @Value("${job-api.pool.max-connections-per-host:8}")
+    private int jobApiMaxConnectionsPerHost;
+
+    /** Maximum number of requests waiting for a connection of a single host. */
+    @Value("${job-api.pool.max-pending-acquires:256}")
+    private int jobApiMaxPendingAcquires;
+
+    @Value("${job-api.pool.pending-acquire-timeout-ms:30000}")
+    private long jobApiPendingAcquireTimeoutMillis;
+
+    /** Idle keep-alive connections are closed after this time, before servers drop them silently. */
+    @Value("${job-api.pool.max-idle-time-ms:30000}")
+    private long jobApiMaxIdleTimeMillis;
+
+    @Value("${job-api.pool.max-life-time-ms:300000}")
+    private long jobApiMaxLifeTimeMillis;
+
+    @Value("${job-api.connect-timeout-ms:5000}")
+    private int jobApiConnectTimeoutMillis;
+
+    @Value("${job-api.response-timeout-ms:30000}")
+    private long jobApiResponseTimeoutMillis;
+
+    /** Largest response body decoded in memory at once; job lists streamed with JsonArrayStream are not limited by it. */
+    @Value("${job-api.max-response-bytes:16777216}")
+    private int jobApiMaxResponseBytes;
+
     /**
      * Configures Logger.
      *
@@ -41,13 +79,61 @@ public class ApiClientsConfig {
     }
 
     /**
-     * Creates RemoteOK API client instance.
+     * Creates the connection pool shared by all job API clients.
+     * Connections are kept alive and reused by all concurrent ingestion jobs; the pool is disposed with the context.
+     *
+     * @return connection provider limited per remote host
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider jobApiConnectionProvider() {
+        return ConnectionProvider.builder("job-api")
+                .maxConnections(jobApiMaxConnectionsPerHost)
+                .pendingAcquireMaxCount(jobApiMaxPendingAcquires)
+                .pendingAcquireTimeout(Duration.ofMillis(jobApiPendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofMillis(jobApiMaxIdleTimeMillis))
+                .maxLifeTime(Duration.ofMillis(jobApiMaxLifeTimeMillis))
+                .evictInBackground(Duration.ofMillis(jobApiMaxIdleTimeMillis))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Configures the non-blocking WebClient used by the job services.
+     * <p>
+     * HTTP/2 is negotiated through ALPN with servers supporting it, other servers are spoken to over HTTP/1.1
+     * with keep-alive. Responses are requested gzip-compressed and redirects are followed, like in {@link #restTemplate()}.
+     * The builder provided by Spring Boot is used, so responses are decoded with the application's ObjectMapper.
+     * </p>
+     *
+     * @param builder WebClient builder configured by Spring Boot
+     * @param jobApiConnectionProvider shared connection pool
+     * @return configured WebClient
+     */
+    @Bean
+    public WebClient jobApiWebClient(WebClient.Builder builder, ConnectionProvider jobApiConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(jobApiConnectionProvider)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, jobApiConnectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(jobApiResponseTimeoutMillis))
+                .keepAlive(true)
+                .compress(true)
+                .followRedirect(true);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(c -> c.defaultCodecs().maxInMemorySize(jobApiMaxResponseBytes))
+                .build();
+    }
+
+    /**
+     * Creates RemoteOK API client instance on {@link #jobApiWebClient}, so the RemoteOK feed shares its
+     * connection pool, timeouts and compression with the other job APIs.
      *
+     * @param jobApiWebClient WebClient of the job services
      * @return DefaultApi client
      */
     @Bean
-    public DefaultApi defaultApi() {
-        return new DefaultApi();
+    public DefaultApi defaultApi(WebClient jobApiWebClient) {
+        return new DefaultApi(new ApiClient(jobApiWebClient));
     }
 
 }
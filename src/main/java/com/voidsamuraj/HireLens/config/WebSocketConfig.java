@@ -1,33 +1,169 @@
 package com.voidsamuraj.HireLens.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * Configures WebSocket messaging with STOMP (Simple Text Oriented Messaging Protocol), enables full-duplex
  * communication between client and server over WebSocket.
- * Enables a simple message broker and registers a STOMP endpoint with SockJS fallback.
+ * Enables a message broker and registers a STOMP endpoint with SockJS fallback.
  *
+ * <p>Broker ({@code websocket.broker.*}):</p>
+ * <ul>
+ *   <li><b>simple</b> (default) – in-memory broker of this node, sending heartbeats every
+ *       {@code websocket.heartbeat-ms}</li>
+ *   <li><b>relay</b> – with {@code websocket.broker.relay.enabled=true}, messages are relayed to an external STOMP broker
+ *       (e.g. ActiveMQ Artemis), which does the fan-out and shares subscriptions between application nodes</li>
+ * </ul>
+ *
+ * <p>Inbound and outbound client channels run on bounded executors ({@code websocket.inbound.*},
+ * {@code websocket.outbound.*}). Each session may buffer at most {@code websocket.transport.send-buffer-size-limit}
+ * bytes and block a send for {@code websocket.transport.send-time-limit-ms}; a client exceeding either limit
+ * is disconnected, so one slow SockJS client cannot hold up messages of the others.</p>
  */
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String DESTINATION_PREFIX = "/dataUpdate";
+
+    @Value("${websocket.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    @Value("${websocket.inbound.core-pool-size:2}")
+    private int inboundCorePoolSize;
+
+    @Value("${websocket.inbound.max-pool-size:8}")
+    private int inboundMaxPoolSize;
+
+    @Value("${websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.outbound.core-pool-size:4}")
+    private int outboundCorePoolSize;
+
+    @Value("${websocket.outbound.max-pool-size:16}")
+    private int outboundMaxPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${websocket.broker.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
     /**
-     * Configures the message broker to handle messages sent to "/dataUpdate".
+     * Injects the broker scheduler, used to send heartbeats of the simple broker.
+     * Lazy, because the scheduler is created by the messaging configuration this class contributes to.
+     *
+     * @param taskScheduler the message broker task scheduler
+     */
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
+    /**
+     * Configures the message broker to handle messages sent to "/dataUpdate",
+     * either in memory or through an external STOMP broker.
+     * Messages to a session are published in order even though the outbound channel has many threads,
+     * so sequenced chart deltas and the terminal status frame reach clients in the order they were sent.
      *
      * @param registry the message broker registry to configure
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/dataUpdate");
+        long[] heartbeat = {heartbeatMs, heartbeatMs};
+        if (relayEnabled) {
+            registry.enableStompBrokerRelay(DESTINATION_PREFIX)
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatMs)
+                    .setSystemHeartbeatReceiveInterval(heartbeatMs);
+        } else {
+            registry.enableSimpleBroker(DESTINATION_PREFIX)
+                    .setHeartbeatValue(heartbeat)
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
+        registry.setPreservePublishOrder(true);
        // registry.setApplicationDestinationPrefixes("/app");
     }
 
+    /**
+     * Sizes the executor handling messages received from clients.
+     *
+     * @param registration the inbound channel registration
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    /**
+     * Sizes the executor sending messages to clients; per-session order is kept by
+     * {@link MessageBrokerRegistry#setPreservePublishOrder(boolean)}.
+     *
+     * @param registration the outbound channel registration
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    /**
+     * Limits how much a single session may buffer and how long a send to it may block.
+     *
+     * @param registration the transport registration
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
     /**
      * Registers the STOMP endpoint at "/ws" with SockJS and allows all origins.
      *
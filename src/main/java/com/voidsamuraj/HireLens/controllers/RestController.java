@@ -2,8 +2,10 @@ package com.voidsamuraj.HireLens.controllers;
 
 import com.voidsamuraj.HireLens.dto.aggregation.AggregatesDto;
 import com.voidsamuraj.HireLens.dto.aggregation.StartJobPayload;
+import com.voidsamuraj.HireLens.dto.aggregation.WsPayload;
 import com.voidsamuraj.HireLens.service.orchestrator.DownloadDataService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * REST Controller responsible for managing data download jobs.
@@ -30,11 +33,19 @@ public class RestController {
      * Starts a new data download job.
      *
      * @param payload Input data required to start the job (StartJobPayload).
-     * @return Map containing the ID of the started job ("jobId").
+     * @return Map containing the ID of the started job ("jobId"), or HTTP 503 with error key "tooManyJobs"
+     *         when too many jobs are running or queued.
      */
     @PostMapping("/api/startJob")
     public ResponseEntity<Map<String, String>> startJob(@RequestBody StartJobPayload payload) {
-        UUID jobId = downloadDataService.startJob(payload);
+        UUID jobId;
+        try {
+            jobId = downloadDataService.startJob(payload);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", "tooManyJobs"));
+        }
         Map<String, String> response = new HashMap<>();
         response.put("jobId", jobId.toString());
         return ResponseEntity.ok(response);
@@ -54,13 +65,14 @@ public class RestController {
 
     //TODO add data no query
     /**
-     * Gets init data for charts.
+     * Gets init data for charts: full snapshot with the sequence number of the last chart message,
+     * after which WebSocket deltas continue.
      *
      * @return Init Data
      */
     @GetMapping("/init")
-    public AggregatesDto getInitData(@RequestParam UUID jobId) {
-        AggregatesDto data = downloadDataService.getRestartData(jobId);
+    public WsPayload<AggregatesDto> getInitData(@RequestParam UUID jobId) {
+        WsPayload<AggregatesDto> data = downloadDataService.getRestartData(jobId);
         //if(data != null)
 
         return data;
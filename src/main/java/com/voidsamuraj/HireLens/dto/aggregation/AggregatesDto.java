@@ -1,9 +1,12 @@
 package com.voidsamuraj.HireLens.dto.aggregation;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 /**
  * Data Transfer Object (DTO) representing aggregated statistics.
  * <p>
@@ -58,4 +61,58 @@ public class AggregatesDto {
      * </p>
      */
     private Map<String, Map<String, Integer>> skills;
+
+    /**
+     * Returns the locations and skills whose value differs from {@code previous}, with their current values.
+     * <p>
+     * Maps shared by both snapshots (see {@link UserJobsData#getAggregates()}) are skipped without comparing entries.
+     * </p>
+     *
+     * @param previous snapshot the receiver already has
+     * @return changed entries only (possibly empty), or {@code null} if any location, skill or group was removed,
+     *         which a delta cannot express
+     */
+    public AggregatesDto changesSince(AggregatesDto previous) {
+        Map<String, Integer> changedLocations = changes(previous.locations, locations);
+        if (changedLocations == null)
+            return null;
+
+        Map<String, Map<String, Integer>> changedSkills = new HashMap<>();
+        if (previous.skills != skills) {
+            if (!skills.keySet().containsAll(previous.skills.keySet()))
+                return null;
+            for (Map.Entry<String, Map<String, Integer>> group : skills.entrySet()) {
+                Map<String, Integer> changed = changes(previous.skills.getOrDefault(group.getKey(), Map.of()), group.getValue());
+                if (changed == null)
+                    return null;
+                if (!changed.isEmpty())
+                    changedSkills.put(group.getKey(), changed);
+            }
+        }
+        return new AggregatesDto(changedLocations, changedSkills);
+    }
+
+    /**
+     * @return entries of {@code current} differing from {@code previous}, or {@code null} if a key was removed
+     */
+    private static Map<String, Integer> changes(Map<String, Integer> previous, Map<String, Integer> current) {
+        Map<String, Integer> changed = new HashMap<>();
+        if (previous == current)
+            return changed;
+        if (!current.keySet().containsAll(previous.keySet()))
+            return null;
+        current.forEach((key, value) -> {
+            if (!Objects.equals(previous.get(key), value))
+                changed.put(key, value);
+        });
+        return changed;
+    }
+
+    /**
+     * @return {@code true} if there are no locations and no skills
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return locations.isEmpty() && skills.isEmpty();
+    }
 }
\ No newline at end of file
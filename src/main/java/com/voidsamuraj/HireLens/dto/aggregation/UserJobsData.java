@@ -1,14 +1,15 @@
 package com.voidsamuraj.HireLens.dto.aggregation;
 
 import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.entity.SkillEntity;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 /**
  * Represents all job-related data for a single user task or query.
@@ -17,81 +18,226 @@ import java.util.stream.Collectors;
  * the number of offers per location and per category, which can be used
  * to generate dashboard charts.
  *
- * <p><b>Thread-safety:</b> Uses {@link ConcurrentHashMap} internally and synchronizes
- * mutating operations to ensure consistency of aggregate counters.</p>
+ * <p><b>Thread-safety:</b> lock-free. Every location and skill has its own {@link LongAdder},
+ * created once per key with {@link ConcurrentHashMap#computeIfAbsent}; later updates only increment
+ * the adder, so concurrent producers neither block each other nor allocate per update.
+ * Readers get a consistent-per-key (not global) snapshot.</p>
  *
- * <p><b>Intended use:</b> For local or single-user applications, this instance can be
- * kept in memory (e.g. in a {@code ConcurrentHashMap<UUID, UserJobData>} inside
- * a singleton service). Each task corresponds to a unique {@link UUID}.</p>
+ * <p><b>Snapshots:</b> every update records its key in a dirty set. {@link #getAggregates()} keeps the last
+ * {@link AggregatesDto} and only re-reads the dirty keys: the location map and the touched skill groups are copied
+ * and patched, untouched groups are shared with the previous snapshot. With no changes, the previous snapshot is
+ * returned as is. Snapshots are immutable, so they can be handed to many readers.</p>
+ *
+ * <p><b>Intended use:</b> one instance per job, kept by
+ * {@code UserJobDataService}. Each task corresponds to a unique {@link UUID}.</p>
  */
-@Getter
-@Setter
 @Slf4j
 @RequiredArgsConstructor
 public class UserJobsData {
 
-
-
     /** Unique identifier for this data set or task. */
+    @Getter
     private final UUID taskId;
 
     /** Aggregated count of jobs by candidate location. */
-    private Map<String, Integer> locationsCount = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> locationsCount = new ConcurrentHashMap<>();
+
+    /** Aggregated skills and their importance with group associated to that skill. */
+    private final ConcurrentHashMap<String, SkillCounter> skillsData = new ConcurrentHashMap<>();
+
+    /** Locations updated since the last snapshot. */
+    private final Set<String> dirtyLocations = ConcurrentHashMap.newKeySet();
+
+    /** Skills updated since the last snapshot. */
+    private final Set<String> dirtySkills = ConcurrentHashMap.newKeySet();
+
+    /** Guards the snapshot fields below; only readers take it. */
+    private final Object snapshotLock = new Object();
 
-    /** Aggregated map of skills and their importance with group associated to that skill. */
-    private  Map<String, SkillData> skillsData = new ConcurrentHashMap<>();
+    private AggregatesDto snapshot;
+    private Map<String, Integer> locationsSnapshot = Map.of();
+    private Map<String, Map<String, Integer>> skillsSnapshot = Map.of();
+
+    /** Group each skill is filed under in {@link #skillsSnapshot}. */
+    private final Map<String, String> snapshotGroups = new HashMap<>();
+
+    /**
+     * Accumulated level of a single skill.
+     */
+    private static final class SkillCounter {
+        /** Group of the skill; the first non-null group seen wins. */
+        private volatile String group;
+        private final LongAdder level = new LongAdder();
+
+        private SkillCounter(String group) {
+            this.group = group;
+        }
+    }
 
     /**
      * Adds a list of new jobs to the dataset.
      * <p>
+     * Safe to call from many threads at once.
+     * </p>
      *
      * @param newJobs list of jobs to aggregate and add or update
      */
-    public synchronized void addJobs(List<JobEntity> newJobs) {
+    public void addJobs(List<JobEntity> newJobs) {
         for (JobEntity job : newJobs) {
             String loc = Optional.ofNullable(job.getCandidateRequiredLocation())
                     .filter(s -> !s.isBlank())
                     .orElse("Undefined");
 
-            locationsCount.merge(loc, 1, Integer::sum);
+            locationsCount.computeIfAbsent(loc, k -> new LongAdder()).increment();
+            dirtyLocations.add(loc);
 
             if (job.getSkills() != null) {
-                job.getSkills().forEach((skill) ->
-                        skillsData.merge(
-                                skill.getGroup().getSkill(),
-                                new SkillData(skill.getGroup().getGroupName(), skill.getLevel()),
-                                (oldVal, newVal) -> new SkillData(
-                                        oldVal.group(),
-                                        oldVal.count() + newVal.count()
-                                )
-                        )
-                );
+                for (SkillEntity skill : job.getSkills())
+                    addSkill(skill.getGroup().getSkill(), skill.getGroup().getGroupName(), skill.getLevel());
             }
         }
     }
 
+    private void addSkill(String skill, String group, Integer level) {
+        SkillCounter counter = skillsData.get(skill);
+        if (counter == null)
+            counter = skillsData.computeIfAbsent(skill, k -> new SkillCounter(group));
+        if (counter.group == null && group != null)
+            counter.group = group;
+        if (level != null)
+            counter.level.add(level);
+        dirtySkills.add(skill);
+    }
+
+    /**
+     * Returns a snapshot of location counts.
+     *
+     * @return map of location to number of jobs
+     */
+    public Map<String, Integer> getLocationsCount() {
+        Map<String, Integer> snapshot = new HashMap<>(locationsCount.size());
+        locationsCount.forEach((location, count) -> snapshot.put(location, count.intValue()));
+        return snapshot;
+    }
+
+    /**
+     * Replaces location counts, e.g. with totals already stored in the database.
+     *
+     * @param locations map of location to number of jobs
+     */
+    public void setLocationsCount(Map<String, Integer> locations) {
+        dirtyLocations.addAll(locationsCount.keySet());
+        locationsCount.clear();
+        locations.forEach((location, count) -> {
+            LongAdder adder = new LongAdder();
+            adder.add(count);
+            locationsCount.put(location, adder);
+        });
+        dirtyLocations.addAll(locations.keySet());
+    }
+
+    /**
+     * Returns a snapshot of skills with their group and accumulated level.
+     *
+     * @return map of skill to {@link SkillData}
+     */
+    public Map<String, SkillData> getSkillsData() {
+        Map<String, SkillData> snapshot = new HashMap<>(skillsData.size());
+        skillsData.forEach((skill, counter) -> snapshot.put(skill, new SkillData(counter.group, counter.level.intValue())));
+        return snapshot;
+    }
+
+    /**
+     * Replaces skill data, e.g. with totals already stored in the database.
+     *
+     * @param skills map of skill to {@link SkillData}
+     */
+    public void setSkillsData(Map<String, SkillData> skills) {
+        dirtySkills.addAll(skillsData.keySet());
+        skillsData.clear();
+        skills.forEach((skill, data) -> {
+            SkillCounter counter = new SkillCounter(data.group());
+            counter.level.add(data.count());
+            skillsData.put(skill, counter);
+        });
+        dirtySkills.addAll(skills.keySet());
+    }
+
     /**
      * Returns an {@link AggregatesDto} containing aggregated locations and
-     * skills
+     * skills grouped by skill group.
+     * <p>
+     * Built incrementally from the previous snapshot, see the class description.
+     * </p>
      *
-     * @return aggregated DTO
+     * @return immutable aggregated DTO
      */
     public AggregatesDto getAggregates() {
-        Map<String, Map<String, Integer>> grouped = skillsData.entrySet().stream()
-                .peek(e -> {
-                    if (e.getValue().group() == null) {
-                        log.warn("Skill '{}' has null group", e.getKey());
-                    }
-                })
-                .filter(e ->e.getValue() != null)
-                .collect(Collectors.groupingBy(
-                        e ->Optional.ofNullable(e.getValue().group()).orElse("UNKNOWN"),
-                        Collectors.toMap(
-                                Map.Entry::getKey,
-                                e -> Optional.of(e.getValue().count()).orElse(0)
-                        )
-                ));
-        return new AggregatesDto(this.locationsCount, grouped);
+        synchronized (snapshotLock) {
+            if (snapshot != null && dirtyLocations.isEmpty() && dirtySkills.isEmpty())
+                return snapshot;
+
+            if (!dirtyLocations.isEmpty()) {
+                Map<String, Integer> locations = new HashMap<>(locationsSnapshot);
+                drain(dirtyLocations, location -> {
+                    LongAdder count = locationsCount.get(location);
+                    if (count == null)
+                        locations.remove(location);
+                    else
+                        locations.put(location, count.intValue());
+                });
+                locationsSnapshot = Collections.unmodifiableMap(locations);
+            }
+
+            if (!dirtySkills.isEmpty()) {
+                Map<String, Map<String, Integer>> groups = new HashMap<>(skillsSnapshot);
+                Map<String, Map<String, Integer>> patched = new HashMap<>();
+                drain(dirtySkills, skill -> {
+                    SkillCounter counter = skillsData.get(skill);
+                    String previousGroup = snapshotGroups.remove(skill);
+                    if (previousGroup != null)
+                        patch(groups, patched, previousGroup).remove(skill);
+                    if (counter == null)
+                        return;
+                    if (counter.group == null)
+                        log.warn("Skill '{}' has null group", skill);
+                    String group = Optional.ofNullable(counter.group).orElse("UNKNOWN");
+                    patch(groups, patched, group).put(skill, counter.level.intValue());
+                    snapshotGroups.put(skill, group);
+                });
+                patched.forEach((group, skills) -> {
+                    if (skills.isEmpty())
+                        groups.remove(group);
+                    else
+                        groups.put(group, Collections.unmodifiableMap(skills));
+                });
+                skillsSnapshot = Collections.unmodifiableMap(groups);
+            }
+
+            snapshot = new AggregatesDto(locationsSnapshot, skillsSnapshot);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Removes every key from the dirty set and passes it to the action.
+     * A key updated again while draining is added back and picked up by the next snapshot.
+     */
+    private static void drain(Set<String> dirty, Consumer<String> action) {
+        Iterator<String> it = dirty.iterator();
+        while (it.hasNext()) {
+            String key = it.next();
+            it.remove();
+            action.accept(key);
+        }
+    }
+
+    /**
+     * Returns a mutable copy of a skill group, made once per snapshot.
+     */
+    private static Map<String, Integer> patch(Map<String, Map<String, Integer>> groups,
+                                              Map<String, Map<String, Integer>> patched, String group) {
+        return patched.computeIfAbsent(group, g -> new HashMap<>(groups.getOrDefault(g, Map.of())));
     }
 
 }
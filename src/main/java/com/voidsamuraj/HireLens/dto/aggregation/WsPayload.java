@@ -17,10 +17,13 @@ import lombok.Data;
  *     <li><b>type</b>: indicates the kind of data contained in the payload.
  *         <ul>
  *             <li>{@code STATUS} - status update of a background job</li>
- *             <li>{@code CHART_MAP} - chart or aggregated data</li>
+ *             <li>{@code CHART_MAP} - full snapshot of chart or aggregated data</li>
+ *             <li>{@code CHART_DELTA} - only the chart entries changed since the previous chart message</li>
  *         </ul>
  *     </li>
  *     <li><b>payload</b>: the actual data being sent</li>
+ *     <li><b>sequence</b>: number of the chart message within a job, increasing by one per message;
+ *         {@code null} for status updates. A client which sees a gap resynchronizes through {@code /init}.</li>
  * </ul>
  *
  * <p>Example usage:</p>
@@ -43,8 +46,11 @@ public class WsPayload<T> {
         /** Status update of a background job. */
         STATUS,
 
-        /** Chart or aggregated data. */
-        CHART_MAP
+        /** Full snapshot of chart or aggregated data. */
+        CHART_MAP,
+
+        /** Chart entries changed since the previous chart message, with their current values. */
+        CHART_DELTA
     }
 
     /** The type of the data being sent. */
@@ -52,4 +58,17 @@ public class WsPayload<T> {
 
     /** The actual payload data. */
     private T payload;
+
+    /** Sequence number of chart messages; {@code null} for other types. */
+    private Long sequence;
+
+    /**
+     * Creates a message without a sequence number.
+     *
+     * @param type the type of the data being sent
+     * @param payload the actual payload data
+     */
+    public WsPayload(DataType type, T payload) {
+        this(type, payload, null);
+    }
 }
@@ -0,0 +1,33 @@
+package com.voidsamuraj.HireLens.dto.ai;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Wrapper DTO for sending many job offers in a single request.
+ * <p>
+ * The payload will be serialized as a JSON object with a single field:
+ * </p>
+ * <pre>
+ * {
+ *   "texts": [
+ *     "first job offer description",
+ *     "second job offer description"
+ *   ]
+ * }
+ * </pre>
+ * <p>
+ * The AI service answers with one {@link AnalysisResult} per text, in the same order.
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobOffersRequest {
+
+    /** Text contents of the job offers. */
+    private List<String> texts;
+}
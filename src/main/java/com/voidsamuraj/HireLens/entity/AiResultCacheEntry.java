@@ -0,0 +1,71 @@
+package com.voidsamuraj.HireLens.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLInsert;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Entity representing a cached AI analysis result.
+ * <p>
+ * Maps to the "ai_result_cache" table. The key is the SHA-256 hash of the normalized job text
+ * sent to the AI service, so the same offer re-posted under different API ids shares one entry.
+ * </p>
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code textHash} – hex encoded SHA-256 of the normalized job text</li>
+ *   <li>{@code seniority} – seniority detected by the AI service</li>
+ *   <li>{@code skills} – map of skill to level detected by the AI service</li>
+ *   <li>{@code createdAt} – time the result was stored</li>
+ * </ul>
+ *
+ * <p>Entries are never updated; inserting an already cached hash is silently ignored.</p>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "ai_result_cache")
+@Data
+@SQLInsert(sql = "INSERT INTO ai_result_cache (created_at, seniority, skills, text_hash) VALUES (?, ?, ?, ?) ON CONFLICT (text_hash) DO NOTHING")
+public class AiResultCacheEntry implements Persistable<String> {
+
+    @Id
+    @Column(name = "text_hash", nullable = false, length = 64)
+    private String textHash;
+
+    @Column(name = "seniority", length = 50)
+    private String seniority;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "skills", nullable = false, columnDefinition = "jsonb")
+    private Map<String, Integer> skills;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Override
+    public String getId() {
+        return textHash;
+    }
+
+    /**
+     * Entries are insert-only, so they are always persisted without checking the database first.
+     *
+     * @return always {@code true}
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
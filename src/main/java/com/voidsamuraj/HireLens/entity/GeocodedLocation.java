@@ -0,0 +1,63 @@
+package com.voidsamuraj.HireLens.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLInsert;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Entity representing a location resolved to a country by the geocoding provider.
+ * <p>
+ * Maps to the "geocoded_location" table. Only successful lookups are stored; strings the provider
+ * could not resolve are retried after the in-memory negative entry expires.
+ * </p>
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code locationKey} – normalized raw location, or {@code @lat,lon} for coordinates</li>
+ *   <li>{@code iso3} – ISO3 country code of the location</li>
+ *   <li>{@code createdAt} – time the location was resolved</li>
+ * </ul>
+ *
+ * <p>Entries are never updated; inserting an already stored key is silently ignored.</p>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "geocoded_location")
+@Data
+@SQLInsert(sql = "INSERT INTO geocoded_location (created_at, iso3, location_key) VALUES (?, ?, ?) ON CONFLICT (location_key) DO NOTHING")
+public class GeocodedLocation implements Persistable<String> {
+
+    @Id
+    @Column(name = "location_key", nullable = false, length = 512)
+    private String locationKey;
+
+    @Column(name = "iso3", nullable = false, length = 3)
+    private String iso3;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Override
+    public String getId() {
+        return locationKey;
+    }
+
+    /**
+     * Entries are insert-only, so they are always persisted without checking the database first.
+     *
+     * @return always {@code true}
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+package com.voidsamuraj.HireLens.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entity representing a durable ingestion job started by a user.
+ * <p>
+ * Maps to the "ingestion_job" table. Per-page and per-source progress is kept in {@code ingestion_job_page},
+ * which is only accessed with native queries.
+ * </p>
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code id} – job id, the same one clients subscribe to</li>
+ *   <li>{@code query}, {@code level}, {@code includeUnknown}, {@code maxJobOffers} – start parameters of the job</li>
+ *   <li>{@code status} – lifecycle state ({@link IngestionJobStatus})</li>
+ *   <li>{@code nextPage} – first page not processed yet; a resumed job starts here</li>
+ *   <li>{@code downloadedCount} – number of new offers collected on processed pages</li>
+ *   <li>{@code owner} – id of the node running the job, {@code null} if no node claimed it</li>
+ *   <li>{@code heartbeatAt} – time the owner last confirmed it is running the job</li>
+ *   <li>{@code createdAt} – time the job was started</li>
+ *   <li>{@code updatedAt} – time of the last checkpoint or status change</li>
+ * </ul>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "ingestion_job")
+public class IngestionJob {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "query", nullable = false, updatable = false)
+    private String query;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "level", length = 50, updatable = false)
+    private JobLevel level;
+
+    @Column(name = "include_unknown", nullable = false, updatable = false)
+    private boolean includeUnknown;
+
+    @Column(name = "max_job_offers", nullable = false, updatable = false)
+    private int maxJobOffers;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IngestionJobStatus status;
+
+    @Column(name = "next_page", nullable = false)
+    private int nextPage;
+
+    @Column(name = "downloaded_count", nullable = false)
+    private int downloadedCount;
+
+    @Column(name = "owner", length = 64)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.voidsamuraj.HireLens.entity;
+
+/**
+ * Enum representing the lifecycle state of an {@link IngestionJob}.
+ *
+ * <ul>
+ *   <li>{@code RUNNING} - the job is being processed, or was interrupted by a restart and will be resumed</li>
+ *   <li>{@code COMPLETED} - all pages were processed</li>
+ *   <li>{@code CANCELLED} - the job was stopped by the user</li>
+ *   <li>{@code FAILED} - the job ended with an error</li>
+ * </ul>
+ */
+public enum IngestionJobStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -18,7 +18,7 @@ import java.util.Map;
  *
  * <p>Fields:</p>
  * <ul>
- *   <li>{@code id} – auto-generated database identifier</li>
+ *   <li>{@code id} – database identifier taken from {@code job_entity_id_seq} in blocks of 50, so inserts can be batched</li>
  *   <li>{@code apiName} – source API of the job listing ({@link ApiName})</li>
  *   <li>{@code apiId} – identifier of the job in the source API</li>
  *   <li>{@code title}, {@code companyName}, {@code companyLogo}, {@code url}, {@code category}, {@code jobType} – job and company details</li>
@@ -63,7 +63,8 @@ import java.util.Map;
 public class JobEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_entity_id_seq")
+    @SequenceGenerator(name = "job_entity_id_seq", sequenceName = "job_entity_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
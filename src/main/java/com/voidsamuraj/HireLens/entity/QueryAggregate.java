@@ -0,0 +1,47 @@
+package com.voidsamuraj.HireLens.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity representing a full-text query whose skill and location aggregates are maintained incrementally.
+ * <p>
+ * Maps to the "query_aggregate" table. Rollups themselves live in {@code query_skill_aggregate} and
+ * {@code query_location_aggregate} and are only accessed with native queries.
+ * </p>
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *   <li>{@code id} – auto-generated database identifier</li>
+ *   <li>{@code queryKey} – text of {@code plainto_tsquery('english', query)}, so queries differing only
+ *       in case, stop words or word forms share one entry</li>
+ *   <li>{@code createdAt} – time the aggregates were first computed</li>
+ *   <li>{@code lastUsedAt} – time the aggregates were last read; unused entries are dropped</li>
+ * </ul>
+ *
+ * <p>The {@code ts_query} column is written by native queries only and is not mapped.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "query_aggregate")
+public class QueryAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "query_key", nullable = false, updatable = false)
+    private String queryKey;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "last_used_at", nullable = false)
+    private Instant lastUsedAt;
+}
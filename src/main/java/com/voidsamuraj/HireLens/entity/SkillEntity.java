@@ -15,7 +15,7 @@ import lombok.NoArgsConstructor;
  *
  * <p>Fields:</p>
  * <ul>
- *   <li>{@code id} – auto-generated database identifier</li>
+ *   <li>{@code id} – database identifier taken from {@code job_skills_id_seq} in blocks of 50, so inserts can be batched</li>
  *   <li>{@code job} – reference to the {@link JobEntity} this skill belongs to</li>
  *   <li>{@code group} – skill category or group name (e.g., "Programming", "Databases")</li>
  *   <li>{@code skill} – name of the individual skill (e.g., "Java", "PostgreSQL")</li>
@@ -30,7 +30,8 @@ import lombok.NoArgsConstructor;
 @Table(name = "job_skills")
 public class SkillEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_skills_id_seq")
+    @SequenceGenerator(name = "job_skills_id_seq", sequenceName = "job_skills_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -1,53 +1,47 @@
 package com.voidsamuraj.HireLens.mapper;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.service.geocoding.CountryGazetteer;
+import com.voidsamuraj.HireLens.service.geocoding.GeocodingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Locale;
-import java.util.MissingResourceException;
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Scanner;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * LocationMapper provides methods to convert arbitrary location strings or coordinates
- * into ISO3 country codes. Uses OpenStreetMap Nominatim free API for geocoding.
- * Implements simple caching to reduce number of API requests.
+ * into ISO3 country codes. Locations are first resolved offline by {@link CountryGazetteer};
+ * only locations it does not recognize are geocoded by {@link GeocodingService}.
+ * Timer {@code hirelens.geocoding.batch} (tag {@code phase} = gazetteer) measures the offline part of batches.
  */
 @Slf4j
 @Component
 public class LocationMapper {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern NON_COUNTRY = Pattern.compile("CET|GMT|UTC|HOURS|ZONE", Pattern.CASE_INSENSITIVE);
 
-    private String toISO3(String iso2) {
-        if (iso2 == null || iso2.isBlank()) return null;
-        try {
-            Locale locale = new Locale.Builder().setRegion(iso2).build();
-            return locale.getISO3Country();
-        } catch (MissingResourceException e) {
-            return iso2;
-        }
-    }
+    private final CountryGazetteer gazetteer;
+    private final GeocodingService geocodingService;
+    private final Timer gazetteerTime;
 
-    // Simple cache for raw input -> ISO3 code
-    private final Map<String, String> cache = new HashMap<>();
-    private final Map<String, Instant> cacheTimestamps = new HashMap<>();
-    private final long CACHE_TTL_SECONDS = 24 * 60 * 60; // 1 day
+    public LocationMapper(CountryGazetteer gazetteer, GeocodingService geocodingService, MeterRegistry meterRegistry) {
+        this.gazetteer = gazetteer;
+        this.geocodingService = geocodingService;
+        this.gazetteerTime = Timer.builder("hirelens.geocoding.batch")
+                .tag("phase", "gazetteer")
+                .description("Time a batch of locations spent in the offline gazetteer")
+                .register(meterRegistry);
+    }
 
     /**
      * Map an arbitrary location string to an ISO3 country code.
      * Ignores invalid or non-country strings (like timezone names).
+     * Locations naming several countries (e.g. "USA or Canada", "Europe") are not mapped,
+     * since a job stores a single country.
      *
      * @param raw Raw location string (city, country, region, etc.)
      * @return ISO3 country code, or null if cannot map
@@ -55,48 +49,14 @@ public class LocationMapper {
     public String mapLocation(String raw) {
         if (raw == null || raw.isBlank()) return null;
 
-        // Skip non-country or timezone strings
-        if (raw.matches("(?i).*(CET|GMT|UTC|HOURS|ZONE).*")) return null;
-
-        // Check cache
-        if (cache.containsKey(raw)) {
-            Instant added = cacheTimestamps.get(raw);
-            if (added.plusSeconds(CACHE_TTL_SECONDS).isAfter(Instant.now())) {
-                return cache.get(raw);
-            } else {
-                cache.remove(raw);
-                cacheTimestamps.remove(raw);
-            }
-        }
+        List<String> countries = gazetteer.resolve(raw);
+        if (countries != null)
+            return countries.size() == 1 ? countries.getFirst() : null;
 
-        try {
-            String query = URLEncoder.encode(raw, StandardCharsets.UTF_8);
-            String urlStr = "https://nominatim.openstreetmap.org/search?q=" + query
-                    + "&format=json&addressdetails=1&limit=1";
-
-            HttpURLConnection conn = (HttpURLConnection) new URL(urlStr).openConnection();
-            conn.setRequestProperty("User-Agent", "MyApp/1.0 (contact@myapp.com)");
-
-            try (Scanner sc = new Scanner(conn.getInputStream())) {
-                String response = sc.useDelimiter("\\A").next();
-                JsonNode node = MAPPER.readTree(response);
-
-                if (node.isArray() && !node.isEmpty()) {
-                    JsonNode address = node.get(0).path("address");
-                    String code2 = address.path("country_code").asText("").toUpperCase();
-                    if (!code2.isEmpty()) {
-                        String iso3 = toISO3(code2);
-                        cache.put(raw, iso3);
-                        cacheTimestamps.put(raw, Instant.now());
-                        return iso3;
-                    }
-                }
-            }
-        } catch (IOException e) {
-            log.error("Geocoding error: {}", e.getMessage());
-        }
+        // Skip non-country or timezone strings
+        if (NON_COUNTRY.matcher(raw).find()) return null;
 
-        return null;
+        return geocodingService.resolveLocation(raw);
     }
 
     /**
@@ -107,45 +67,41 @@ public class LocationMapper {
      * @return ISO3 country code, or null if cannot map
      */
     public String mapCoordinates(double lat, double lon) {
-        String key = lat + "," + lon;
-        if (cache.containsKey(key)) {
-            Instant added = cacheTimestamps.get(key);
-            if (added.plusSeconds(CACHE_TTL_SECONDS).isAfter(Instant.now())) {
-                return cache.get(key);
-            } else {
-                cache.remove(key);
-                cacheTimestamps.remove(key);
-            }
-        }
+        return geocodingService.resolveCoordinates(lat, lon);
+    }
 
-        try {
-            String urlStr = "https://nominatim.openstreetmap.org/reverse?lat=" + lat + "&lon=" + lon
-                    + "&format=json&addressdetails=1";
-
-            HttpURLConnection conn = (HttpURLConnection) new URL(urlStr).openConnection();
-            conn.setRequestProperty("User-Agent", "MyApp/1.0 (contact@myapp.com)");
-
-            try (Scanner sc = new Scanner(conn.getInputStream())) {
-                String response = sc.useDelimiter("\\A").next();
-                JsonNode node = MAPPER.readTree(response);
-                JsonNode address = node.path("address");
-                String code2 = address.path("country_code").asText("").toUpperCase();
-                if (!code2.isEmpty()) {
-                    String iso3 = toISO3(code2);
-                    cache.put(key, iso3);
-                    cacheTimestamps.put(key, Instant.now());
-                    return iso3;
-                }
+    /**
+     * Map many location strings to ISO3 country codes at once, with the same rules as {@link #mapLocation(String)}.
+     * Every distinct string is resolved once; strings the gazetteer does not recognize are geocoded
+     * together by {@link GeocodingService#resolveLocations}.
+     *
+     * @param raws Raw location strings
+     * @return ISO3 country codes keyed by the given strings; strings which cannot be mapped are absent
+     */
+    public Map<String, String> mapLocations(Collection<String> raws) {
+        long started = System.nanoTime();
+        Map<String, String> mapped = new HashMap<>();
+        Set<String> unresolved = new LinkedHashSet<>();
+        for (String raw : new LinkedHashSet<>(raws)) {
+            if (raw == null || raw.isBlank()) continue;
+            List<String> countries = gazetteer.resolve(raw);
+            if (countries != null) {
+                if (countries.size() == 1)
+                    mapped.put(raw, countries.getFirst());
+            } else if (!NON_COUNTRY.matcher(raw).find()) {
+                unresolved.add(raw);
             }
-        } catch (IOException e) {
-            log.error("Reverse geocoding error: {}", e.getMessage());
         }
+        gazetteerTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 
-        return null;
+        if (!unresolved.isEmpty())
+            mapped.putAll(geocodingService.resolveLocations(unresolved));
+        return mapped;
     }
 
     /**
      * Maps all JobEntity.CandidateRequiredLocation strings into ISO3 country codes.
+     * Jobs sharing a location string are resolved with a single lookup.
      * Modifies JobEntity in place.
      *
      * @param jobs list of JobEntity objects
@@ -153,20 +109,23 @@ public class LocationMapper {
     public void normalizeLocations(List<JobEntity> jobs) {
         if (jobs == null || jobs.isEmpty()) return;
 
+        Map<String, List<JobEntity>> byLocation = new LinkedHashMap<>();
         for (JobEntity job : jobs) {
             String rawLocation = job.getCandidateRequiredLocation(); // original field
-            if (rawLocation != null && !rawLocation.isBlank()) {
-                String iso3 = mapLocation(rawLocation);
-                if (iso3 != null) {
-                    job.setCandidateRequiredLocation(iso3);
-                } else {
-                    job.setCandidateRequiredLocation("UNK");
-                    log.warn("Cannot map location: {}", rawLocation);
-                }
-            } else {
+            if (rawLocation != null && !rawLocation.isBlank())
+                byLocation.computeIfAbsent(rawLocation, k -> new ArrayList<>()).add(job);
+            else
                 job.setCandidateRequiredLocation(null);
-            }
         }
+        if (byLocation.isEmpty()) return;
+
+        Map<String, String> mapped = mapLocations(byLocation.keySet());
+        byLocation.forEach((rawLocation, sharing) -> {
+            String iso3 = mapped.get(rawLocation);
+            if (iso3 == null)
+                log.warn("Cannot map location: {} ({} jobs)", rawLocation, sharing.size());
+            sharing.forEach(job -> job.setCandidateRequiredLocation(iso3 != null ? iso3 : "UNK"));
+        });
     }
 
 }
@@ -0,0 +1,15 @@
+package com.voidsamuraj.HireLens.repository;
+
+import com.voidsamuraj.HireLens.entity.AiResultCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing {@link AiResultCacheEntry} persistence.
+ * <p>
+ * Extends {@link JpaRepository}; lookups of many hashes at once use {@link #findAllById(Iterable)}.
+ * </p>
+ */
+@Repository
+public interface AiResultCacheRepository extends JpaRepository<AiResultCacheEntry, String> {
+}
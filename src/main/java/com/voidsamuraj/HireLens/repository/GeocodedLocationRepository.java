@@ -0,0 +1,23 @@
+package com.voidsamuraj.HireLens.repository;
+
+import com.voidsamuraj.HireLens.entity.GeocodedLocation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link GeocodedLocation} persistence.
+ */
+@Repository
+public interface GeocodedLocationRepository extends JpaRepository<GeocodedLocation, String> {
+
+    /**
+     * Finds the most recently resolved locations, used to warm the in-memory cache on startup.
+     *
+     * @param pageable maximum number of locations to load
+     * @return locations, newest first
+     */
+    List<GeocodedLocation> findAllByOrderByCreatedAtDesc(Pageable pageable);
+}
@@ -0,0 +1,181 @@
+package com.voidsamuraj.HireLens.repository;
+
+import com.voidsamuraj.HireLens.entity.IngestionJob;
+import com.voidsamuraj.HireLens.entity.IngestionJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for durable ingestion jobs and their checkpoints.
+ * <p>
+ * Extends {@link JpaRepository} for the {@link IngestionJob} table; per-page progress in
+ * {@code ingestion_job_page} is written with native SQL.
+ * </p>
+ *
+ * <p>Custom methods:</p>
+ * <ul>
+ *   <li>{@link #finish(UUID, IngestionJobStatus)} – Ends a running job.</li>
+ *   <li>{@link #findClaimable(int)}, {@link #claim(UUID, String, int)}, {@link #release(UUID, String)},
+ *       {@link #heartbeat(Collection, String)} – Let exactly one node run each job.</li>
+ *   <li>{@link #advance(UUID, int, int)} – Moves the checkpoint of a job past a processed page.</li>
+ *   <li>{@link #recordFetched}, {@link #recordAnalyzed}, {@link #recordSaved} – Store per-source progress of a page.</li>
+ *   <li>{@link #deleteFinishedFor(int)} – Drops old finished jobs.</li>
+ * </ul>
+ */
+@Repository
+public interface IngestionJobRepository extends JpaRepository<IngestionJob, UUID> {
+
+    /**
+     * Sets the final state of a job, unless it already ended, so a cancellation is not overwritten.
+     *
+     * @param id job id
+     * @param status final state
+     * @return number of updated rows, {@code 0} if the job does not exist or already ended
+     */
+    @Modifying
+    @Query("""
+        UPDATE IngestionJob j SET j.status = :status, j.updatedAt = CURRENT_TIMESTAMP
+        WHERE j.id = :id AND j.status = com.voidsamuraj.HireLens.entity.IngestionJobStatus.RUNNING
+        """)
+    int finish(@Param("id") UUID id, @Param("status") IngestionJobStatus status);
+
+    /**
+     * Finds running jobs no node is running: never claimed, released, or with an expired heartbeat.
+     *
+     * @param leaseSeconds time after the last heartbeat when the owner is considered gone
+     * @return ids of the jobs, oldest first
+     */
+    @Query(value = """
+        SELECT id FROM ingestion_job
+        WHERE status = 'RUNNING'
+          AND (owner IS NULL OR heartbeat_at IS NULL OR heartbeat_at < now() - :leaseSeconds * INTERVAL '1 second')
+        ORDER BY created_at
+        """, nativeQuery = true)
+    List<UUID> findClaimable(@Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * Takes a running job over, if no node is running it. The condition is checked by the update itself,
+     * so when several nodes claim the same job only one of them gets it.
+     *
+     * @param id job id
+     * @param owner id of the claiming node
+     * @param leaseSeconds time after the last heartbeat when the owner is considered gone
+     * @return {@code id} if the job was claimed, {@code null} if it ended or another node runs it
+     */
+    @Query(value = """
+        UPDATE ingestion_job SET owner = :owner, heartbeat_at = now()
+        WHERE id = :id AND status = 'RUNNING'
+          AND (owner IS NULL OR heartbeat_at IS NULL OR heartbeat_at < now() - :leaseSeconds * INTERVAL '1 second')
+        RETURNING id
+        """, nativeQuery = true)
+    UUID claim(@Param("id") UUID id, @Param("owner") String owner, @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * Gives up a claimed job, so any node can claim it right away.
+     *
+     * @param id job id
+     * @param owner id of the node giving the job up
+     */
+    @Modifying
+    @Query("UPDATE IngestionJob j SET j.owner = NULL WHERE j.id = :id AND j.owner = :owner")
+    void release(@Param("id") UUID id, @Param("owner") String owner);
+
+    /**
+     * Confirms that the node still runs the given jobs.
+     *
+     * @param ids ids of the jobs
+     * @param owner id of the node
+     */
+    @Modifying
+    @Query("UPDATE IngestionJob j SET j.heartbeatAt = CURRENT_TIMESTAMP WHERE j.id IN :ids AND j.owner = :owner")
+    void heartbeat(@Param("ids") Collection<UUID> ids, @Param("owner") String owner);
+
+    /**
+     * Moves the checkpoint of a job past a processed page.
+     *
+     * @param id job id
+     * @param nextPage first page not processed yet
+     * @param downloadedCount number of new offers collected on processed pages
+     */
+    @Modifying
+    @Query("""
+        UPDATE IngestionJob j SET j.nextPage = :nextPage, j.downloadedCount = :downloadedCount,
+            j.updatedAt = CURRENT_TIMESTAMP
+        WHERE j.id = :id
+        """)
+    void advance(@Param("id") UUID id, @Param("nextPage") int nextPage, @Param("downloadedCount") int downloadedCount);
+
+    /**
+     * Stores the number of new offers fetched from a source on a page.
+     *
+     * @param jobId job id
+     * @param page page number
+     * @param source name of the source
+     * @param count number of offers
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO ingestion_job_page (job_id, page, source, fetched)
+        VALUES (:jobId, :page, :source, :count)
+        ON CONFLICT (job_id, page, source)
+        DO UPDATE SET fetched = EXCLUDED.fetched, updated_at = now()
+        """, nativeQuery = true)
+    void recordFetched(@Param("jobId") UUID jobId, @Param("page") int page,
+                       @Param("source") String source, @Param("count") int count);
+
+    /**
+     * Stores the number of offers of a source analyzed by AI on a page.
+     *
+     * @param jobId job id
+     * @param page page number
+     * @param source name of the source
+     * @param count number of offers
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO ingestion_job_page (job_id, page, source, analyzed)
+        VALUES (:jobId, :page, :source, :count)
+        ON CONFLICT (job_id, page, source)
+        DO UPDATE SET analyzed = EXCLUDED.analyzed, updated_at = now()
+        """, nativeQuery = true)
+    void recordAnalyzed(@Param("jobId") UUID jobId, @Param("page") int page,
+                        @Param("source") String source, @Param("count") int count);
+
+    /**
+     * Stores the number of offers of a source saved on a page.
+     *
+     * @param jobId job id
+     * @param page page number
+     * @param source name of the source
+     * @param count number of offers
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO ingestion_job_page (job_id, page, source, saved)
+        VALUES (:jobId, :page, :source, :count)
+        ON CONFLICT (job_id, page, source)
+        DO UPDATE SET saved = EXCLUDED.saved, updated_at = now()
+        """, nativeQuery = true)
+    void recordSaved(@Param("jobId") UUID jobId, @Param("page") int page,
+                     @Param("source") String source, @Param("count") int count);
+
+    /**
+     * Drops jobs that ended more than the given number of days ago, together with their checkpoints.
+     *
+     * @param days time after which a finished job is dropped
+     * @return number of dropped jobs
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM ingestion_job
+        WHERE status <> 'RUNNING' AND updated_at < now() - :days * INTERVAL '1 day'
+        """, nativeQuery = true)
+    int deleteFinishedFor(@Param("days") int days);
+}
@@ -1,5 +1,6 @@
 package com.voidsamuraj.HireLens.repository;
 
+import com.voidsamuraj.HireLens.entity.ApiName;
 import com.voidsamuraj.HireLens.entity.JobEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,9 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Repository interface for managing {@link JobEntity} persistence and query operations.
@@ -30,7 +29,10 @@ import java.util.Set;
  *       the full-text search query. Useful for skill-based analytics.</li>
  *   <li>{@link #getLocationCounts(String)} – Counts job listings grouped by candidate-required location
  *       for a given search query. Useful for location-based dashboards.</li>
- *   <li>{@link #findKeysIn(Collection)} – Checks which job keys (apiName:apiId) exist in the database.</li>
+ *   <li>{@link #findExistingApiIds(ApiName, Collection)} – Checks which ids of a given API exist in the database,
+ *       using the {@code (api_name, api_id)} unique index.</li>
+ *   <li>{@link #findKeysAfter(long, Pageable)} – Reads job keys in id order, one page at a time, without loading entities.</li>
+ *   <li>{@link #lockKeys(Collection)} – Serializes transactions inserting the same job keys.</li>
  * </ul>
  */
 
@@ -113,16 +115,78 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
     @Transactional
     List<SkillCount> getLocationCounts(@Param("query") String query);
 
+    /** Maximum number of ids bound in a single {@link #findApiIdsIn(ApiName, Collection)} query. */
+    int KEY_LOOKUP_CHUNK_SIZE = 1000;
+
+    /**
+     * Returns ids of jobs from the given API which already exist in the database.
+     * <p>
+     * Matches on {@code (api_name, api_id)}, so the lookup is served by the {@code uq_api} unique index
+     * instead of scanning the whole table.
+     * </p>
+     *
+     * @param apiName source API of the jobs
+     * @param apiIds ids of the jobs in the source API
+     * @return subset of {@code apiIds} present in the database
+     */
+    @Query("SELECT j.apiId FROM JobEntity j WHERE j.apiName = :apiName AND j.apiId IN :apiIds")
+    Set<String> findApiIdsIn(@Param("apiName") ApiName apiName, @Param("apiIds") Collection<String> apiIds);
+
+    /**
+     * Returns ids of jobs from the given API which already exist in the database,
+     * querying in chunks of {@link #KEY_LOOKUP_CHUNK_SIZE} ids so very large lists stay within bind parameter limits.
+     *
+     * @param apiName source API of the jobs
+     * @param apiIds ids of the jobs in the source API; {@code null} ids are ignored
+     * @return subset of {@code apiIds} present in the database
+     */
+    default Set<String> findExistingApiIds(ApiName apiName, Collection<String> apiIds) {
+        List<String> ids = apiIds.stream().filter(Objects::nonNull).distinct().toList();
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += KEY_LOOKUP_CHUNK_SIZE) {
+            existing.addAll(findApiIdsIn(apiName, ids.subList(from, Math.min(ids.size(), from + KEY_LOOKUP_CHUNK_SIZE))));
+        }
+        return existing;
+    }
+
     /**
-     * Returns a set of existing job keys in the format {@code apiName:apiId} for the provided collection.
+     * Takes a transaction-scoped advisory lock per job key ({@code apiName:apiId}), held until commit or rollback.
+     * <p>
+     * Locks are taken in the order of their hashed keys, so transactions with overlapping keys wait for each other
+     * instead of deadlocking, and transactions with different keys do not wait at all.
+     * </p>
      *
-     * @param keys collection of job keys to check
-     * @return set of keys that exist in the database
+     * @param keys job keys; must not be empty
+     * @return one row per distinct key
      */
-    @Query("SELECT CONCAT(j.apiName, ':', j.apiId) " +
-            "FROM JobEntity j " +
-            "WHERE CONCAT(j.apiName, ':', j.apiId) IN :keys")
-    Set<String> findKeysIn(@Param("keys") Collection<String> keys);
+    @Query(value = """
+        SELECT 1
+        FROM (SELECT DISTINCT hashtextextended(key, 0) AS lock_key
+              FROM unnest(ARRAY[:keys]) AS key
+              ORDER BY lock_key) keys
+        CROSS JOIN LATERAL pg_advisory_xact_lock(keys.lock_key)
+        """, nativeQuery = true)
+    List<Integer> lockKeys(@Param("keys") Collection<String> keys);
+
+    /**
+     * Returns keys of jobs with id greater than {@code afterId}, ordered by id.
+     * <p>
+     * Used for keyset pagination over the whole table: pass the id of the last returned key as the next
+     * {@code afterId}. Only the key columns are read.
+     * </p>
+     *
+     * @param afterId id after which keys are returned; use {@code 0} to start from the beginning
+     * @param pageable page size (the page number is ignored in favour of {@code afterId})
+     * @return up to {@code pageable.getPageSize()} keys
+     */
+    @Query("SELECT j.id AS id, j.apiName AS apiName, j.apiId AS apiId FROM JobEntity j WHERE j.id > :afterId ORDER BY j.id")
+    List<JobKeyProjection> findKeysAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    interface JobKeyProjection {
+        Long getId();
+        ApiName getApiName();
+        String getApiId();
+    }
 
     interface SkillProjection {
         String getSkill();
@@ -0,0 +1,206 @@
+package com.voidsamuraj.HireLens.repository;
+
+import com.voidsamuraj.HireLens.entity.QueryAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the incrementally maintained per-query aggregates.
+ * <p>
+ * Extends {@link JpaRepository} for the {@link QueryAggregate} registry; the rollup tables
+ * {@code query_skill_aggregate} and {@code query_location_aggregate} are read and written with native SQL.
+ * </p>
+ *
+ * <p>Custom methods:</p>
+ * <ul>
+ *   <li>{@link #findIdByQuery(String)} – Finds the registered entry of a search query.</li>
+ *   <li>{@link #register(String)} – Registers a search query and returns its id.</li>
+ *   <li>{@link #computeSkills(Long)} / {@link #computeLocations(Long)} – Compute rollups of a newly registered query
+ *       with one full-text scan.</li>
+ *   <li>{@link #addSkills(Collection)} / {@link #addLocations(Collection)} – Add newly saved jobs to the rollups
+ *       of every registered query they match.</li>
+ *   <li>{@link #getSkillSums(Long)} / {@link #getLocationCounts(Long)} – Read rollups, in the same shape as
+ *       {@link JobRepository#getSkillSums(String)} and {@link JobRepository#getLocationCounts(String)}.</li>
+ *   <li>{@link #lockAggregates(long)} / {@link #lockAggregatesShared(long)} – Keep registration apart from
+ *       rollup updates, while rollup updates run side by side.</li>
+ * </ul>
+ */
+@Repository
+public interface QueryAggregateRepository extends JpaRepository<QueryAggregate, Long> {
+
+    /**
+     * Finds the id of a registered search query.
+     *
+     * @param query search query string
+     * @return id of the entry, or {@code null} if the query was never registered
+     */
+    @Query(value = "SELECT id FROM query_aggregate WHERE query_key = CAST(plainto_tsquery('english', :query) AS text)",
+            nativeQuery = true)
+    Long findIdByQuery(@Param("query") String query);
+
+    /**
+     * Registers a search query without rollups.
+     *
+     * @param query search query string
+     * @return id of the new entry
+     */
+    @Query(value = """
+        INSERT INTO query_aggregate (query_key, ts_query)
+        VALUES (CAST(plainto_tsquery('english', :query) AS text), plainto_tsquery('english', :query))
+        RETURNING id
+        """, nativeQuery = true)
+    Long register(@Param("query") String query);
+
+    /**
+     * Computes skill rollups of a registered query from all stored jobs.
+     *
+     * @param queryId id of the entry
+     * @return number of rollup rows written
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO query_skill_aggregate (query_id, skill, total_level)
+        SELECT q.id, js.skill, COALESCE(SUM(js.level), 0)
+        FROM query_aggregate q
+        JOIN job_entity je ON je.tsv_en @@ q.ts_query
+        JOIN job_skills js ON js.job_id = je.id
+        WHERE q.id = :queryId AND js.skill IS NOT NULL
+        GROUP BY q.id, js.skill
+        """, nativeQuery = true)
+    int computeSkills(@Param("queryId") Long queryId);
+
+    /**
+     * Computes location rollups of a registered query from all stored jobs.
+     *
+     * @param queryId id of the entry
+     * @return number of rollup rows written
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO query_location_aggregate (query_id, location, total_count)
+        SELECT q.id, je.candidate_required_location, COUNT(*)
+        FROM query_aggregate q
+        JOIN job_entity je ON je.tsv_en @@ q.ts_query
+        WHERE q.id = :queryId AND je.candidate_required_location IS NOT NULL
+        GROUP BY q.id, je.candidate_required_location
+        """, nativeQuery = true)
+    int computeLocations(@Param("queryId") Long queryId);
+
+    /**
+     * Adds skills of the given jobs to the rollups of every registered query the jobs match.
+     * Only the given jobs are matched, so the cost does not depend on the size of the corpus. Rows are upserted
+     * in key order, so concurrent saves lock shared rollup rows in the same order and never deadlock.
+     *
+     * @param jobIds ids of newly saved jobs
+     * @return number of rollup rows inserted or updated
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO query_skill_aggregate (query_id, skill, total_level)
+        SELECT q.id, js.skill, COALESCE(SUM(js.level), 0)
+        FROM job_entity je
+        JOIN query_aggregate q ON je.tsv_en @@ q.ts_query
+        JOIN job_skills js ON js.job_id = je.id
+        WHERE je.id IN (:jobIds) AND js.skill IS NOT NULL
+        GROUP BY q.id, js.skill
+        ORDER BY q.id, js.skill
+        ON CONFLICT (query_id, skill)
+        DO UPDATE SET total_level = query_skill_aggregate.total_level + EXCLUDED.total_level
+        """, nativeQuery = true)
+    int addSkills(@Param("jobIds") Collection<Long> jobIds);
+
+    /**
+     * Adds locations of the given jobs to the rollups of every registered query the jobs match.
+     * Rows are upserted in key order, like in {@link #addSkills(Collection)}.
+     *
+     * @param jobIds ids of newly saved jobs
+     * @return number of rollup rows inserted or updated
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO query_location_aggregate (query_id, location, total_count)
+        SELECT q.id, je.candidate_required_location, COUNT(*)
+        FROM job_entity je
+        JOIN query_aggregate q ON je.tsv_en @@ q.ts_query
+        WHERE je.id IN (:jobIds) AND je.candidate_required_location IS NOT NULL
+        GROUP BY q.id, je.candidate_required_location
+        ORDER BY q.id, je.candidate_required_location
+        ON CONFLICT (query_id, location)
+        DO UPDATE SET total_count = query_location_aggregate.total_count + EXCLUDED.total_count
+        """, nativeQuery = true)
+    int addLocations(@Param("jobIds") Collection<Long> jobIds);
+
+    /**
+     * Returns skill rollups of a registered query, sorted by total level descending.
+     *
+     * @param queryId id of the entry
+     * @return skills with their group and aggregated level
+     */
+    @Query(value = """
+        SELECT s.skill AS skill, gs.group_name AS group_name, s.total_level AS total_level
+        FROM query_skill_aggregate s
+        JOIN groups gs ON s.skill = gs.skill
+        WHERE s.query_id = :queryId
+        ORDER BY s.total_level DESC
+        """, nativeQuery = true)
+    List<JobRepository.SkillProjection> getSkillSums(@Param("queryId") Long queryId);
+
+    /**
+     * Returns location rollups of a registered query, sorted by count descending.
+     *
+     * @param queryId id of the entry
+     * @return list of {@link JobRepository.SkillCount} where 'skill' is the location and 'total' is the count
+     */
+    @Query(value = """
+        SELECT l.location, l.total_count
+        FROM query_location_aggregate l
+        WHERE l.query_id = :queryId
+        ORDER BY l.total_count DESC
+        """, nativeQuery = true)
+    List<JobRepository.SkillCount> getLocationCounts(@Param("queryId") Long queryId);
+
+    /**
+     * Marks a registered query as used now.
+     *
+     * @param queryId id of the entry
+     */
+    @Modifying
+    @Query(value = "UPDATE query_aggregate SET last_used_at = now() WHERE id = :queryId", nativeQuery = true)
+    void touch(@Param("queryId") Long queryId);
+
+    /**
+     * Drops queries not used for the given number of days, so rollup updates do not grow with abandoned queries.
+     *
+     * @param days idle time after which a query is dropped
+     * @return number of dropped queries
+     */
+    @Modifying
+    @Query(value = "DELETE FROM query_aggregate WHERE last_used_at < now() - :days * INTERVAL '1 day'",
+            nativeQuery = true)
+    int deleteUnusedFor(@Param("days") int days);
+
+    /**
+     * Takes a transaction-scoped advisory lock, held until commit or rollback.
+     *
+     * @param key lock key
+     * @return always {@code 1}
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    Integer lockAggregates(@Param("key") long key);
+
+    /**
+     * Takes a transaction-scoped advisory lock in shared mode: any number of transactions may hold it together,
+     * while {@link #lockAggregates(long)} on the same key waits for all of them.
+     *
+     * @param key lock key
+     * @return always {@code 1}
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(:key)", nativeQuery = true)
+    Integer lockAggregatesShared(@Param("key") long key);
+}
@@ -0,0 +1,101 @@
+package com.voidsamuraj.HireLens.service.ai;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Chooses how many job offers are packed into a single batch request to the AI service.
+ * <p>
+ * The batch size follows an additive-increase / multiplicative-decrease rule:
+ * it grows by one after every batch answered within the target latency,
+ * shrinks to three quarters when a batch was slower than the target,
+ * and is halved when a batch failed. It always stays between the configured minimum and maximum.
+ * </p>
+ * <p>
+ * Independently of the size, a batch never exceeds the configured payload limit
+ * (measured as UTF-8 bytes of the offer texts), except when a single offer is larger than the limit.
+ * </p>
+ *
+ * <p><b>Thread-safety:</b> all methods are synchronized, one instance can be shared by concurrent requests.</p>
+ */
+public class AdaptiveBatchSizer {
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetLatencyMillisPerOffer;
+    private final long maxPayloadBytes;
+
+    /** Current batch size. */
+    private int size;
+
+    /**
+     * Creates a sizer starting at the minimum batch size.
+     *
+     * @param minSize smallest allowed batch size, at least 1
+     * @param maxSize largest allowed batch size
+     * @param targetLatencyPerOffer accepted average latency per offer in a batch
+     * @param maxPayloadBytes maximum summed size of offer texts in one batch
+     */
+    public AdaptiveBatchSizer(int minSize, int maxSize, Duration targetLatencyPerOffer, long maxPayloadBytes) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.targetLatencyMillisPerOffer = targetLatencyPerOffer.toMillis();
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.size = this.minSize;
+    }
+
+    /**
+     * Returns the current batch size.
+     *
+     * @return number of offers allowed in the next batch
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * Computes the exclusive end index of the next batch starting at {@code from}.
+     * The batch holds at most {@link #getSize()} texts and at most {@code maxPayloadBytes} bytes,
+     * but always at least one text.
+     *
+     * @param texts all texts waiting for analysis
+     * @param from index of the first text of the batch
+     * @return exclusive end index of the batch
+     */
+    public synchronized int nextBatchEnd(List<String> texts, int from) {
+        int end = from;
+        long bytes = 0;
+        while (end < texts.size() && end - from < size) {
+            String text = texts.get(end);
+            bytes += text == null ? 0 : text.getBytes(StandardCharsets.UTF_8).length;
+            if (end > from && bytes > maxPayloadBytes)
+                break;
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Records a successfully answered batch and adjusts the batch size to its latency.
+     *
+     * @param batchSize number of offers in the batch
+     * @param latency time taken by the whole batch request
+     */
+    public synchronized void recordSuccess(int batchSize, Duration latency) {
+        long perOffer = latency.toMillis() / Math.max(1, batchSize);
+        if (perOffer <= targetLatencyMillisPerOffer) {
+            if (batchSize >= size)
+                size = Math.min(maxSize, size + 1);
+        } else {
+            size = Math.max(minSize, size * 3 / 4);
+        }
+    }
+
+    /**
+     * Records a failed batch, halving the batch size.
+     */
+    public synchronized void recordFailure() {
+        size = Math.max(minSize, size / 2);
+    }
+}
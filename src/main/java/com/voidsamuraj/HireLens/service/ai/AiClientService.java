@@ -2,32 +2,55 @@ package com.voidsamuraj.HireLens.service.ai;
 
 import com.voidsamuraj.HireLens.dto.ai.AnalysisResult;
 import com.voidsamuraj.HireLens.dto.ai.JobOfferRequest;
+import com.voidsamuraj.HireLens.dto.ai.JobOffersRequest;
 import com.voidsamuraj.HireLens.dto.ai.SkillsRequest;
+import io.netty.channel.ChannelOption;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.util.retry.Retry;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service responsible for communicating with an external AI system to analyze job offers
  * and group skills.
  * <p>
- * Uses Spring WebClient to perform HTTP POST requests to the AI service.
- * Methods are blocking (synchronous) and include retry logic in case of transient failures.
+ * Uses Spring WebClient on a dedicated Reactor Netty connection pool to perform HTTP POST requests
+ * to the AI service. The {@code *Async} methods are non-blocking and return {@link Mono};
+ * the remaining methods are blocking wrappers kept for simple callers.
  * </p>
  *
+ * <p>Every call:</p>
+ * <ul>
+ *   <li>is limited by a per-call timeout,</li>
+ *   <li>goes through a shared {@link CircuitBreaker}, which fails fast while the AI service is down,</li>
+ *   <li>is retried with exponential backoff and jitter (except batch calls, which fall back to single calls).</li>
+ * </ul>
+ * Client errors (HTTP 4xx) are neither retried nor counted as failures of the service.
+ *
  * <p>Endpoints used:</p>
  * <ul>
  *   <li>{@code POST /analyze} – analyzes the text of a job offer and returns a structured
  *       {@link AnalysisResult}, including detected seniority and skills.</li>
+ *   <li>{@code POST /analyzeBatch} – analyzes many job offers in one call and returns
+ *       one {@link AnalysisResult} per offer, in request order.</li>
  *   <li>{@code POST /groupSkills} – groups a flat map of skills into structured categories
  *       with aggregated levels.</li>
  * </ul>
@@ -40,87 +63,334 @@ public class AiClientService {
     /** Base address of the AI service. */
     private final String address;
 
+    /** Smallest number of offers sent in one batch request. */
+    @Value("${ai-server.batch.min-size:1}")
+    private int minBatchSize = 1;
+
+    /** Largest number of offers sent in one batch request. */
+    @Value("${ai-server.batch.max-size:16}")
+    private int maxBatchSize = 16;
+
+    /** Average time per offer accepted before batches are made smaller. */
+    @Value("${ai-server.batch.target-latency-per-offer-ms:5000}")
+    private long targetLatencyPerOfferMillis = 5000;
+
+    /** Maximum summed size of offer texts in one batch request, in bytes. */
+    @Value("${ai-server.batch.max-payload-bytes:262144}")
+    private long maxBatchPayloadBytes = 262144;
+
+    /** Timeout of a single analysis call. */
+    @Value("${ai-server.timeout-per-offer-ms:60000}")
+    private long timeoutPerOfferMillis = 60000;
+
+    /** Timeout of a batch call before the allowance for its offers is added. */
+    @Value("${ai-server.batch.timeout-base-ms:60000}")
+    private long batchTimeoutBaseMillis = 60000;
+
+    /** Time added to the batch timeout for every offer in the batch. */
+    @Value("${ai-server.batch.timeout-per-offer-ms:10000}")
+    private long batchTimeoutPerOfferMillis = 10000;
+
+    /** Upper bound of a batch timeout, whatever the size of the batch. */
+    @Value("${ai-server.batch.max-timeout-ms:180000}")
+    private long batchMaxTimeoutMillis = 180000;
+
+    /** Timeout of a skills grouping call. */
+    @Value("${ai-server.group-skills-timeout-ms:300000}")
+    private long groupSkillsTimeoutMillis = 300000;
+
+    /** Number of retries after the first failed attempt. */
+    @Value("${ai-server.retry.max-attempts:5}")
+    private int retryMaxAttempts = 5;
+
+    /** Delay before the first retry; following delays grow exponentially. */
+    @Value("${ai-server.retry.min-backoff-ms:1000}")
+    private long retryMinBackoffMillis = 1000;
+
+    /** Upper bound of a single retry delay. */
+    @Value("${ai-server.retry.max-backoff-ms:30000}")
+    private long retryMaxBackoffMillis = 30000;
+
+    /** Consecutive failures which open the circuit breaker. */
+    @Value("${ai-server.circuit-breaker.failure-threshold:5}")
+    private int circuitFailureThreshold = 5;
+
+    /** Time the circuit breaker stays open before a trial call is allowed. */
+    @Value("${ai-server.circuit-breaker.open-duration-ms:30000}")
+    private long circuitOpenDurationMillis = 30000;
+
+    /** Maximum number of open connections to the AI service. */
+    @Value("${ai-server.pool.max-connections:16}")
+    private int poolMaxConnections = 16;
+
+    /** Maximum time a request waits for a free connection. */
+    @Value("${ai-server.pool.pending-acquire-timeout-ms:60000}")
+    private long poolPendingAcquireTimeoutMillis = 60000;
+
+    /** Idle time after which a pooled connection is closed. */
+    @Value("${ai-server.pool.max-idle-time-ms:30000}")
+    private long poolMaxIdleTimeMillis = 30000;
+
+    /** Timeout of establishing a new connection. */
+    @Value("${ai-server.pool.connect-timeout-ms:5000}")
+    private int connectTimeoutMillis = 5000;
+
+    /** Connection pool of the AI service client. Initialized in {@link #init()}. */
+    private ConnectionProvider connectionProvider;
+
     /** WebClient instance used to communicate with the AI service. Initialized in {@link #init()}. */
     private WebClient webClient;
 
+    /** Adapts the batch size to observed latency and failures. Initialized in {@link #init()}. */
+    private AdaptiveBatchSizer batchSizer;
+
+    /** Fails calls fast while the AI service is down. Initialized in {@link #init()}. */
+    private CircuitBreaker circuitBreaker;
+
     /**
-     * Initializes the {@link WebClient} with the configured base URL.
+     * Initializes the connection pool, the {@link WebClient} with the configured base URL,
+     * the batch sizer and the circuit breaker.
      * Invoked after dependency injection.
      */
     @PostConstruct
     public void init() {
+        this.connectionProvider = ConnectionProvider.builder("ai-server")
+                .maxConnections(poolMaxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(poolPendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofMillis(poolMaxIdleTimeMillis))
+                .evictInBackground(Duration.ofMillis(poolMaxIdleTimeMillis))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .keepAlive(true);
         this.webClient = WebClient.builder()
                 .baseUrl(address)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(c -> c.defaultCodecs().maxInMemorySize((int) Math.min(Integer.MAX_VALUE, maxBatchPayloadBytes * 4)))
                 .build();
+        this.batchSizer = new AdaptiveBatchSizer(minBatchSize, maxBatchSize,
+                Duration.ofMillis(targetLatencyPerOfferMillis), maxBatchPayloadBytes);
+        this.circuitBreaker = new CircuitBreaker("ai-server", circuitFailureThreshold,
+                Duration.ofMillis(circuitOpenDurationMillis), Clock.systemUTC());
     }
 
     /**
-     * Sends a job text to the AI service for analysis.
+     * Closes pooled connections when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (connectionProvider != null)
+            connectionProvider.dispose();
+    }
+
+    /**
+     * Computes the exclusive end index of the next batch of texts starting at {@code from},
+     * using the current adaptive batch size and payload limit.
+     *
+     * @param jobTexts all texts waiting for analysis
+     * @param from index of the first text of the batch
+     * @return exclusive end index of the batch, always greater than {@code from} if texts remain
+     */
+    public int nextBatchEnd(List<String> jobTexts, int from) {
+        return batchSizer.nextBatchEnd(jobTexts, from);
+    }
+
+    /**
+     * Sends a job text to the AI service for analysis without blocking.
      * <p>
-     * Returns structured {@link AnalysisResult} containing detected seniority level
+     * Emits structured {@link AnalysisResult} containing detected seniority level
      * and skill categories with their levels.
-     * Retries up to 5 times with a 3-second delay in case of failure.
+     * Failed attempts are retried with exponential backoff and jitter.
      * </p>
      *
      * @param jobText raw text of the job offer
+     * @return {@link Mono} emitting the {@link AnalysisResult} with seniority and skills
+     */
+    public Mono<AnalysisResult> analyzeJobAsync(String jobText) {
+        Mono<AnalysisResult> call = webClient.post()
+                .uri("/analyze")
+                .bodyValue(new JobOfferRequest(jobText))
+                .retrieve()
+                .bodyToMono(AnalysisResult.class)
+                .timeout(Duration.ofMillis(timeoutPerOfferMillis));
+        return circuitBreaker.protect(call, AiClientService::isServiceFailure)
+                .retryWhen(retrySpec());
+    }
+
+    /**
+     * Sends a job text to the AI service for analysis, blocking until the result is available.
+     *
+     * @param jobText raw text of the job offer
      * @return {@link AnalysisResult} with seniority and skills
      * @throws RuntimeException if the AI service is unavailable or an error occurs
+     * @see #analyzeJobAsync(String)
      */
     public AnalysisResult analyzeJob(String jobText) {
         try {
+            return analyzeJobAsync(jobText).block();
+        } catch (Exception e) {
+            throw new RuntimeException("AI service unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends many job texts to the AI service in a single {@code /analyzeBatch} request without blocking.
+     * <p>
+     * The latency of the request is fed back into the adaptive batch size.
+     * If the batch request fails, or returns a different number of results than texts sent,
+     * every text is analyzed again with a separate {@link #analyzeJobAsync(String)} call,
+     * so one bad offer does not lose the results of the others.
+     * While the circuit breaker is open the batch fails immediately, without fallback.
+     * </p>
+     *
+     * @param jobTexts raw texts of the job offers
+     * @return {@link Mono} emitting results in the same order as {@code jobTexts}; an entry is {@code null}
+     *         if that offer could not be analyzed even on its own. Errors if every offer failed.
+     */
+    public Mono<List<AnalysisResult>> analyzeJobsAsync(List<String> jobTexts) {
+        if (jobTexts.isEmpty())
+            return Mono.just(List.of());
+        Mono<List<AnalysisResult>> call = Mono.defer(() -> {
+            long start = System.nanoTime();
             return webClient.post()
-                    .uri("/analyze")
-                    .bodyValue(new JobOfferRequest(jobText))
+                    .uri("/analyzeBatch")
+                    .bodyValue(new JobOffersRequest(jobTexts))
                     .retrieve()
-                    .bodyToMono(AnalysisResult.class)
-                    .retryWhen(Retry.fixedDelay(5, Duration.ofSeconds(3)))
-                    .block(); // blocking, not reactive
+                    .bodyToMono(new ParameterizedTypeReference<List<AnalysisResult>>() {})
+                    .timeout(batchTimeout(jobTexts.size()))
+                    .flatMap(results -> results.size() == jobTexts.size()
+                            ? Mono.just(results)
+                            : Mono.error(new IllegalStateException("AI service returned " + results.size()
+                                    + " results for " + jobTexts.size() + " offers")))
+                    .doOnSuccess(results -> batchSizer.recordSuccess(jobTexts.size(), Duration.ofNanos(System.nanoTime() - start)));
+        });
+        return circuitBreaker.protect(call, AiClientService::isServiceFailure)
+                .onErrorResume(e -> !(e instanceof CircuitBreaker.OpenException), e -> {
+                    batchSizer.recordFailure();
+                    log.warn("Batch analysis of {} offers failed, falling back to single requests: {}", jobTexts.size(), e.getMessage());
+                    return analyzeOneByOne(jobTexts);
+                });
+    }
+
+    /**
+     * Timeout of a batch call: a base time plus an allowance per offer, capped at
+     * {@code ai-server.batch.max-timeout-ms}, so a slow batch falls back to single calls in bounded time.
+     *
+     * @param offers number of offers in the batch
+     * @return timeout of the whole batch request
+     */
+    private Duration batchTimeout(int offers) {
+        return Duration.ofMillis(Math.min(batchMaxTimeoutMillis, batchTimeoutBaseMillis + batchTimeoutPerOfferMillis * offers));
+    }
+
+    /**
+     * Sends many job texts to the AI service, blocking until all results are available.
+     *
+     * @param jobTexts raw texts of the job offers
+     * @return results in the same order as {@code jobTexts}; an entry is {@code null}
+     *         if that offer could not be analyzed even on its own
+     * @throws RuntimeException if the AI service is unavailable for every offer
+     * @see #analyzeJobsAsync(List)
+     */
+    public List<AnalysisResult> analyzeJobs(List<String> jobTexts) {
+        try {
+            return analyzeJobsAsync(jobTexts).block();
         } catch (Exception e) {
             throw new RuntimeException("AI service unavailable: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Sends a list of skills to the AI service to be grouped into categories.
+     * Sends a list of skills to the AI service to be grouped into categories without blocking.
      * <p>
-     * Returns a nested map where the top-level keys are skill and values
-     * are categories
-     * Retries up to 5 times with a 3-second delay in case of failure.
-     * <p>
-     * Logs warnings if the AI service returns {@code null} or an empty map.
+     * Emits a map where the keys are skills and values are categories.
+     * Failed attempts are retried with exponential backoff and jitter.
+     * Logs warnings if the AI service returns an empty map.
      * </p>
      *
      * @param skills list of skills to group
+     * @return {@link Mono} emitting the map of grouped skills (skill -> category), empty if nothing was returned
+     */
+    public Mono<Map<String, String>> groupSkillsAsync(List<String> skills) {
+        Mono<Map<String, String>> call = webClient.post()
+                .uri("/groupSkills")
+                .bodyValue(new SkillsRequest(skills))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, String>>() {})
+                .timeout(Duration.ofMillis(groupSkillsTimeoutMillis));
+        return circuitBreaker.protect(call, AiClientService::isServiceFailure)
+                .retryWhen(retrySpec())
+                .defaultIfEmpty(Map.of())
+                .map(result -> {
+                    // --- verification of deserialization ---
+                    if (result.isEmpty()) {
+                        log.warn("AI service returned empty or unparsable grouped map: {}", result);
+                        return new HashMap<String, String>();
+                    }
+                    log.info("AI service returned map: {}", result);
+                    log.debug("AI service grouping success, received {} categories", result.size());
+                    return result;
+                });
+    }
+
+    /**
+     * Sends a list of skills to the AI service to be grouped into categories,
+     * blocking until the result is available.
+     *
+     * @param skills list of skills to group
      * @return map of grouped skills (skill -> category)
      * @throws RuntimeException if the AI service is unavailable or an error occurs
+     * @see #groupSkillsAsync(List)
      */
     public Map<String, String> groupSkills(List<String> skills){
         try {
-            Map<String, String> result = webClient.post()
-                    .uri("/groupSkills")
-                    .bodyValue(new SkillsRequest(skills))
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, String>>() {})
-                    .retryWhen(Retry.fixedDelay(5, Duration.ofSeconds(3)))
-                    .block(); // blocking, not reactive
-
-            // --- verification of deserialization ---
-            if (result == null) {
-                log.warn("AI service returned null result for skills grouping");
-                return new HashMap<>();
-            }
-            if (result.isEmpty()) {
-                log.warn("AI service returned empty or unparsable grouped map: {}", result);
-                return new HashMap<>();
-            }else{
-                log.info("AI service returned map: {}", result);
-            }
-
-            // --- optional success logging ---
-            log.debug("AI service grouping success, received {} categories", result.size());
-            return result;
+            return groupSkillsAsync(skills).block();
         } catch (Exception e) {
             throw new RuntimeException("AI service unavailable: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Analyzes texts with separate single calls, one after another.
+     *
+     * @param jobTexts raw texts of the job offers
+     * @return results in input order, {@code null} for offers which failed; errors if all of them failed
+     */
+    private Mono<List<AnalysisResult>> analyzeOneByOne(List<String> jobTexts) {
+        return Flux.fromIterable(jobTexts)
+                .concatMap(jobText -> analyzeJobAsync(jobText)
+                        .map(Optional::of)
+                        .onErrorResume(e -> !(e instanceof CircuitBreaker.OpenException), e -> {
+                            log.error("AI analysis of a single offer failed, skipping it: {}", e.getMessage());
+                            return Mono.just(Optional.empty());
+                        }))
+                .collectList()
+                .flatMap(results -> results.stream().allMatch(Optional::isEmpty)
+                        ? Mono.error(new IllegalStateException("AI analysis failed for all " + jobTexts.size() + " offers"))
+                        : Mono.just(results.stream().map(result -> result.orElse(null)).toList()));
+    }
+
+    /**
+     * Builds the retry policy: exponential backoff with jitter, skipping errors which cannot be fixed by retrying.
+     *
+     * @return retry specification
+     */
+    private Retry retrySpec() {
+        return Retry.backoff(retryMaxAttempts, Duration.ofMillis(retryMinBackoffMillis))
+                .maxBackoff(Duration.ofMillis(retryMaxBackoffMillis))
+                .jitter(0.5)
+                .filter(e -> !(e instanceof CircuitBreaker.OpenException) && isServiceFailure(e))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Decides whether an error means the AI service itself is failing (timeouts, connection errors, HTTP 5xx),
+     * as opposed to a request it rejected (HTTP 4xx).
+     *
+     * @param e error of a call
+     * @return {@code true} if the error should be retried and counted by the circuit breaker
+     */
+    private static boolean isServiceFailure(Throwable e) {
+        return !(e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
 }
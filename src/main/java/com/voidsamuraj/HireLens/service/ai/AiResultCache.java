@@ -0,0 +1,198 @@
+package com.voidsamuraj.HireLens.service.ai;
+
+import com.voidsamuraj.HireLens.dto.ai.AnalysisResult;
+import com.voidsamuraj.HireLens.entity.AiResultCacheEntry;
+import com.voidsamuraj.HireLens.repository.AiResultCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Two-tier cache of AI analysis results keyed on a hash of the normalized job text.
+ * <p>
+ * The same offer is often re-posted across job APIs under different ids; caching by content
+ * lets identical offers skip inference completely.
+ * </p>
+ *
+ * <p>Tiers:</p>
+ * <ul>
+ *   <li><b>memory</b> – LRU map bounded by {@code ai-server.cache.max-entries}, evicting the least recently used entry</li>
+ *   <li><b>database</b> – {@code ai_result_cache} table, surviving restarts; hits are promoted to memory</li>
+ * </ul>
+ *
+ * <p>Counters {@code hirelens.ai.cache.requests} (tags {@code result} = hit/miss, {@code tier} = memory/database)
+ * and gauge {@code hirelens.ai.cache.memory.size} are published through Actuator metrics.</p>
+ *
+ * <p><b>Thread-safety:</b> the memory tier is guarded by its own monitor; database access is stateless.</p>
+ */
+@Service
+@Slf4j
+public class AiResultCache {
+
+    private final AiResultCacheRepository repository;
+
+    /** Memory tier in access order, trimmed to {@code maxEntries}. */
+    private final Map<String, AnalysisResult> memory;
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    /**
+     * Creates the cache and registers its metrics.
+     *
+     * @param repository repository of the database tier
+     * @param meterRegistry registry receiving hit and miss counters
+     * @param maxEntries maximum number of results kept in memory
+     */
+    public AiResultCache(AiResultCacheRepository repository,
+                         MeterRegistry meterRegistry,
+                         @Value("${ai-server.cache.max-entries:10000}") int maxEntries) {
+        this.repository = repository;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AnalysisResult> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.memoryHits = Counter.builder("hirelens.ai.cache.requests")
+                .tag("result", "hit").tag("tier", "memory")
+                .description("AI results served from the in-memory cache")
+                .register(meterRegistry);
+        this.databaseHits = Counter.builder("hirelens.ai.cache.requests")
+                .tag("result", "hit").tag("tier", "database")
+                .description("AI results served from the database cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("hirelens.ai.cache.requests")
+                .tag("result", "miss").tag("tier", "database")
+                .description("AI results not found in any cache tier")
+                .register(meterRegistry);
+        Gauge.builder("hirelens.ai.cache.memory.size", this, AiResultCache::memorySize)
+                .description("Number of AI results kept in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Normalizes a job text so that offers differing only in letter case or whitespace share one key.
+     *
+     * @param jobText text sent to the AI service
+     * @return lower-cased text with whitespace runs collapsed to single spaces
+     */
+    public static String normalize(String jobText) {
+        return jobText == null ? "" : jobText.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * Computes the cache key of a job text.
+     *
+     * @param jobText text sent to the AI service
+     * @return hex encoded SHA-256 of the {@link #normalize(String) normalized} text
+     */
+    public static String hash(String jobText) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalize(jobText).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Looks up cached results for many hashes, first in memory and then, for the remaining ones,
+     * with a single database query.
+     *
+     * @param hashes cache keys computed with {@link #hash(String)}
+     * @return results found in any tier, keyed by hash; hashes without a result are absent
+     */
+    public Map<String, AnalysisResult> getAll(Collection<String> hashes) {
+        Map<String, AnalysisResult> found = new HashMap<>();
+        Set<String> remaining = new HashSet<>();
+        synchronized (memory) {
+            for (String hash : new LinkedHashSet<>(hashes)) {
+                AnalysisResult result = memory.get(hash);
+                if (result != null)
+                    found.put(hash, result);
+                else
+                    remaining.add(hash);
+            }
+        }
+        memoryHits.increment(found.size());
+        if (remaining.isEmpty())
+            return found;
+
+        List<AiResultCacheEntry> entries;
+        try {
+            entries = repository.findAllById(remaining);
+        } catch (Exception e) {
+            log.error("Error reading AI result cache from db", e);
+            entries = List.of();
+        }
+        Map<String, AnalysisResult> fromDatabase = new HashMap<>();
+        entries.forEach(entry -> fromDatabase.put(entry.getTextHash(), toResult(entry)));
+        synchronized (memory) {
+            memory.putAll(fromDatabase);
+        }
+        found.putAll(fromDatabase);
+        databaseHits.increment(fromDatabase.size());
+        misses.increment(remaining.size() - fromDatabase.size());
+        return found;
+    }
+
+    /**
+     * Stores results in both tiers. Results already stored in the database are left unchanged.
+     *
+     * @param results analysis results keyed by hash; {@code null} values are ignored
+     */
+    public void putAll(Map<String, AnalysisResult> results) {
+        Map<String, AnalysisResult> valid = new HashMap<>();
+        results.forEach((hash, result) -> {
+            if (result != null)
+                valid.put(hash, result);
+        });
+        if (valid.isEmpty())
+            return;
+        synchronized (memory) {
+            memory.putAll(valid);
+        }
+        Instant now = Instant.now();
+        try {
+            repository.saveAll(valid.entrySet().stream()
+                    .map(e -> new AiResultCacheEntry(
+                            e.getKey(),
+                            e.getValue().getSeniority(),
+                            Optional.ofNullable(e.getValue().getSkills()).orElse(Map.of()),
+                            now))
+                    .toList());
+        } catch (Exception e) {
+            log.error("Error saving AI result cache in db", e);
+        }
+    }
+
+    /**
+     * Returns the number of results currently kept in memory.
+     *
+     * @return size of the memory tier
+     */
+    public int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    private static AnalysisResult toResult(AiResultCacheEntry entry) {
+        AnalysisResult result = new AnalysisResult();
+        result.setSeniority(entry.getSeniority());
+        result.setSkills(entry.getSkills());
+        return result;
+    }
+}
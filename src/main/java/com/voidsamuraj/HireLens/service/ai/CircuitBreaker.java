@@ -0,0 +1,145 @@
+package com.voidsamuraj.HireLens.service.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Predicate;
+
+/**
+ * Minimal circuit breaker guarding calls to a remote service.
+ * <p>
+ * States:
+ * <ul>
+ *   <li>{@code CLOSED} – calls pass through; after {@code failureThreshold} consecutive failures the breaker opens.</li>
+ *   <li>{@code OPEN} – calls fail immediately with {@link OpenException} until {@code openDuration} has elapsed.</li>
+ *   <li>{@code HALF_OPEN} – a single trial call is let through; its success closes the breaker,
+ *       its failure opens it again.</li>
+ * </ul>
+ * </p>
+ *
+ * <p><b>Thread-safety:</b> state transitions are synchronized, one instance can be shared by concurrent calls.</p>
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    /** State of the breaker. */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /** Thrown when a call is rejected because the breaker is open. */
+    public static class OpenException extends RuntimeException {
+        public OpenException(String name) {
+            super("Circuit breaker '" + name + "' is open");
+        }
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private Instant openedAt = Instant.MIN;
+    private boolean trialInFlight = false;
+
+    /**
+     * Creates a closed breaker.
+     *
+     * @param name name used in logs and exception messages
+     * @param failureThreshold consecutive failures which open the breaker
+     * @param openDuration time the breaker stays open before a trial call is allowed
+     * @param clock clock used to measure the open duration
+     */
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current state, moving from {@code OPEN} to {@code HALF_OPEN} if the open duration has elapsed.
+     *
+     * @return current state
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration)))
+            state = State.HALF_OPEN;
+        return state;
+    }
+
+    /**
+     * Asks for permission to perform a call.
+     *
+     * @return {@code true} if the call may proceed; the caller must then report its outcome
+     */
+    public synchronized boolean tryAcquirePermission() {
+        return switch (getState()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight)
+                    yield false;
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    /** Reports a successful call, closing the breaker. */
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED)
+            log.info("Circuit breaker '{}' closed", name);
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /** Reports a failed call, opening the breaker when the threshold is reached or the trial call failed. */
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = clock.instant();
+            log.warn("Circuit breaker '{}' opened after {} consecutive failures", name, consecutiveFailures);
+        }
+    }
+
+    /** Reports a call which ended without an outcome (e.g. it was cancelled), freeing the trial slot. */
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    /**
+     * Guards a reactive call with this breaker. The call is subscribed only if permission is granted,
+     * otherwise the returned {@link Mono} fails with {@link OpenException} without contacting the service.
+     *
+     * @param call the call to guard, subscribed lazily
+     * @param isFailure decides which errors count as failures of the service; other errors count as successes
+     * @param <T> result type
+     * @return guarded call
+     */
+    public <T> Mono<T> protect(Mono<T> call, Predicate<Throwable> isFailure) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission())
+                return Mono.error(new OpenException(name));
+            return call
+                    .doOnSuccess(result -> onSuccess())
+                    .doOnError(e -> {
+                        if (isFailure.test(e))
+                            onFailure();
+                        else
+                            onSuccess();
+                    })
+                    .doOnCancel(this::onIgnored);
+        });
+    }
+}
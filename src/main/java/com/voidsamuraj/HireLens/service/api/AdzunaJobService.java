@@ -1,15 +1,21 @@
 package com.voidsamuraj.HireLens.service.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.voidsamuraj.HireLens.dto.Adzuna.AdzunaJobDto;
 import com.voidsamuraj.HireLens.dto.Adzuna.AdzunaResponseDto;
+import com.voidsamuraj.HireLens.util.JsonArrayStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -19,7 +25,9 @@ import java.util.Optional;
 /**
  * Service implementation for fetching job listings from Adzuna API.
  *
- * Uses Spring's {@link RestTemplate} to perform HTTP GET requests to Adzuna's job search API.
+ * Uses Spring's {@link RestTemplate} to perform HTTP GET requests to Adzuna's job search API,
+ * and the shared job API {@link WebClient} for the non-blocking {@link #fetchJobsAsync(String, int, int)}.
+ * Non-blocking responses are streamed with {@link JsonArrayStream}, reading the {@code results} array one job at a time.
  * Methods support fetching jobs filtered by query with pagination, and fetching a default batch of jobs.
  *
  * API credentials (app ID and key) are injected from application properties.
@@ -40,7 +48,12 @@ public class AdzunaJobService implements JobService<AdzunaJobDto> {
     @Value("${adzuna.api.id}")
     private String appId;
 
+    private static final String SEARCH_URL = "https://api.adzuna.com/v1/api/jobs/gb/search/{page}"
+            + "?app_id={appId}&app_key={appKey}&results_per_page={perPage}&what={query}";
+
     private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
 
     /**
      * Fetches job listings from Adzuna API matching the search query on the specified page with given size.
@@ -79,6 +92,38 @@ public class AdzunaJobService implements JobService<AdzunaJobDto> {
         }
     }
 
+    /**
+     * Fetches job listings from Adzuna API matching the search query without blocking.
+     *
+     * @param query the search query to filter jobs
+     * @param perPage number of job listings per page
+     * @param pageNumber the page number starting from 1
+     * @return Mono emitting the matching jobs, an empty list if the response has none
+     */
+    @Override
+    public Mono<List<AdzunaJobDto>> fetchJobsAsync(String query, int perPage, int pageNumber) {
+        return streamJobs(query, perPage, pageNumber).collectList();
+    }
+
+    /**
+     * Streams job listings from Adzuna API matching the search query, emitting every job as soon as it is parsed.
+     * The request goes over HTTPS, so it can be multiplexed over HTTP/2, and the query is sent as an encoded URI variable.
+     *
+     * @param query the search query to filter jobs
+     * @param perPage number of job listings per page
+     * @param pageNumber the page number starting from 1
+     * @return Flux emitting the matching jobs in response order
+     */
+    @Override
+    public Flux<AdzunaJobDto> streamJobs(String query, int perPage, int pageNumber) {
+        Flux<DataBuffer> body = webClient.get()
+                .uri(SEARCH_URL, pageNumber, appId, apiKey, perPage, query)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        return JsonArrayStream.elements(body, objectMapper, AdzunaJobDto.class, "results");
+    }
+
     /**
      * Fetches a default batch of 100 jobs from Adzuna API without query filtering.
      *
@@ -2,11 +2,19 @@ package com.voidsamuraj.HireLens.service.api;
 
 
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Interface defining generic job service methods for fetching job listings.
+ * <p>
+ * Blocking methods return an empty list when the source fails; {@link #fetchJobsAsync(String, int, int)}
+ * and {@link #streamJobs(String, int, int)} are their non-blocking variants and signal failures as errors.
+ * </p>
  *
  * @param <T> the type of job DTO handled by the service implementation
  */
@@ -54,4 +62,37 @@ public interface JobService<T> {
         return fetchJobs(query, 100, 1);
     }
 
-}
\ No newline at end of file
+    /**
+     * Non-blocking variant of {@link #fetchJobs(String, int, int)}.
+     * <p>
+     * Implementations backed by the shared job API {@code WebClient} do not hold a thread while waiting for the
+     * source. This default wraps the blocking call and runs it on the bounded elastic scheduler.
+     * </p>
+     *
+     * @param query the search query to filter jobs
+     * @param perPage the maximum number of jobs per page
+     * @param pageNumber the page number starting from 1
+     * @return Mono emitting the filtered job DTOs of type T for the requested page, or an error if the source failed
+     */
+    default Mono<List<T>> fetchJobsAsync(String query, int perPage, int pageNumber) {
+        return Mono.fromCallable(() -> fetchJobs(query, perPage, pageNumber))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Streaming variant of {@link #fetchJobsAsync(String, int, int)}.
+     * <p>
+     * Implementations parsing the response incrementally emit every job as soon as it is read, so a page is never
+     * held in memory both as a response and as DTOs. This default emits the jobs of the whole page once it is fetched.
+     * </p>
+     *
+     * @param query the search query to filter jobs
+     * @param perPage the maximum number of jobs per page
+     * @param pageNumber the page number starting from 1
+     * @return Flux emitting the filtered job DTOs of type T for the requested page, or an error if the source failed
+     */
+    default Flux<T> streamJobs(String query, int perPage, int pageNumber) {
+        return fetchJobsAsync(query, perPage, pageNumber).flatMapIterable(Function.identity());
+    }
+
+}
@@ -1,22 +1,32 @@
 package com.voidsamuraj.HireLens.service.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.voidsamuraj.HireLens.dto.Joinrise.JoinriseJobDto;
+import com.voidsamuraj.HireLens.util.JsonArrayStream;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
  * Service implementation for fetching Joinrise job listings via REST API.
  *
- * Uses {@link RestTemplate} to perform HTTP GET requests to Joinrise's public job API.
+ * Uses {@link RestTemplate} to perform HTTP GET requests to Joinrise's public job API,
+ * and the shared job API {@link WebClient} for the non-blocking {@link #fetchJobsAsync(String, int, int)}.
+ * Non-blocking responses are streamed with {@link JsonArrayStream}, reading the {@code result.jobs} array
+ * one job at a time and filtering every job as soon as it is parsed.
  * Provides methods to fetch jobs with optional keyword filtering and simple pagination
  * as well as to fetch all available jobs.
  *
@@ -33,7 +43,11 @@ import java.util.Optional;
 @Slf4j
 public class JoinriseJobService implements JobService<JoinriseJobDto.RiseJobDto>{
 
+    private static final String PAGE_URL = "https://api.joinrise.io/api/v1/jobs/public?limit={limit}&sortedBy=createdAt&sort=des&page={page}";
+
     private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
 
     /**
      * Fetches Joinrise job listings filtered by query, with pagination.
@@ -48,12 +62,13 @@ public class JoinriseJobService implements JobService<JoinriseJobDto.RiseJobDto>
     @Transactional
 
     public List<JoinriseJobDto.RiseJobDto> fetchJobs(String query, int perPage, int pageNumber) {
+        String[] tokens = tokenize(query);
         try {
             return Optional.ofNullable(restTemplate.getForObject("https://api.joinrise.io/api/v1/jobs/public?limit=" + perPage + "&sortedBy=createdAt&sort=des&page=" + pageNumber, JoinriseJobDto.class))
                     .map(r -> r.getResult().getJobs())
                     .orElse(List.of())
                     .stream()
-                    .filter(it -> matches(it, query))
+                    .filter(it -> matches(it, tokens))
                     .toList();
         }catch (RestClientException e){
             log.error(e.getLocalizedMessage());
@@ -61,6 +76,38 @@ public class JoinriseJobService implements JobService<JoinriseJobDto.RiseJobDto>
         }
     }
 
+    /**
+     * Fetches Joinrise job listings filtered by query, with pagination, without blocking.
+     *
+     * @param query the search query string; if null or blank, no filtering is applied after fetching
+     * @param perPage the number of jobs to fetch per page
+     * @param pageNumber the page number in the Joinrise API pagination
+     * @return Mono emitting the jobs of the page matching the query
+     */
+    @Override
+    public Mono<List<JoinriseJobDto.RiseJobDto>> fetchJobsAsync(String query, int perPage, int pageNumber) {
+        return streamJobs(query, perPage, pageNumber).collectList();
+    }
+
+    /**
+     * Streams Joinrise job listings of a page matching the query, emitting every job as soon as it is parsed.
+     *
+     * @param query the search query string; if null or blank, no filtering is applied
+     * @param perPage the number of jobs to fetch per page
+     * @param pageNumber the page number in the Joinrise API pagination
+     * @return Flux emitting the matching jobs in response order
+     */
+    @Override
+    public Flux<JoinriseJobDto.RiseJobDto> streamJobs(String query, int perPage, int pageNumber) {
+        String[] tokens = tokenize(query);
+        Flux<DataBuffer> body = webClient.get()
+                .uri(PAGE_URL, perPage, pageNumber)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        return JsonArrayStream.elements(body, objectMapper, JoinriseJobDto.RiseJobDto.class, "result", "jobs")
+                .filter(it -> matches(it, tokens));
+    }
+
     /**
      * Fetches all available Joinrise public job listings without filtering or pagination.
      *
@@ -79,27 +126,39 @@ public class JoinriseJobService implements JobService<JoinriseJobDto.RiseJobDto>
         }
     }
 
+    /**
+     * Splits a query into distinct lower-case tokens, once per page instead of once per job.
+     *
+     * @param query the search query string
+     * @return query tokens; empty if the query is null or blank
+     */
+    private static String[] tokenize(String query) {
+        if (query == null || query.isBlank()) return new String[0];
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+")).distinct().toArray(String[]::new);
+    }
+
     /**
      * Checks if a job matches the query by testing if all tokens of the query
      * appear in at least one of the job's title, company name, category, or job type.
      *
      * @param job the job to test
-     * @param query the search query string
+     * @param tokens query tokens from {@link #tokenize(String)}
      * @return true if job matches all query tokens, false otherwise
      */
-    private boolean matches(JoinriseJobDto.RiseJobDto job, String query) {
-        if (query == null || query.isBlank()) return true;
-        String title = job.getTitle() != null ? job.getTitle().toLowerCase() : "";
-        String company = (job.getOwner() != null && job.getOwner().getCompanyName() != null) ? job.getOwner().getCompanyName().toLowerCase() : "";
-        String category = job.getCategory() != null ? job.getCategory().toLowerCase() : "";
-        String jobType = job.getType() != null ? job.getType().toLowerCase() : "";
-
-        String[] tokens = query.toLowerCase().split("\\s+");
+    private boolean matches(JoinriseJobDto.RiseJobDto job, String[] tokens) {
+        if (tokens.length == 0) return true;
+        String title = job.getTitle() != null ? job.getTitle().toLowerCase(Locale.ROOT) : "";
+        String company = (job.getOwner() != null && job.getOwner().getCompanyName() != null) ? job.getOwner().getCompanyName().toLowerCase(Locale.ROOT) : "";
+        String category = job.getCategory() != null ? job.getCategory().toLowerCase(Locale.ROOT) : "";
+        String jobType = job.getType() != null ? job.getType().toLowerCase(Locale.ROOT) : "";
 
-        return Arrays.stream(tokens)
-                .allMatch(token -> title.contains(token)
-                        || company.contains(token)
-                        || category.contains(token)
-                        || jobType.contains(token));
+        for (String token : tokens) {
+            if (!title.contains(token)
+                    && !company.contains(token)
+                    && !category.contains(token)
+                    && !jobType.contains(token))
+                return false;
+        }
+        return true;
     }
 }
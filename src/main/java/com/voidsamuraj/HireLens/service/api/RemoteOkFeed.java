@@ -0,0 +1,174 @@
+package com.voidsamuraj.HireLens.service.api;
+
+import com.voidsamuraj.HireLens.client.remoteok.api.DefaultApi;
+import com.voidsamuraj.HireLens.client.remoteok.dto.Job;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Snapshot of the RemoteOK job feed, shared by all pages of all jobs.
+ * <p>
+ * RemoteOK publishes all its offers as a single JSON array without server-side paging or search, so the feed is
+ * downloaded at most once per {@code remoteok.feed.ttl-seconds} and pages are cut from memory. When the snapshot
+ * expires it is revalidated with a conditional request ({@code If-None-Match} / {@code If-Modified-Since}); a
+ * {@code 304 Not Modified} answer keeps the parsed offers and only renews the snapshot.
+ * </p>
+ *
+ * <p>If a refresh fails, the stale snapshot is served until the next TTL elapses; without any snapshot the
+ * failure is reported as {@link RestClientException}.</p>
+ *
+ * <p>Counter {@code hirelens.remoteok.feed.requests} (tag {@code result} = modified/not_modified/error) is
+ * published through Actuator metrics.</p>
+ *
+ * <p><b>Thread-safety:</b> the snapshot is immutable and published through a volatile field; a refresh is started
+ * under a lock and shared, so concurrent callers of an expired snapshot wait for a single download.</p>
+ */
+@Component
+@Slf4j
+public class RemoteOkFeed {
+
+    /** Parsed feed with the validators of the response it came from. */
+    private record Snapshot(List<Job> jobs, String etag, String lastModified, Instant fetchedAt) {}
+
+    private static final String FEED_PATH = "/api";
+
+    private final DefaultApi apiClient;
+    private final Duration ttl;
+    private final Duration timeout;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Counter modified;
+    private final Counter notModified;
+    private final Counter failed;
+
+    private volatile Snapshot snapshot;
+
+    /** Refresh in progress or last finished; guarded by {@code this}. */
+    private CompletableFuture<Snapshot> refresh;
+
+    /**
+     * Creates the feed and registers its metrics.
+     *
+     * @param apiClient generated RemoteOK client; its {@code WebClient} and base path are used for the requests
+     * @param meterRegistry registry receiving the request counter
+     * @param ttlSeconds time a downloaded feed is served before it is revalidated
+     * @param timeoutSeconds maximum time of a feed request
+     */
+    public RemoteOkFeed(DefaultApi apiClient,
+                        MeterRegistry meterRegistry,
+                        @Value("${remoteok.feed.ttl-seconds:600}") long ttlSeconds,
+                        @Value("${remoteok.feed.timeout-seconds:30}") long timeoutSeconds) {
+        this.apiClient = apiClient;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        this.modified = Counter.builder("hirelens.remoteok.feed.requests")
+                .tag("result", "modified")
+                .description("RemoteOK feed downloads")
+                .register(meterRegistry);
+        this.notModified = Counter.builder("hirelens.remoteok.feed.requests")
+                .tag("result", "not_modified")
+                .description("RemoteOK feed revalidations answered with 304 Not Modified")
+                .register(meterRegistry);
+        this.failed = Counter.builder("hirelens.remoteok.feed.requests")
+                .tag("result", "error")
+                .description("Failed RemoteOK feed requests")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the offers of the feed, downloading or revalidating it if the snapshot expired.
+     *
+     * @return immutable list of all offers, in feed order
+     * @throws RestClientException if the feed could not be fetched and there is no earlier snapshot
+     */
+    public List<Job> jobs() {
+        return jobsAsync().block();
+    }
+
+    /**
+     * Non-blocking variant of {@link #jobs()}.
+     * <p>
+     * A fresh snapshot is emitted immediately. Otherwise callers share a single refresh; cancelling one of them
+     * (e.g. on a timeout) does not abort the download for the others.
+     * </p>
+     *
+     * @return Mono emitting the immutable list of all offers, or {@link RestClientException} if the feed could not
+     *         be fetched and there is no earlier snapshot
+     */
+    public Mono<List<Job>> jobsAsync() {
+        Snapshot current = snapshot;
+        if (current != null && isFresh(current))
+            return Mono.just(current.jobs());
+        return Mono.fromFuture(this::refreshing, true).map(Snapshot::jobs);
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current.fetchedAt().plus(ttl).isAfter(clock.instant());
+    }
+
+    /**
+     * Returns the refresh in progress, starting one if the snapshot expired and no refresh is running.
+     *
+     * @return future completed with a fresh snapshot
+     */
+    private synchronized CompletableFuture<Snapshot> refreshing() {
+        Snapshot current = snapshot;
+        if (current != null && isFresh(current))
+            return CompletableFuture.completedFuture(current);
+        if (refresh == null || refresh.isDone())
+            refresh = refresh(current).doOnNext(fetched -> snapshot = fetched).toFuture();
+        return refresh;
+    }
+
+    private Mono<Snapshot> refresh(Snapshot current) {
+        Instant now = clock.instant();
+        return apiClient.getApiClient().getWebClient()
+                .get()
+                .uri(apiClient.getApiClient().getBasePath() + FEED_PATH)
+                .headers(headers -> {
+                    if (current != null && current.etag() != null)
+                        headers.set(HttpHeaders.IF_NONE_MATCH, current.etag());
+                    if (current != null && current.lastModified() != null)
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, current.lastModified());
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value() && current != null) {
+                        notModified.increment();
+                        return response.releaseBody()
+                                .then(Mono.just(new Snapshot(current.jobs(), current.etag(), current.lastModified(), now)));
+                    }
+                    if (response.statusCode().isError())
+                        return response.<Snapshot>createError();
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    return response.bodyToFlux(Job.class).collectList()
+                            .map(jobs -> {
+                                modified.increment();
+                                log.info("Downloaded RemoteOK feed with {} offers", jobs.size());
+                                return new Snapshot(List.copyOf(jobs), headers.getETag(),
+                                        headers.getFirst(HttpHeaders.LAST_MODIFIED), now);
+                            });
+                })
+                .timeout(timeout)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty RemoteOK feed response")))
+                .onErrorResume(e -> {
+                    failed.increment();
+                    if (current == null)
+                        return Mono.error(new RestClientException("RemoteOK feed unavailable: " + e.getMessage(), e));
+                    log.warn("RemoteOK feed refresh failed, serving snapshot from {}: {}", current.fetchedAt(), e.getMessage());
+                    return Mono.just(new Snapshot(current.jobs(), current.etag(), current.lastModified(), now));
+                });
+    }
+}
@@ -1,36 +1,42 @@
 package com.voidsamuraj.HireLens.service.api;
 
-import com.voidsamuraj.HireLens.client.remoteok.api.DefaultApi;
 import com.voidsamuraj.HireLens.client.remoteok.dto.Job;
-import lombok.AllArgsConstructor;
+import com.voidsamuraj.HireLens.util.InvertedIndex;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClientException;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 /**
- * Service implementation for fetching RemoteOK job listings using asynchronous API client.
+ * Service implementation for fetching RemoteOK job listings.
  *
- * Uses a reactive {@link DefaultApi} client to retrieve job listings as {@link  reactor.core.publisher.Flux} streams,
- * then filters and paginates the results according to the search query, page number, and page size.
+ * RemoteOK serves its whole feed at once, so offers are taken from the {@link RemoteOkFeed} snapshot,
+ * downloaded once per TTL, then filtered and paginated in memory according to the search query,
+ * page number, and page size.
  *
  * The fetchJobs method supports keyword filtering by checking if all search tokens
- * appear in the job's title, description, or tags.
+ * appear in the job's title, description, or tags, using an {@link InvertedIndex}
+ * built once per feed snapshot.
  *
  * The fetchAllJobs method returns all available jobs from the RemoteOK API.
  *
- * Both methods block on the reactive streams to return synchronized lists.
+ * Both methods return empty lists if the feed cannot be downloaded.
  */
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 public class RemoteOkService implements JobService<Job>{
 
-    private final DefaultApi apiClient;
+    private final RemoteOkFeed feed;
+
+    /** Index of the last feed snapshot, replaced when the feed is refreshed. */
+    private volatile InvertedIndex<Job> index;
 
     /**
      * Fetches job listings from RemoteOK API filtered by the query, paged by perPage and pageNumber.
@@ -45,21 +51,27 @@ public class RemoteOkService implements JobService<Job>{
     @Transactional
     public List<Job> fetchJobs(String query, int perPage, int pageNumber) {
         try{
-            if (query == null || query.isBlank()) {
-                return apiClient.getJobs().skip((long) (pageNumber-1) *perPage).take(perPage).collectList().block();
-            }
-            return  apiClient.getJobs() // return Flux<T>
-                    .filter(job -> matches(job, query))
-                    .skip((long) perPage *(pageNumber-1))
-                    .take(perPage)
-                    .collectList()
-                    .block();
+            return page(feed.jobs(), query, perPage, pageNumber);
         }catch (RestClientException e){
             log.error(e.getLocalizedMessage());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Fetches job listings from RemoteOK API filtered by the query without blocking.
+     * A fresh feed snapshot is paged immediately; an expired one is refreshed first.
+     *
+     * @param query the search query string; if null or blank, no filtering is applied
+     * @param perPage number of job listings per page
+     * @param pageNumber the page number, starting from 1
+     * @return Mono emitting the jobs matching the query and pagination parameters
+     */
+    @Override
+    public Mono<List<Job>> fetchJobsAsync(String query, int perPage, int pageNumber) {
+        return feed.jobsAsync().map(jobs -> page(jobs, query, perPage, pageNumber));
+    }
+
     /**
      * Fetches all job listings from RemoteOK API.
      *
@@ -69,7 +81,7 @@ public class RemoteOkService implements JobService<Job>{
     @Transactional
     public List<Job> fetchAllJobs() {
         try{
-            return apiClient.getJobs().collectList().block();
+            return feed.jobs();
         }catch (RestClientException e){
             log.error(e.getLocalizedMessage());
             return new ArrayList<>();
@@ -77,29 +89,37 @@ public class RemoteOkService implements JobService<Job>{
     }
 
     /**
-     * Checks if the job matches the search query.
-     * Splits the query into tokens and verifies if all tokens are found
-     * in at least one of title, description, or tags (case-insensitive).
+     * Cuts one page of the offers matching the query.
      *
-     * @param job the job to test
+     * @param jobs offers of the current snapshot
      * @param query the search query string
-     * @return true if the job matches all query tokens, false otherwise
+     * @param perPage number of job listings per page
+     * @param pageNumber the page number, starting from 1
+     * @return offers of the page
      */
-    private boolean matches(Job job, String query) {
-        if (query == null || query.isBlank()) {
-            return true;
-        }
-
-        String title = job.getSlug() != null ? job.getSlug().toLowerCase() : "";
-        String description = job.getDescription() != null ? job.getDescription().toLowerCase() : "";
-        List<String> tags = job.getTags() != null ? job.getTags() : List.of();
-        String[] tokens = query.toLowerCase().split("\\s+");
-        // String position = job.getPosition() != null ? job.getPosition() : "";
-        //String legal = job.getLegal();
-
-        //System.out.println("position: "+position+"      legal: "+legal);
-        return Arrays.stream(tokens)
-                .allMatch(token -> title.contains(token) || description.contains(token)||tags.contains(token));
+    private List<Job> page(List<Job> jobs, String query, int perPage, int pageNumber) {
+        return indexOf(jobs).search(query).stream()
+                .skip((long) perPage *(pageNumber-1))
+                .limit(perPage)
+                .toList();
+    }
 
+    /**
+     * Returns the index of the current feed snapshot, building it once per snapshot.
+     * The index matches a job if all query tokens are found in its title (slug) or
+     * description (case-insensitive), or equal one of its tags.
+     *
+     * @param jobs offers of the current snapshot
+     * @return index over the offers
+     */
+    private InvertedIndex<Job> indexOf(List<Job> jobs) {
+        InvertedIndex<Job> current = index;
+        if (current == null || current.documents() != jobs) {
+            current = new InvertedIndex<>(jobs,
+                    job -> Arrays.asList(job.getSlug(), job.getDescription()),
+                    Job::getTags);
+            index = current;
+        }
+        return current;
     }
-}
\ No newline at end of file
+}
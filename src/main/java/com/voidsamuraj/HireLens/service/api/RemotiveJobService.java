@@ -1,13 +1,19 @@
 package com.voidsamuraj.HireLens.service.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.voidsamuraj.HireLens.dto.Remotive.RemotiveJobDto;
 import com.voidsamuraj.HireLens.dto.Remotive.RemotiveResponseDto;
+import com.voidsamuraj.HireLens.util.JsonArrayStream;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,7 +22,9 @@ import java.util.Optional;
 /**
  * Service implementation for fetching Remotive job listings via REST API.
  *
- * Uses {@link RestTemplate} to perform HTTP GET requests to Remotive's public API.
+ * Uses {@link RestTemplate} to perform HTTP GET requests to Remotive's public API,
+ * and the shared job API {@link WebClient} for the non-blocking {@link #fetchJobsAsync(String, int, int)}.
+ * Non-blocking responses are streamed with {@link JsonArrayStream}, reading the {@code jobs} array one job at a time.
  * Provides methods to fetch jobs matching a query with pagination parameters,
  * as well as to fetch a default set of jobs without query filters.
  *
@@ -28,7 +36,11 @@ import java.util.Optional;
 @Slf4j
 public class RemotiveJobService implements JobService<RemotiveJobDto>{
 
+    private static final String SEARCH_URL = "https://remotive.com/api/remote-jobs?search={query}&limit={limit}";
+
     private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
 
     /**
      * Fetches job listings from Remotive API matching the given query.
@@ -51,6 +63,37 @@ public class RemotiveJobService implements JobService<RemotiveJobDto>{
         }
     }
 
+    /**
+     * Fetches job listings from Remotive API matching the given query without blocking.
+     *
+     * @param query the search query string for filtering job listings
+     * @param perPage the number of jobs to fetch per request
+     * @param pageNumber currently unused (Remotive API does not support page numbers in this call)
+     * @return Mono emitting the matching jobs, an empty list if the response has none
+     */
+    @Override
+    public Mono<List<RemotiveJobDto>> fetchJobsAsync(String query, int perPage, int pageNumber) {
+        return streamJobs(query, perPage, pageNumber).collectList();
+    }
+
+    /**
+     * Streams job listings from Remotive API matching the given query, emitting every job as soon as it is parsed.
+     * The query is sent as an encoded URI variable.
+     *
+     * @param query the search query string for filtering job listings
+     * @param perPage the number of jobs to fetch per request
+     * @param pageNumber currently unused (Remotive API does not support page numbers in this call)
+     * @return Flux emitting the matching jobs in response order
+     */
+    @Override
+    public Flux<RemotiveJobDto> streamJobs(String query, int perPage, int pageNumber) {
+        Flux<DataBuffer> body = webClient.get()
+                .uri(SEARCH_URL, query, perPage)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        return JsonArrayStream.elements(body, objectMapper, RemotiveJobDto.class, "jobs");
+    }
+
     /**
      * Fetches a default list of recent job listings from Remotive API,
      * limited to 100 jobs.
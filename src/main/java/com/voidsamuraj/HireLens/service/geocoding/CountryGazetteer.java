@@ -0,0 +1,271 @@
+package com.voidsamuraj.HireLens.service.geocoding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Offline resolver of location strings to ISO3 country codes.
+ * <p>
+ * Most locations of job offers are country names, country codes, regions ("Europe", "EMEA") or major cities,
+ * often decorated ("Remote - US", "Kraków, Poland"). They are resolved in memory, without any HTTP request,
+ * from an index built on startup from:
+ * </p>
+ * <ul>
+ *   <li>{@link Locale} – ISO2 and ISO3 codes of all countries, their English names and their names in their own
+ *       languages (e.g. "Deutschland", "Polska")</li>
+ *   <li>{@code geocoding/gazetteer.tsv} – aliases, regions mapped to lists of countries, US states, Canadian
+ *       provinces, major cities and subdivisions (state and province codes, "Georgia")</li>
+ * </ul>
+ *
+ * <p>The index maps every phrase, normalized to lower-case words without accents or punctuation, to its countries.
+ * A location is split into words and scanned left to right, matching the longest phrase starting at every word;
+ * words matching no phrase are skipped. Codes ("US", "DEU", "EU") are matched only when written in upper case, so
+ * words such as "it" or "in" are not taken for countries.</p>
+ *
+ * <p>Subdivisions are read only right after a place of their country, so "San Francisco, CA" and
+ * "Atlanta, Georgia" stay in the USA. A state or province code which is also a country code and follows no place
+ * ("Springfield, IL", "Remote, IN") is ambiguous; such locations are left unresolved, for the geocoder.</p>
+ *
+ * <p>Counter {@code hirelens.geocoding.requests} (tag {@code tier} = gazetteer, {@code result} = hit/miss) is
+ * published through Actuator metrics.</p>
+ *
+ * <p><b>Thread-safety:</b> the index is immutable after construction.</p>
+ */
+@Component
+@Slf4j
+public class CountryGazetteer {
+
+    static final String RESOURCE = "/geocoding/gazetteer.tsv";
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    /** Normalized phrase → countries; an empty list marks phrases naming no country. */
+    private final Map<String, List<String>> phrases = new HashMap<>();
+    /** Upper-case code → countries. */
+    private final Map<String, List<String>> codes = new HashMap<>();
+    /** Normalized subdivision name → its country, e.g. "georgia" → USA. */
+    private final Map<String, String> subdivisionNames = new HashMap<>();
+    /** Upper-case subdivision code → its country, e.g. "CA" → USA. */
+    private final Map<String, String> subdivisionCodes = new HashMap<>();
+    private final int maxPhraseWords;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Builds the index from {@link Locale} and the bundled gazetteer.
+     *
+     * @param meterRegistry registry receiving hit and miss counters
+     */
+    public CountryGazetteer(MeterRegistry meterRegistry) {
+        addLocaleNames();
+        try (InputStream in = CountryGazetteer.class.getResourceAsStream(RESOURCE)) {
+            if (in == null)
+                throw new IllegalStateException("Missing gazetteer resource " + RESOURCE);
+            addGazetteer(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read gazetteer resource " + RESOURCE, e);
+        }
+        this.maxPhraseWords = phrases.keySet().stream().mapToInt(p -> p.split(" ").length).max().orElse(1);
+        this.hits = Counter.builder("hirelens.geocoding.requests")
+                .tag("result", "hit").tag("tier", "gazetteer")
+                .description("Locations resolved by the offline gazetteer")
+                .register(meterRegistry);
+        this.misses = Counter.builder("hirelens.geocoding.requests")
+                .tag("result", "miss").tag("tier", "gazetteer")
+                .description("Locations not recognized by the offline gazetteer")
+                .register(meterRegistry);
+        log.info("Country gazetteer loaded with {} phrases and {} codes", phrases.size(), codes.size());
+    }
+
+    /**
+     * Resolves a location to the countries it names.
+     *
+     * @param location raw location string
+     * @return distinct ISO3 codes in order of appearance; an empty list if the location only names no country
+     *         (e.g. "Worldwide"); {@code null} if no part of it is known
+     */
+    public List<String> resolve(String location) {
+        if (location == null || location.isBlank())
+            return null;
+        String[] words = WORD_SEPARATOR.split(stripAccents(location).trim());
+        String[] lowerWords = new String[words.length];
+        for (int i = 0; i < words.length; i++)
+            lowerWords[i] = words[i].toLowerCase(Locale.ROOT);
+
+        Set<String> countries = new LinkedHashSet<>();
+        boolean recognized = false;
+        // countries of the last matched place; subdivisions are read only after a place of their country
+        List<String> lastPlace = null;
+        int i = 0;
+        while (i < words.length) {
+            if (words[i].isEmpty()) {
+                i++;
+                continue;
+            }
+            if (lastPlace != null && lastPlace.size() == 1 && isSubdivisionOf(words[i], lowerWords[i], lastPlace.getFirst())) {
+                i++;
+                continue;
+            }
+            int matchedWords = 0;
+            List<String> matched = null;
+            StringBuilder phrase = new StringBuilder();
+            for (int n = 1; n <= maxPhraseWords && i + n <= words.length; n++) {
+                if (n > 1)
+                    phrase.append(' ');
+                phrase.append(lowerWords[i + n - 1]);
+                List<String> found = phrases.get(phrase.toString());
+                if (found != null) {
+                    matched = found;
+                    matchedWords = n;
+                }
+            }
+            if (matched == null && isUpperCase(words[i])) {
+                matched = codes.get(words[i]);
+                matchedWords = 1;
+                if (matched != null && lastPlace == null && subdivisionCodes.containsKey(words[i])) {
+                    misses.increment();
+                    return null;
+                }
+            }
+            if (matched == null) {
+                i++;
+                continue;
+            }
+            recognized = true;
+            countries.addAll(matched);
+            if (!matched.isEmpty())
+                lastPlace = matched;
+            i += matchedWords;
+        }
+
+        if (!recognized) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return List.copyOf(countries);
+    }
+
+    /**
+     * Normalizes a phrase the same way locations are split and matched.
+     *
+     * @param phrase raw phrase
+     * @return lower-case words without accents, separated by single spaces
+     */
+    static String normalize(String phrase) {
+        return String.join(" ", WORD_SEPARATOR.split(stripAccents(phrase).toLowerCase(Locale.ROOT).trim())).trim();
+    }
+
+    private static String stripAccents(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private boolean isSubdivisionOf(String word, String lowerWord, String country) {
+        String target = isUpperCase(word) ? subdivisionCodes.get(word) : null;
+        if (target == null)
+            target = subdivisionNames.get(lowerWord);
+        return country.equals(target);
+    }
+
+    private static boolean isUpperCase(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isUpperCase(word.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private void addLocaleNames() {
+        for (String iso2 : Locale.getISOCountries()) {
+            Locale country = new Locale.Builder().setRegion(iso2).build();
+            String iso3;
+            try {
+                iso3 = country.getISO3Country();
+            } catch (MissingResourceException e) {
+                continue;
+            }
+            List<String> target = List.of(iso3);
+            codes.put(iso2, target);
+            codes.put(iso3, target);
+            phrases.put(normalize(country.getDisplayCountry(Locale.ENGLISH)), target);
+        }
+        for (Locale locale : Locale.getAvailableLocales()) {
+            if (locale.getCountry().length() != 2)
+                continue;
+            String nativeName = normalize(locale.getDisplayCountry(locale));
+            if (nativeName.length() < 4)
+                continue;
+            try {
+                phrases.putIfAbsent(nativeName, List.of(locale.getISO3Country()));
+            } catch (MissingResourceException ignored) {
+                // countries without an ISO3 code were skipped above as well
+            }
+        }
+    }
+
+    private void addGazetteer(BufferedReader reader) throws IOException {
+        Map<String, List<String>> regions = new HashMap<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#"))
+                continue;
+            String[] columns = line.split("\t");
+            if (columns.length != 2)
+                throw new IllegalStateException("Invalid gazetteer line " + lineNumber + ": " + line);
+            List<String> targets = parseTargets(columns[1].trim(), regions, lineNumber);
+            String name = columns[0].trim();
+            if (name.startsWith("@"))
+                regions.put(name.substring(1), targets);
+            else if (name.startsWith("^"))
+                addSubdivision(name.substring(1), targets, lineNumber);
+            else if (isUpperCase(name))
+                codes.put(name, targets);
+            else
+                phrases.put(normalize(name), targets);
+        }
+    }
+
+    private void addSubdivision(String name, List<String> targets, int lineNumber) {
+        if (targets.size() != 1)
+            throw new IllegalStateException("Subdivision in gazetteer line " + lineNumber + " must name one country");
+        if (isUpperCase(name))
+            subdivisionCodes.put(name, targets.getFirst());
+        else if (name.contains(" "))
+            throw new IllegalStateException("Subdivision in gazetteer line " + lineNumber + " must be a single word");
+        else
+            subdivisionNames.put(normalize(name), targets.getFirst());
+    }
+
+    private static List<String> parseTargets(String column, Map<String, List<String>> regions, int lineNumber) {
+        if (column.equals("*"))
+            return List.of();
+        Set<String> targets = new LinkedHashSet<>();
+        for (String target : column.split(",")) {
+            if (target.startsWith("@")) {
+                List<String> region = regions.get(target.substring(1));
+                if (region == null)
+                    throw new IllegalStateException("Unknown region " + target + " in gazetteer line " + lineNumber);
+                targets.addAll(region);
+            } else {
+                targets.add(target);
+            }
+        }
+        return List.copyOf(targets);
+    }
+}
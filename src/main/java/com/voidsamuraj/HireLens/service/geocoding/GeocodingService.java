@@ -0,0 +1,378 @@
+package com.voidsamuraj.HireLens.service.geocoding;
+
+import com.voidsamuraj.HireLens.entity.GeocodedLocation;
+import com.voidsamuraj.HireLens.repository.GeocodedLocationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Resolves locations to ISO3 country codes through {@link NominatimClient}, caching the results.
+ * <p>
+ * Job offers repeat the same few location strings, while Nominatim answers at most one request per second;
+ * every distinct location should therefore be geocoded once.
+ * </p>
+ *
+ * <p>Tiers:</p>
+ * <ul>
+ *   <li><b>memory</b> – LRU map bounded by {@code geocoding.cache.max-entries}; entries expire after
+ *       {@code geocoding.cache.ttl-minutes}. Locations Nominatim could not resolve are kept here too,
+ *       so they are not retried on every offer.</li>
+ *   <li><b>database</b> – {@code geocoded_location} table of resolved locations, surviving restarts;
+ *       the newest entries are loaded into memory on startup and hits are promoted to memory</li>
+ *   <li><b>remote</b> – Nominatim, rate limited by the client</li>
+ * </ul>
+ *
+ * <p>Concurrent lookups of the same location are coalesced: the first caller queries the database and
+ * Nominatim, the others wait for its result. Failed requests are not cached.</p>
+ *
+ * <p>{@link #resolveLocations(Collection)} resolves a batch at once: distinct locations are looked up in memory,
+ * the rest with a single database query, and the remaining ones remotely by up to
+ * {@code geocoding.batch.parallelism} concurrent lookups, still paced by the client's rate limiter.</p>
+ *
+ * <p>Counters {@code hirelens.geocoding.requests} (tags {@code result} = hit/miss, {@code tier} =
+ * memory/database/remote), {@code hirelens.geocoding.coalesced}, timer {@code hirelens.geocoding.batch}
+ * (tag {@code phase} = cache/remote) and gauge {@code hirelens.geocoding.cache.memory.size} are published
+ * through Actuator metrics.</p>
+ *
+ * <p><b>Thread-safety:</b> the memory tier is guarded by its own monitor; in-flight lookups are kept in a
+ * concurrent map.</p>
+ */
+@Service
+@Slf4j
+public class GeocodingService {
+
+    /** Memory tier value; {@code iso3} is {@code null} for locations without a country. */
+    private record CachedCountry(String iso3, Instant expiresAt) {}
+
+    /** Remote lookup of a single location. */
+    @FunctionalInterface
+    private interface RemoteLookup {
+        Optional<String> lookup() throws InterruptedException;
+    }
+
+    private final NominatimClient client;
+    private final GeocodedLocationRepository repository;
+    private final Clock clock;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final int batchParallelism;
+
+    /** Memory tier in access order, trimmed to {@code maxEntries}. */
+    private final Map<String, CachedCountry> memory;
+    private final Map<String, CompletableFuture<Optional<String>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Timer cacheTime;
+    private final Timer remoteTime;
+
+    /**
+     * Creates the service and registers its metrics.
+     *
+     * @param client geocoding provider
+     * @param repository repository of the database tier
+     * @param meterRegistry registry receiving the cache metrics
+     * @param maxEntries maximum number of locations kept in memory
+     * @param ttlMinutes time a location is kept in memory
+     * @param batchParallelism maximum number of concurrent remote lookups of a batch
+     */
+    public GeocodingService(NominatimClient client,
+                            GeocodedLocationRepository repository,
+                            MeterRegistry meterRegistry,
+                            @Value("${geocoding.cache.max-entries:10000}") int maxEntries,
+                            @Value("${geocoding.cache.ttl-minutes:1440}") long ttlMinutes,
+                            @Value("${geocoding.batch.parallelism:4}") int batchParallelism) {
+        this.client = client;
+        this.repository = repository;
+        this.clock = Clock.systemUTC();
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.batchParallelism = Math.max(1, batchParallelism);
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCountry> eldest) {
+                return size() > GeocodingService.this.maxEntries;
+            }
+        };
+        this.memoryHits = Counter.builder("hirelens.geocoding.requests")
+                .tag("result", "hit").tag("tier", "memory")
+                .description("Locations served from the in-memory cache")
+                .register(meterRegistry);
+        this.databaseHits = Counter.builder("hirelens.geocoding.requests")
+                .tag("result", "hit").tag("tier", "database")
+                .description("Locations served from the database cache")
+                .register(meterRegistry);
+        this.remoteHits = Counter.builder("hirelens.geocoding.requests")
+                .tag("result", "hit").tag("tier", "remote")
+                .description("Locations resolved by the geocoding provider")
+                .register(meterRegistry);
+        this.misses = Counter.builder("hirelens.geocoding.requests")
+                .tag("result", "miss").tag("tier", "remote")
+                .description("Locations the geocoding provider could not resolve or failed on")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("hirelens.geocoding.coalesced")
+                .description("Lookups which waited for a concurrent lookup of the same location")
+                .register(meterRegistry);
+        this.cacheTime = Timer.builder("hirelens.geocoding.batch")
+                .tag("phase", "cache")
+                .description("Time a batch of locations spent in the memory and database lookups")
+                .register(meterRegistry);
+        this.remoteTime = Timer.builder("hirelens.geocoding.batch")
+                .tag("phase", "remote")
+                .description("Time a batch of locations spent in remote lookups")
+                .register(meterRegistry);
+        Gauge.builder("hirelens.geocoding.cache.memory.size", this, GeocodingService::memorySize)
+                .description("Number of locations kept in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the most recently resolved locations from the database into memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<GeocodedLocation> stored;
+        try {
+            stored = repository.findAllByOrderByCreatedAtDesc(PageRequest.of(0, maxEntries));
+        } catch (Exception e) {
+            log.error("Error warming up geocoding cache from db", e);
+            return;
+        }
+        Instant expiresAt = clock.instant().plus(ttl);
+        synchronized (memory) {
+            // oldest first, so the newest entries end up as the most recently used
+            for (int i = stored.size() - 1; i >= 0; i--)
+                memory.put(stored.get(i).getLocationKey(), new CachedCountry(stored.get(i).getIso3(), expiresAt));
+        }
+        log.info("Geocoding cache warmed up with {} locations", stored.size());
+    }
+
+    /**
+     * Normalizes a location so that strings differing only in letter case or whitespace share one key.
+     *
+     * @param location raw location
+     * @return lower-cased location with whitespace runs collapsed to single spaces
+     */
+    public static String normalize(String location) {
+        return location == null ? "" : location.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * Resolves a free-form location.
+     *
+     * @param location location string (city, country, region, etc.)
+     * @return ISO3 country code, or {@code null} if it cannot be resolved
+     */
+    public String resolveLocation(String location) {
+        String key = normalize(location);
+        if (key.isEmpty())
+            return null;
+        return resolve(key, () -> client.search(location.trim()), true);
+    }
+
+    /**
+     * Resolves many free-form locations, geocoding every distinct one at most once.
+     *
+     * @param locations location strings; duplicates and strings differing only in case or whitespace share a lookup
+     * @return ISO3 country codes keyed by the given strings; strings which cannot be resolved are absent
+     */
+    public Map<String, String> resolveLocations(Collection<String> locations) {
+        long started = System.nanoTime();
+        Map<String, List<String>> byKey = new LinkedHashMap<>();
+        for (String location : locations) {
+            String key = normalize(location);
+            if (!key.isEmpty())
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(location);
+        }
+
+        Map<String, String> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        synchronized (memory) {
+            Instant now = clock.instant();
+            for (String key : byKey.keySet()) {
+                CachedCountry cached = memory.get(key);
+                if (cached != null && cached.expiresAt().isAfter(now)) {
+                    memoryHits.increment();
+                    if (cached.iso3() != null)
+                        found.put(key, cached.iso3());
+                } else {
+                    missing.add(key);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            try {
+                for (GeocodedLocation stored : repository.findAllById(missing)) {
+                    databaseHits.increment();
+                    remember(stored.getLocationKey(), stored.getIso3());
+                    found.put(stored.getLocationKey(), stored.getIso3());
+                    missing.remove(stored.getLocationKey());
+                }
+            } catch (Exception e) {
+                log.error("Error reading geocoding cache from db", e);
+            }
+        }
+        cacheTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        if (!missing.isEmpty()) {
+            started = System.nanoTime();
+            found.putAll(resolveRemotely(missing, byKey));
+            remoteTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+
+        Map<String, String> resolved = new HashMap<>();
+        byKey.forEach((key, sharing) -> {
+            String iso3 = found.get(key);
+            if (iso3 != null)
+                sharing.forEach(location -> resolved.put(location, iso3));
+        });
+        return resolved;
+    }
+
+    /**
+     * Resolves coordinates.
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @return ISO3 country code, or {@code null} if it cannot be resolved
+     */
+    public String resolveCoordinates(double lat, double lon) {
+        return resolve("@" + lat + "," + lon, () -> client.reverse(lat, lon), true);
+    }
+
+    /**
+     * Returns the number of locations currently kept in memory.
+     *
+     * @return size of the memory tier
+     */
+    public int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    /**
+     * Looks up locations missing from both cache tiers on virtual threads, at most {@code batchParallelism} at once.
+     */
+    private Map<String, String> resolveRemotely(Set<String> keys, Map<String, List<String>> byKey) {
+        Semaphore permits = new Semaphore(batchParallelism);
+        Map<String, Future<String>> lookups = new HashMap<>();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("geocoding-", 0).factory())) {
+            for (String key : keys) {
+                String location = byKey.get(key).getFirst().trim();
+                lookups.put(key, executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return resolve(key, () -> client.search(location), false);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        Map<String, String> resolved = new HashMap<>();
+        lookups.forEach((key, lookup) -> {
+            if (lookup.state() == Future.State.SUCCESS && lookup.resultNow() != null)
+                resolved.put(key, lookup.resultNow());
+        });
+        return resolved;
+    }
+
+    private String resolve(String key, RemoteLookup remote, boolean checkDatabase) {
+        synchronized (memory) {
+            CachedCountry cached = memory.get(key);
+            if (cached != null) {
+                if (cached.expiresAt().isAfter(clock.instant())) {
+                    memoryHits.increment();
+                    return cached.iso3();
+                }
+                memory.remove(key);
+            }
+        }
+
+        CompletableFuture<Optional<String>> lookup = new CompletableFuture<>();
+        CompletableFuture<Optional<String>> running = inFlight.putIfAbsent(key, lookup);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join().orElse(null);
+            } catch (CompletionException e) {
+                return null;
+            }
+        }
+
+        try {
+            Optional<String> iso3 = lookup(key, remote, checkDatabase);
+            lookup.complete(iso3);
+            return iso3.orElse(null);
+        } catch (RuntimeException e) {
+            lookup.completeExceptionally(e);
+            misses.increment();
+            log.error("Geocoding error for '{}': {}", key, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            lookup.completeExceptionally(e);
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            inFlight.remove(key, lookup);
+        }
+    }
+
+    /**
+     * Looks a location up in the database, unless the caller already did, and then remotely, storing the result
+     * in the cache tiers.
+     */
+    private Optional<String> lookup(String key, RemoteLookup remote, boolean checkDatabase) throws InterruptedException {
+        Optional<GeocodedLocation> stored = Optional.empty();
+        try {
+            if (checkDatabase)
+                stored = repository.findById(key);
+        } catch (Exception e) {
+            log.error("Error reading geocoding cache from db", e);
+        }
+        if (stored.isPresent()) {
+            databaseHits.increment();
+            remember(key, stored.get().getIso3());
+            return Optional.of(stored.get().getIso3());
+        }
+
+        Optional<String> iso3 = remote.lookup();
+        remember(key, iso3.orElse(null));
+        if (iso3.isEmpty()) {
+            misses.increment();
+            return iso3;
+        }
+        remoteHits.increment();
+        try {
+            repository.save(new GeocodedLocation(key, iso3.get(), clock.instant()));
+        } catch (Exception e) {
+            log.error("Error saving geocoding cache in db", e);
+        }
+        return iso3;
+    }
+
+    private void remember(String key, String iso3) {
+        synchronized (memory) {
+            memory.put(key, new CachedCountry(iso3, clock.instant().plus(ttl)));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.voidsamuraj.HireLens.service.geocoding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voidsamuraj.HireLens.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.IllformedLocaleException;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.Optional;
+
+/**
+ * Client of the OpenStreetMap Nominatim geocoding API.
+ * <p>
+ * Nominatim's usage policy allows at most one request per second and requires an identifying
+ * {@code User-Agent}; all requests therefore pass through a shared {@link TokenBucket} configured by
+ * {@code geocoding.nominatim.rate-per-second} and {@code geocoding.nominatim.burst}, blocking the caller
+ * until a request may be sent.
+ * </p>
+ *
+ * <p><b>Thread-safety:</b> instances are stateless apart from the rate limiter and can be shared.</p>
+ */
+@Component
+public class NominatimClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final RestTemplate restTemplate;
+    private final TokenBucket rateLimiter;
+
+    /**
+     * Creates the client.
+     *
+     * @param baseUrl base URL of the Nominatim instance
+     * @param userAgent {@code User-Agent} identifying the application
+     * @param timeoutMs connect and read timeout of a request
+     * @param ratePerSecond maximum number of requests per second
+     * @param burst number of requests which may be sent at once after an idle period
+     */
+    public NominatimClient(@Value("${geocoding.nominatim.base-url:https://nominatim.openstreetmap.org}") String baseUrl,
+                           @Value("${geocoding.nominatim.user-agent:HireLens/1.0}") String userAgent,
+                           @Value("${geocoding.nominatim.timeout-ms:10000}") long timeoutMs,
+                           @Value("${geocoding.nominatim.rate-per-second:1}") double ratePerSecond,
+                           @Value("${geocoding.nominatim.burst:1}") int burst) {
+        this.baseUrl = baseUrl;
+        this.restTemplate = new RestTemplateBuilder()
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .readTimeout(Duration.ofMillis(timeoutMs))
+                .defaultHeader("User-Agent", userAgent)
+                .build();
+        this.rateLimiter = new TokenBucket(ratePerSecond, burst, Clock.systemUTC());
+    }
+
+    /**
+     * Geocodes a free-form location.
+     *
+     * @param location location string (city, country, region, etc.)
+     * @return ISO3 code of the country of the best match, or empty if Nominatim found no country
+     * @throws GeocodingException if the request failed
+     * @throws InterruptedException if interrupted while waiting for the rate limiter
+     */
+    public Optional<String> search(String location) throws InterruptedException {
+        URI uri = UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/search")
+                .queryParam("q", location)
+                .queryParam("format", "json")
+                .queryParam("addressdetails", 1)
+                .queryParam("limit", 1)
+                .encode()
+                .build()
+                .toUri();
+        JsonNode node = get(uri);
+        if (!node.isArray() || node.isEmpty())
+            return Optional.empty();
+        return countryOf(node.get(0));
+    }
+
+    /**
+     * Reverse geocodes coordinates.
+     *
+     * @param lat latitude
+     * @param lon longitude
+     * @return ISO3 code of the country containing the point, or empty if it is in no country
+     * @throws GeocodingException if the request failed
+     * @throws InterruptedException if interrupted while waiting for the rate limiter
+     */
+    public Optional<String> reverse(double lat, double lon) throws InterruptedException {
+        URI uri = UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/reverse")
+                .queryParam("lat", lat)
+                .queryParam("lon", lon)
+                .queryParam("format", "json")
+                .queryParam("addressdetails", 1)
+                .encode()
+                .build()
+                .toUri();
+        return countryOf(get(uri));
+    }
+
+    private JsonNode get(URI uri) throws InterruptedException {
+        rateLimiter.acquire();
+        try {
+            String response = restTemplate.getForObject(uri, String.class);
+            return MAPPER.readTree(response == null ? "null" : response);
+        } catch (RestClientException | IOException e) {
+            throw new GeocodingException("Nominatim request failed: " + uri.getPath(), e);
+        }
+    }
+
+    private static Optional<String> countryOf(JsonNode result) {
+        String code2 = result.path("address").path("country_code").asText("").toUpperCase(Locale.ROOT);
+        return code2.isEmpty() ? Optional.empty() : Optional.ofNullable(toISO3(code2));
+    }
+
+    /**
+     * Converts an ISO2 country code to ISO3.
+     *
+     * @param iso2 ISO2 country code
+     * @return ISO3 country code, or the given code if {@link Locale} does not know it
+     */
+    static String toISO3(String iso2) {
+        if (iso2 == null || iso2.isBlank()) return null;
+        try {
+            Locale locale = new Locale.Builder().setRegion(iso2).build();
+            return locale.getISO3Country();
+        } catch (MissingResourceException | IllformedLocaleException e) {
+            return iso2;
+        }
+    }
+
+    /** Thrown when a request to the geocoding provider fails. */
+    public static class GeocodingException extends RuntimeException {
+        public GeocodingException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.voidsamuraj.HireLens.service.orchestrator;
 
 import com.voidsamuraj.HireLens.dto.aggregation.*;
 import com.voidsamuraj.HireLens.dto.ai.AnalysisResult;
+import com.voidsamuraj.HireLens.entity.ApiName;
 import com.voidsamuraj.HireLens.entity.Groups;
+import com.voidsamuraj.HireLens.entity.IngestionJob;
+import com.voidsamuraj.HireLens.entity.IngestionJobStatus;
 import com.voidsamuraj.HireLens.entity.JobEntity;
 import com.voidsamuraj.HireLens.entity.JobLevel;
 import com.voidsamuraj.HireLens.mapper.JobMapper;
@@ -10,18 +13,27 @@ import com.voidsamuraj.HireLens.mapper.LocationMapper;
 import com.voidsamuraj.HireLens.repository.GroupRepository;
 import com.voidsamuraj.HireLens.repository.JobRepository;
 import com.voidsamuraj.HireLens.service.ai.AiClientService;
+import com.voidsamuraj.HireLens.service.ai.AiResultCache;
 import com.voidsamuraj.HireLens.service.api.*;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Future;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 
@@ -36,6 +48,11 @@ import java.util.stream.Collectors;
  * maps received DTOs to internal {@link JobEntity} objects, aggregates and saves them.
  *
  * Throughout the process, publishes the current state of data download, processing, and persistence operations.
+ *
+ * Jobs and their per-page checkpoints are stored by {@link IngestionJobService}; jobs interrupted by a restart
+ * are resumed from their last checkpoint on startup. Every {@code ingestion.jobs.heartbeat-seconds} the heartbeat
+ * of jobs running here is renewed and interrupted jobs, e.g. left by a stopped node or rejected by a full queue,
+ * are claimed and resumed.
  */
 @Service
 @Slf4j
@@ -50,49 +67,207 @@ public class DownloadDataService {
     private final GroupRepository groupRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final AiClientService aiClientService;
+    private final AiResultCache aiResultCache;
     private final UserJobDataService userJobDataService;
     private final LocationMapper locationMapper;
+    private final JobKeyFilter jobKeyFilter;
+    private final QueryAggregateService queryAggregateService;
+    private final StatusPublisher statusPublisher;
+    private final IngestionJobService ingestionJobService;
+    private final IngestionJobExecutor ingestionJobExecutor;
+    private final PipelineMetrics pipelineMetrics;
+
+
+    /** Error keys reported to the frontend when fetching from a given source fails or times out. */
+    private static final Map<ApiName, String> FETCH_ERROR_KEYS = Map.of(
+            ApiName.REMOTIVE, "fetchRemotiveError",
+            ApiName.REMOTEOK, "fetchRemoteOkError",
+            ApiName.ADZUNA, "fetchAdzunaError",
+            ApiName.JOINRISE, "fetchJoinriseError"
+    );
+
+    /** Maximum time a single page may wait for all sources, after which slow sources are skipped. */
+    @Value("${ingestion.fetch.timeout-seconds:30}")
+    private long fetchTimeoutSeconds;
+
+    /** Maximum number of job offers sent to the AI service at the same time. */
+    @Value("${ai-server.concurrency:4}")
+    private int aiConcurrency;
+
+    /** Capacity of the queue before every pipeline stage, in pages. */
+    @Value("${ingestion.pipeline.queue-capacity:2}")
+    private int pipelineQueueCapacity;
+
+    /** Maximum time a stopped job waits for pipeline workers still finishing a page, e.g. inside a database call. */
+    @Value("${ingestion.pipeline.stop-timeout-seconds:60}")
+    private long pipelineStopTimeoutSeconds;
+
+    /** Number of workers of every pipeline stage. */
+    @Value("${ingestion.pipeline.parallelism.dedup:1}")
+    private int dedupParallelism;
+
+    @Value("${ingestion.pipeline.parallelism.clean:1}")
+    private int cleanParallelism;
+
+    /** Every analyze worker keeps up to {@code ai-server.concurrency} requests in flight. */
+    @Value("${ingestion.pipeline.parallelism.analyze:2}")
+    private int analyzeParallelism;
+
+    /** Kept at 1 by default, so two pages do not ask the AI service to group the same new skills. */
+    @Value("${ingestion.pipeline.parallelism.group:1}")
+    private int groupParallelism;
+
+    @Value("${ingestion.pipeline.parallelism.normalize:1}")
+    private int normalizeParallelism;
+
+    @Value("${ingestion.pipeline.parallelism.persist:1}")
+    private int persistParallelism;
 
+    /** Whether jobs interrupted by a restart are resumed from their last checkpoint on startup. */
+    @Value("${ingestion.jobs.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    /** Time between heartbeats of running jobs; must stay well below {@code ingestion.jobs.lease-seconds}. */
+    @Value("${ingestion.jobs.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
 
     private final ConcurrentHashMap<UUID, Future<?>> activeJobs = new ConcurrentHashMap<>();
+
+    /** Renews heartbeats of running jobs and resumes interrupted ones. */
+    private final ScheduledExecutorService leaseScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ingestion-job-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * Starts a new asynchronous job to download and process remote job data
      * according to the given payload parameters.
+     * The job is stored by {@link IngestionJobService}, so it is resumed if the application restarts before it ends.
      *
      * @param payload the parameters controlling query string and max jobs fetched
      * @return a UUID uniquely identifying this asynchronous job execution
+     * @throws RejectedExecutionException if too many jobs are already running or queued
      */
     public UUID startJob(StartJobPayload payload) {
         UUID jobId = UUID.randomUUID();
-        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+        ingestionJobService.create(jobId, payload);
+        try {
+            submit(jobId, payload, 1, 0);
+        } catch (RejectedExecutionException e) {
+            finishQuietly(jobId, IngestionJobStatus.FAILED);
+            throw e;
+        }
+        return jobId;
+    }
+
+    /**
+     * Resumes jobs interrupted by a restart from their last checkpoint, under their original ids,
+     * so clients that kept the job id reconnect to the same job; then keeps renewing heartbeats of running jobs
+     * and resuming jobs interrupted later.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        leaseScheduler.scheduleWithFixedDelay(this::renewLeases, 0, Math.max(1, heartbeatSeconds), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops renewing heartbeats when the application context is closed, so other nodes can take the jobs over.
+     */
+    @PreDestroy
+    public void shutdown() {
+        leaseScheduler.shutdownNow();
+    }
+
+    private void renewLeases() {
+        try {
+            ingestionJobService.heartbeat(activeJobs.keySet());
+            if (resumeOnStartup)
+                resumeClaimable();
+        } catch (RuntimeException e) {
+            log.warn("Could not renew ingestion job leases", e);
+        }
+    }
+
+    /**
+     * Claims and submits interrupted jobs, oldest first. A job claimed by another node first is skipped;
+     * once the queue is full the claimed job is released and stays interrupted, to be resumed on a later pass.
+     */
+    private void resumeClaimable() {
+        for (UUID jobId : ingestionJobService.findInterrupted()) {
+            if (activeJobs.containsKey(jobId))
+                continue;
+            Optional<IngestionJob> claimed = ingestionJobService.claim(jobId);
+            if (claimed.isEmpty())
+                continue;
+            IngestionJob job = claimed.get();
+            log.info("Resuming job {} ('{}') from page {}", jobId, job.getQuery(), job.getNextPage());
             try {
-                userJobDataService.init(jobId);
-                downloadData(jobId, payload);
-            } catch (Exception e) {
-                log.error("Error starting Job", e);
-                sendCancelled(jobId, "Error starting Job");
-                Thread.currentThread().interrupt();
-            } finally {
-                resetStatus(jobId);
-                activeJobs.remove(jobId);
+                submit(jobId, IngestionJobService.toPayload(job), job.getNextPage(), job.getDownloadedCount());
+            } catch (RejectedExecutionException e) {
+                log.info("Job queue full, job {} will be resumed later", jobId);
+                ingestionJobService.release(jobId);
+                return;
             }
-        });
+        }
+    }
+
+    /**
+     * Runs a job on the {@link IngestionJobExecutor} and records its final state.
+     *
+     * @param jobId the job identifier
+     * @param payload the parameters controlling query string and max jobs fetched
+     * @param firstPage page to start from
+     * @param downloadedBefore number of offers collected on earlier pages
+     * @throws RejectedExecutionException if too many jobs are already running or queued
+     */
+    private void submit(UUID jobId, StartJobPayload payload, int firstPage, int downloadedBefore) {
+        userJobDataService.init(jobId);
+        Future<?> future;
+        try {
+            future = ingestionJobExecutor.submit(() -> runJob(jobId, payload, firstPage, downloadedBefore));
+        } catch (RejectedExecutionException e) {
+            userJobDataService.remove(jobId);
+            throw e;
+        }
         activeJobs.put(jobId, future);
-        return jobId;
+        if (future.isDone())
+            activeJobs.remove(jobId, future);
+    }
+
+    /**
+     * Body of a job: runs it and stores its final state; a job interrupted without cancellation stays resumable.
+     */
+    private void runJob(UUID jobId, StartJobPayload payload, int firstPage, int downloadedBefore) {
+        try {
+            IngestionJobStatus status = downloadData(jobId, payload, firstPage, downloadedBefore);
+            if (status != IngestionJobStatus.RUNNING)
+                ingestionJobService.finish(jobId, status);
+        } catch (Exception e) {
+            log.error("Error starting Job", e);
+            finishQuietly(jobId, IngestionJobStatus.FAILED);
+            sendCancelled(jobId, "Error starting Job");
+            Thread.currentThread().interrupt();
+        } finally {
+            resetStatus(jobId);
+            statusPublisher.remove(jobId);
+            activeJobs.remove(jobId);
+        }
     }
 
     /**
-     * Returns the current aggregates data for the given job ID,
+     * Returns the chart data last published for the given job ID as a full snapshot with its sequence number,
      * unless the job has been interrupted, in which case it returns null.
+     * Clients use it on reconnect or when they detect a gap in chart deltas.
      *
      * @param id the UUID of the job to retrieve the aggregates for
-     * @return the current {@link AggregatesDto} if the job is active; {@code null} if the job has been interrupted
+     * @return full {@code CHART_MAP} message if the job is active; {@code null} if the job has been interrupted
      */
-    public AggregatesDto getRestartData(UUID id){
+    public WsPayload<AggregatesDto> getRestartData(UUID id){
         if(checkIfInterruptedAndReact(id))
             return null;
         else
-            return userJobDataService.getAggregates();
+            return userJobDataService.getPublishedChart(id);
     }
 
     /**
@@ -102,7 +277,7 @@ public class DownloadDataService {
      * If found, it cancels the associated {@link Future} by invoking {@link Future#cancel(boolean)}
      * with {@code true}, which interrupts the executing thread if it is currently running.
      * <p>
-     * Once cancelled, the job is removed from the active job registry and a WebSocket message
+     * Once cancelled, the job is removed from the active job registry, its aggregated data is dropped and a WebSocket message
      * is sent to all subscribed clients to notify them that the job has been cancelled.
      *
      * @param jobId the unique identifier of the job to cancel
@@ -110,9 +285,12 @@ public class DownloadDataService {
     public void stopJob(UUID jobId) {
         Future<?> job = activeJobs.get(jobId);
         if (job != null) {
+            finishQuietly(jobId, IngestionJobStatus.CANCELLED);
             job.cancel(true);
             activeJobs.remove(jobId);
+            userJobDataService.remove(jobId);
             sendCancelled(jobId);
+            statusPublisher.remove(jobId);
         }
     }
 
@@ -129,11 +307,7 @@ public class DownloadDataService {
     private void sendCancelled(UUID jobId) {
         DataUpdateStatus status = new DataUpdateStatus();
         status.setCancelled(true);
-        WsPayload<DataUpdateStatus> cancelled = new WsPayload<>(
-                WsPayload.DataType.STATUS,
-                status
-        );
-        messagingTemplate.convertAndSend("/dataUpdate/" + jobId, cancelled);
+        statusPublisher.publish(jobId, status);
     }
     /**
      * Sends a cancellation notification to all WebSocket clients subscribed to the
@@ -150,247 +324,541 @@ public class DownloadDataService {
         DataUpdateStatus status = new DataUpdateStatus();
         status.setCancelled(true);
         status.setErrorMessage(error);
-        WsPayload<DataUpdateStatus> cancelled = new WsPayload<>(
-                WsPayload.DataType.STATUS,
-                status
-        );
-        messagingTemplate.convertAndSend("/dataUpdate/" + jobId, cancelled);
+        statusPublisher.publish(jobId, status);
     }
     /**
      * Executes the main data download, aggregation, processing, and saving logic asynchronously.
-     * Updates clients on progress via WebSocket messages.
+     * Updates clients on progress via WebSocket messages and stores a checkpoint after every stage of a page.
+     * <p>
+     * Pages flow through a {@link StagedPipeline}: fetch → dedup → clean → analyze → group → normalize → persist.
+     * Stages are connected by queues of {@code ingestion.pipeline.queue-capacity} pages and each one has its own number
+     * of workers ({@code ingestion.pipeline.parallelism.*}), so the next page is fetched while the current one is
+     * analyzed and the previous one is saved. Pages are fetched one after another, because pagination ends at the
+     * first page no source returns anything for.
+     * </p>
      *
      * @param jobId the unique id for tracking job progress and status
      * @param payload the input payload containing query and pagination parameters
+     * @param firstPage page to start from, greater than 1 when resuming
+     * @param downloadedBefore number of offers collected on pages processed before resuming
+     * @return {@code COMPLETED} or {@code FAILED} when the job ended, {@code RUNNING} when it was interrupted
      */
-    private void downloadData(UUID jobId, StartJobPayload payload) {
+    private IngestionJobStatus downloadData(UUID jobId, StartJobPayload payload, int firstPage, int downloadedBefore) {
 
         resetStatus(jobId);
-        List<JobEntity> newJobs = new ArrayList<>();
-        int downloadedCount;
-        List<String> errors = new ArrayList<>();
+        JobProgress progress = new JobProgress(jobId, downloadedBefore);
         // Initialize download count
-        setDownloadingNumber(jobId, 0, 0, 0, 0, 0, "");
-        int pageNumber = 1;
-        int allJobsSize=0;
-        int remotiveCount, remoteOkCount, adzunaCount, joinriseCount;
-        boolean wasEmpty;
-
-        Map<String, Integer> savedLocations  = jobRepository.getLocationCounts(payload.getQuery()).stream()
-                .collect(Collectors.toMap(JobRepository.SkillCount::skill, sc -> sc.total().intValue()));
-        Map<String, SkillData> savedSkills  = jobRepository.getSkillSums(payload.getQuery()).stream()
-                .collect(Collectors.toMap(
-                        JobRepository.SkillProjection::getSkill,
-                        s -> new SkillData(s.getGroupName(), s.getTotalLevel())
-                ));
+        progress.publish(false);
+
+        QueryAggregateService.QueryAggregates saved = queryAggregateService.getAggregates(payload.getQuery());
+
+        userJobDataService.setLocations(jobId, saved.locations());
+        userJobDataService.setSkills(jobId, saved.skills());
+
+        PageTracker tracker = new PageTracker(firstPage, downloadedBefore);
+        Set<String> inFlight = ConcurrentHashMap.newKeySet();
+        int[] nextPage = {firstPage};
+        boolean[] exhausted = {false};
+
+        StagedPipeline<PageBatch> pipeline = new StagedPipeline<PageBatch>(pipelineMetrics, pipelineQueueCapacity,
+                Duration.ofSeconds(pipelineStopTimeoutSeconds))
+                .stage("dedup", dedupParallelism, batch -> dedup(jobId, batch, inFlight, progress))
+                .stage("clean", cleanParallelism, this::clean)
+                .stage("analyze", analyzeParallelism, batch -> analyze(jobId, batch, progress))
+                .stage("group", groupParallelism, batch -> group(jobId, batch))
+                .stage("normalize", normalizeParallelism, batch -> normalize(batch, progress))
+                .stage("persist", persistParallelism, batch -> persist(jobId, batch, progress, tracker));
+        try {
+            // TODO: re-evaluate pagination handling for API calls if needed
+            pipeline.run("fetch", () -> {
+                if (exhausted[0])
+                    return null;
+                PageBatch batch = fetchPage(payload, nextPage[0]++);
+                exhausted[0] = !batch.fetchedAny;
+                progress.errors.addAll(batch.errors);
+                return batch;
+            });
+        } catch (InterruptedException e) {
+            // cancelled by stopJob, which already notified clients, or interrupted by shutdown and resumed later
+            Thread.currentThread().interrupt();
+            return IngestionJobStatus.RUNNING;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof InterruptedException)
+                return IngestionJobStatus.RUNNING;
+            log.error("Error processing jobs", e.getCause());
+            return IngestionJobStatus.FAILED;
+        }
+        updateStatus(jobId, false, false,  0, 0, 0, 0, 0, false, 0, false, "");
+        return IngestionJobStatus.COMPLETED;
+    }
 
-        userJobDataService.setLocations(savedLocations);
-        userJobDataService.setSkills(savedSkills);
+    /**
+     * Offers of a single page passing through the pipeline stages.
+     */
+    private static final class PageBatch {
+        private final int page;
+        /** Offers of the page; only new ones after the dedup stage, only analyzed ones after the analyze stage. */
+        private List<JobEntity> jobs;
+        private final List<String> errors;
+        private final boolean fetchedAny;
+
+        private PageBatch(int page, List<JobEntity> jobs, List<String> errors, boolean fetchedAny) {
+            this.page = page;
+            this.jobs = jobs;
+            this.errors = errors;
+            this.fetchedAny = fetchedAny;
+        }
+    }
 
-        // TODO: re-evaluate pagination handling for API calls if needed
-        do {
-            newJobs.clear();
-            errors.clear();
-            wasEmpty = true;
-            remotiveCount = 0;
-            remoteOkCount = 0;
-            adzunaCount = 0;
-            joinriseCount = 0;
+    /**
+     * Job-wide counters published as status updates; pages of the same job update them from many stages at once.
+     */
+    private final class JobProgress {
+        private final UUID jobId;
+        private final AtomicInteger downloaded;
+        private final AtomicInteger analyzed;
+        private final Map<ApiName, AtomicInteger> sourceCounts = new EnumMap<>(ApiName.class);
+        /** Error keys reported so far, in order of appearance. */
+        private final Set<String> errors = Collections.synchronizedSet(new LinkedHashSet<>());
+        private volatile boolean analyzing;
+
+        private JobProgress(UUID jobId, int downloadedBefore) {
+            this.jobId = jobId;
+            this.downloaded = new AtomicInteger(downloadedBefore);
+            this.analyzed = new AtomicInteger(downloadedBefore);
+            for (ApiName source : ApiName.values())
+                sourceCounts.put(source, new AtomicInteger());
+        }
 
-            try {
-                List<JobEntity> entities = fetchJobsFromService(remotiveJobService, JobMapper::toEntity, payload, pageNumber, errors);
-                if (!entities.isEmpty())
-                    wasEmpty = false;
-                entities = filterJobs(entities);
-                remotiveCount = entities.size();
-                newJobs.addAll(entities);
-            } catch (Exception e) {
-                errors.add("fetchRemotiveError");
-                log.error("Error fetching Remotive jobs", e);
-            }
-            downloadedCount = allJobsSize + newJobs.size();
-            setDownloadingNumber(jobId, downloadedCount, remotiveCount, remoteOkCount, adzunaCount, joinriseCount, String.join(" ", errors));
-            if (checkIfInterruptedAndReact(jobId))
-                return;
-            try {
-                List<JobEntity> entities = fetchJobsFromService(remoteOkJobService, JobMapper::toEntity, payload, pageNumber, errors);
-                if (!entities.isEmpty())
-                    wasEmpty = false;
-                entities = filterJobs(entities);
-                remoteOkCount = entities.size();
-                newJobs.addAll(entities);
-            } catch (Exception e) {
-                errors.add("fetchRemoteOkError");
-                log.error("Error fetching RemoteOk jobs", e);
+        private void publish(boolean savedToDatabase) {
+            String errorCodes;
+            synchronized (errors) {
+                errorCodes = String.join(" ", errors);
             }
-            downloadedCount = allJobsSize + newJobs.size();
-            setDownloadingNumber(jobId, downloadedCount, remotiveCount, remoteOkCount, adzunaCount, joinriseCount, String.join(" ", errors));
-            if (checkIfInterruptedAndReact(jobId))
-                return;
-            try {
-                List<JobEntity> entities = fetchJobsFromService(adzunaJobService, JobMapper::toEntity, payload, pageNumber, errors);
-                if (!entities.isEmpty())
-                    wasEmpty = false;
-                entities = filterJobs(entities);
-                adzunaCount = entities.size();
-                newJobs.addAll(entities);
-            } catch (Exception e) {
-                errors.add("fetchAdzunaError");
-                log.error("Error fetching Adzuna jobs", e);
-            }
-            downloadedCount = allJobsSize + newJobs.size();
-            setDownloadingNumber(jobId, downloadedCount, remotiveCount, remoteOkCount, adzunaCount, joinriseCount, String.join(" ", errors));
-            if (checkIfInterruptedAndReact(jobId))
-                return;
-            try {
-                List<JobEntity> entities = fetchJobsFromService(joinriseJobService, JobMapper::toEntity, payload, pageNumber, errors);
-                if (!entities.isEmpty())
-                    wasEmpty = false;
-                entities = filterJobs(entities);
-                joinriseCount = entities.size();
-                newJobs.addAll(entities);
-            } catch (Exception e) {
-                errors.add("fetchJoinriseError");
-                log.error("Error fetching Joinrise jobs", e);
-            }
-            downloadedCount = allJobsSize + newJobs.size();
-            setDownloadingNumber(jobId, downloadedCount, remotiveCount, remoteOkCount, adzunaCount, joinriseCount, String.join(" ", errors));
-            if (checkIfInterruptedAndReact(jobId))
-                return;
+            updateStatus(jobId, true, true, downloaded.get(),
+                    sourceCounts.get(ApiName.REMOTIVE).get(),
+                    sourceCounts.get(ApiName.REMOTEOK).get(),
+                    sourceCounts.get(ApiName.ADZUNA).get(),
+                    sourceCounts.get(ApiName.JOINRISE).get(),
+                    analyzing, analyzed.get(), savedToDatabase, errorCodes);
+        }
+    }
 
-            newJobs.forEach(it-> it.setDescription(
-                    Jsoup.parse(it.getDescription()).text()
-                            .replaceAll("\\s{2,}", " ").trim()
-            ));
+    /**
+     * Tracks processed pages, so the checkpoint only moves past pages without gaps
+     * even when stages with many workers finish pages out of order.
+     */
+    private final class PageTracker {
+        private final SortedMap<Integer, Integer> processed = new TreeMap<>();
+        private int nextPage;
+        private int downloaded;
+
+        private PageTracker(int firstPage, int downloadedBefore) {
+            this.nextPage = firstPage;
+            this.downloaded = downloadedBefore;
+        }
 
-            try {
-                for (int i = 0; i < newJobs.size(); i++) {
-                    if (checkIfInterruptedAndReact(jobId))
-                        return;
-                    JobEntity job = newJobs.get(i);
-                    String data = String.join(" ",
-                            job.getExperienceLevel() != null ? "Seniority: "+job.getExperienceLevel().name() : "",
-                            job.getTitle(),
-                            job.getDescription()
-                    ).trim();
-                    AnalysisResult result = aiClientService.analyzeJob(data);
-                    job.setSkills(result.getSkills());
-                    job.setExperienceLevel(JobLevel.fromString(result.getSeniority()));
-                    updateStatus(jobId, true, true, downloadedCount, remotiveCount, remoteOkCount, adzunaCount, joinriseCount, true, allJobsSize + i + 1, false, String.join(" ", errors));
-                }
-            } catch (Exception e) {
-                errors.add("aiProcessingError");
-                log.error("Error AI processing jobs", e);
+        /**
+         * Marks a page as processed and stores the new checkpoint, if it moved.
+         *
+         * @param jobId the job identifier
+         * @param page processed page
+         * @param offers number of new offers of the page
+         */
+        private synchronized void complete(UUID jobId, int page, int offers) {
+            processed.put(page, offers);
+            if (!processed.containsKey(nextPage))
                 return;
-            }
+            while (processed.containsKey(nextPage))
+                downloaded += processed.remove(nextPage++);
+            int checkpointPage = nextPage;
+            int checkpointDownloaded = downloaded;
+            checkpoint(jobId, () -> ingestionJobService.advance(jobId, checkpointPage, checkpointDownloaded));
+        }
+    }
 
-            //Get list of all skills from newJobs
-            List<String> skills = newJobs.stream()
-                    .flatMap(job -> job.getSkills().stream())
-                    .map(s -> s.getGroup().getSkill().toLowerCase())
-                    .toList();
+    /**
+     * Dedup stage: drops offers already stored in database or already taken by an earlier page still in the pipeline.
+     * Joinrise offers without an id are kept; they get their id, and are deduplicated, when saved.
+     */
+    private void dedup(UUID jobId, PageBatch batch, Set<String> inFlight, JobProgress progress) {
+        batch.jobs = filterJobs(batch.jobs).stream()
+                .filter(job -> job.getApiId() == null || inFlight.add(job.getApiName() + ":" + job.getApiId()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        Map<ApiName, Integer> sourceCounts = new EnumMap<>(ApiName.class);
+        batch.jobs.forEach(job -> sourceCounts.merge(job.getApiName(), 1, Integer::sum));
+        sourceCounts.forEach((source, count) -> progress.sourceCounts.get(source).addAndGet(count));
+        progress.downloaded.addAndGet(batch.jobs.size());
+        progress.publish(false);
+        checkpoint(jobId, () -> ingestionJobService.recordFetched(jobId, batch.page, sourceCounts));
+    }
 
-            //Search for existing entries in database
-            Map<String, Groups> existingGroupsMap = groupRepository.findExistingGroups(skills).stream()
-                    .collect(Collectors.toMap(
-                            g -> g.getSkill().toLowerCase(),
-                            g -> g
-                    ));
-
-            //get not existing groups
-            List<String> missingSkills = skills.stream()
-                    .filter(skill -> !existingGroupsMap.containsKey(skill.toLowerCase()))
-                    .distinct()
-                    .toList();
+    /**
+     * Clean stage: strips HTML from descriptions.
+     */
+    private void clean(PageBatch batch) {
+        batch.jobs.forEach(it-> it.setDescription(
+                Jsoup.parse(it.getDescription()).text()
+                        .replaceAll("\\s{2,}", " ").trim()
+        ));
+    }
 
-            //assign groups to new skills and save in database
-            Map<String, String> newGroups = missingSkills.isEmpty()
-                    ? Collections.emptyMap()
-                    : aiClientService.groupSkills(missingSkills);
+    /**
+     * Analyze stage: sets skills and experience level with the AI service; offers that could not be analyzed are dropped.
+     */
+    private void analyze(UUID jobId, PageBatch batch, JobProgress progress) throws InterruptedException, ExecutionException {
+        if (batch.jobs.isEmpty())
+            return;
+        progress.analyzing = true;
+        int[] reported = {0};
+        try {
+            analyzeJobs(batch.jobs, processed -> {
+                progress.analyzed.addAndGet(processed - reported[0]);
+                reported[0] = processed;
+                progress.publish(false);
+            });
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            progress.errors.add("aiProcessingError");
+            log.error("Error AI processing jobs", e);
+            throw e;
+        }
+        checkpoint(jobId, () -> ingestionJobService.recordAnalyzed(jobId, batch.page, batch.jobs));
+    }
 
-            if (!newGroups.isEmpty()) {
-                List<Groups> groupsToSave = newGroups.entrySet().stream()
-                        .map(e -> new Groups(e.getKey(), e.getValue()))
-                        .toList();
-                groupRepository.saveAll(groupsToSave);
+    /**
+     * Group stage: assigns skill groups, asking the AI service for skills not grouped yet, and updates chart data.
+     */
+    private void group(UUID jobId, PageBatch batch) {
+        List<JobEntity> newJobs = batch.jobs;
+        if (newJobs.isEmpty())
+            return;
+        //Get list of all skills from newJobs
+        List<String> skills = newJobs.stream()
+                .flatMap(job -> job.getSkills().stream())
+                .map(s -> s.getGroup().getSkill().toLowerCase())
+                .toList();
 
-                newGroups.forEach((skill, groupName) ->
-                        existingGroupsMap.put(skill.toLowerCase(), new Groups(skill, groupName))
-                );
-            }
+        //Search for existing entries in database
+        Map<String, Groups> existingGroupsMap = groupRepository.findExistingGroups(skills).stream()
+                .collect(Collectors.toMap(
+                        g -> g.getSkill().toLowerCase(),
+                        g -> g
+                ));
+
+        //get not existing groups
+        List<String> missingSkills = skills.stream()
+                .filter(skill -> !existingGroupsMap.containsKey(skill.toLowerCase()))
+                .distinct()
+                .toList();
+
+        //assign groups to new skills and save in database
+        Map<String, String> newGroups = missingSkills.isEmpty()
+                ? Collections.emptyMap()
+                : aiClientService.groupSkills(missingSkills);
+
+        if (!newGroups.isEmpty()) {
+            List<Groups> groupsToSave = newGroups.entrySet().stream()
+                    .map(e -> new Groups(e.getKey(), e.getValue()))
+                    .toList();
+            groupRepository.saveAll(groupsToSave);
 
-            //update group data in system(locally)
-            newJobs.forEach(job ->
-                    job.getSkills().forEach(skill -> {
-                        Groups group = existingGroupsMap.get(skill.getGroup().getSkill().toLowerCase());
-                        if (group != null) {
-                            skill.setGroup(group);
-                        }
-                    })
+            newGroups.forEach((skill, groupName) ->
+                    existingGroupsMap.put(skill.toLowerCase(), new Groups(skill, groupName))
             );
+        }
 
-            //Saving data
-            if (!newJobs.isEmpty()) {
-                updateData(jobId, newJobs);
-                try {
-                    locationMapper.normalizeLocations(newJobs);
-                    jobRepository.saveAll(newJobs);
-                    updateStatus(jobId, true, true, downloadedCount, remotiveCount, remoteOkCount, adzunaCount, joinriseCount, true, downloadedCount, true, String.join(" ", errors));
-                } catch (Exception e) {
-                    errors.add("databaseError");
-                    log.error("Error saving jobs in db", e);
-                }
+        //update group data in system(locally)
+        newJobs.forEach(job ->
+                job.getSkills().forEach(skill -> {
+                    Groups group = existingGroupsMap.get(skill.getGroup().getSkill().toLowerCase());
+                    if (group != null) {
+                        skill.setGroup(group);
+                    }
+                })
+        );
+        updateData(jobId, newJobs);
+    }
+
+    /**
+     * Normalize stage: maps offer locations to country codes; a failure fails the job, so the page is not saved
+     * without locations.
+     */
+    private void normalize(PageBatch batch, JobProgress progress) {
+        if (batch.jobs.isEmpty())
+            return;
+        try {
+            locationMapper.normalizeLocations(batch.jobs);
+        } catch (RuntimeException e) {
+            progress.errors.add("locationError");
+            log.error("Error mapping job locations", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Persist stage: saves offers with their aggregates and moves the checkpoint of the job.
+     * Offers saved meanwhile by another job or node are skipped by {@link QueryAggregateService#saveJobs(List)}
+     * and not counted as saved. A failure fails the job before the checkpoint moves past the page.
+     */
+    private void persist(UUID jobId, PageBatch batch, JobProgress progress, PageTracker tracker) {
+        if (!batch.jobs.isEmpty()) {
+            try {
+                List<JobEntity> offered = batch.jobs;
+                batch.jobs = queryAggregateService.saveJobs(offered);
+                jobKeyFilter.addAll(offered);
+            } catch (RuntimeException e) {
+                progress.errors.add("databaseError");
+                log.error("Error saving jobs in db", e);
+                throw e;
             }
-            ++pageNumber;
-            allJobsSize+= newJobs.size();
-        }while(!wasEmpty);
-        updateStatus(jobId, false, false,  0, 0, 0, 0, 0, false, 0, false, "");
+            checkpoint(jobId, () -> ingestionJobService.recordSaved(jobId, batch.page, batch.jobs));
+            progress.publish(true);
+        }
+        tracker.complete(jobId, batch.page, batch.jobs.size());
     }
 
-    private <T>  List<JobEntity> fetchJobsFromService(JobService<T> service, Function<T, JobEntity> mapper,
-                                                      StartJobPayload payload,
-                                                      int pageNumber, List<String> errors) {
+    /**
+     * Stores a checkpoint; a failure is only logged, so the job keeps running and resumes from an older checkpoint.
+     *
+     * @param jobId the job identifier
+     * @param write checkpoint write
+     */
+    private void checkpoint(UUID jobId, Runnable write) {
         try {
-            return  service.fetchJobs(payload.getQuery(), payload.getMaxJobOffers(), pageNumber)
-                    .stream()
-                    .map(mapper)
-                    .toList();
-        } catch (Exception e) {
-            errors.add(service.getClass().getSimpleName() + "Error");
-            log.error("Error fetching jobs from " + service.getClass().getSimpleName(), e);
+            write.run();
+        } catch (RuntimeException e) {
+            log.warn("Could not store checkpoint of job {}", jobId, e);
         }
-        return  new ArrayList<>();
     }
+
     /**
-     *  Filter out jobs which are already in database
-     * @param allJobs - list off jobs to check
-     * @return List of new jobs
+     * Sets the final state of a job, logging instead of failing if it cannot be stored.
+     *
+     * @param jobId the job identifier
+     * @param status final state
      */
-    private List<JobEntity> filterJobs(List<JobEntity> allJobs){
-        List<String> keysToCheck = allJobs.stream()
-                .map(job -> job.getApiName() + ":" + job.getApiId())
-                .toList();
+    private void finishQuietly(UUID jobId, IngestionJobStatus status) {
+        checkpoint(jobId, () -> ingestionJobService.finish(jobId, status));
+    }
 
-        Set<String> existingKeys = jobRepository.findKeysIn(keysToCheck);
+    /**
+     * Fetches a single page from all job sources at the same time and merges the results as they arrive.
+     * <p>
+     * Sources are called through their non-blocking {@link JobService#streamJobs(String, int, int)}, on the
+     * connection pool shared by all jobs, so a page costs as long as the slowest source and waiting for it holds
+     * no thread but the calling one. Sources that fail or do not answer within {@code ingestion.fetch.timeout-seconds}
+     * are cancelled and reported with their error key. When the calling thread is interrupted, all requests still
+     * in flight are cancelled. Offers already stored are dropped later, in the dedup stage.
+     * </p>
+     *
+     * @param payload the input payload containing query and pagination parameters
+     * @param pageNumber the page to fetch, starting from 1
+     * @return offers of all sources, error keys of failed sources and whether any source returned an offer
+     * @throws InterruptedException if the job was cancelled while waiting for sources
+     */
+    private PageBatch fetchPage(StartJobPayload payload, int pageNumber) throws InterruptedException {
+        List<JobEntity> newJobs = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        boolean[] fetchedAny = {false};
+        CompletableFuture<Void> completion = Flux.merge(
+                        fetchSource(ApiName.REMOTIVE, remotiveJobService, JobMapper::toEntity, payload, pageNumber),
+                        fetchSource(ApiName.REMOTEOK, remoteOkJobService, JobMapper::toEntity, payload, pageNumber),
+                        fetchSource(ApiName.ADZUNA, adzunaJobService, JobMapper::toEntity, payload, pageNumber),
+                        fetchSource(ApiName.JOINRISE, joinriseJobService, JobMapper::toEntity, payload, pageNumber))
+                .doOnNext(result -> {
+                    if (result.failed()) {
+                        errors.add(FETCH_ERROR_KEYS.get(result.source()));
+                        return;
+                    }
+                    fetchedAny[0] |= !result.jobs().isEmpty();
+                    newJobs.addAll(result.jobs());
+                })
+                .then()
+                .toFuture();
+        try {
+            completion.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fetching page " + pageNumber + " failed", e.getCause());
+        } finally {
+            completion.cancel(true);
+        }
+        return new PageBatch(pageNumber, newJobs, errors, fetchedAny[0]);
+    }
 
-        return allJobs.stream()
-                .filter(job -> !existingKeys.contains(job.getApiName() + ":" + job.getApiId()))
-                .toList();
+    /**
+     * Fetches one page from a single job source and maps it to entities.
+     * Jobs are streamed from the source and every DTO is mapped as soon as it is parsed, so the DTOs of the page
+     * are not kept in memory together.
+     * Failures and timeouts of the source are logged and turned into a failed result, so other sources are not affected.
+     *
+     * @param source the source being fetched, used in log messages
+     * @param service the job service of that source
+     * @param mapper mapper from the source DTO to {@link JobEntity}
+     * @param payload the input payload containing query and pagination parameters
+     * @param pageNumber the page to fetch, starting from 1
+     * @return Mono emitting offers of that source, or a failed result
+     */
+    private <T> Mono<SourceResult> fetchSource(ApiName source, JobService<T> service, Function<T, JobEntity> mapper,
+                                               StartJobPayload payload, int pageNumber) {
+        return service.streamJobs(payload.getQuery(), payload.getMaxJobOffers(), pageNumber)
+                .map(mapper)
+                .collectList()
+                .map(entities -> {
+                    log.debug("Fetched {} {} jobs from page {}", entities.size(), source, pageNumber);
+                    return new SourceResult(source, entities, false);
+                })
+                .timeout(Duration.ofSeconds(fetchTimeoutSeconds))
+                .onErrorResume(e -> {
+                    if (e instanceof TimeoutException)
+                        log.warn("Fetching {} jobs timed out after {}s", source, fetchTimeoutSeconds);
+                    else
+                        log.error("Error fetching {} jobs", source, e);
+                    return Mono.just(new SourceResult(source, List.of(), true));
+                });
     }
+
     /**
-     * Updates clients with the current download progress by sending WebSocket messages.
+     * Result of fetching one page from a single source.
      *
-     * @param jobId the job identifier
-     * @param downloadedCount the current number of downloaded job offers
-     * @param errorsCodes whether error appeared, then provide keys of error
+     * @param source the source
+     * @param jobs offers of the source
+     * @param failed whether the source failed or timed out
+     */
+    private record SourceResult(ApiName source, List<JobEntity> jobs, boolean failed) {}
+
+    /**
+     * Analyzes the given jobs with the AI service, keeping up to {@code ai-server.concurrency} batch requests in flight.
+     * <p>
+     * Jobs whose normalized text is already in {@link AiResultCache} are resolved without inference,
+     * and identical texts within the page are sent only once. The remaining texts are packed into batches
+     * sized by the AI client (see {@link AiClientService#nextBatchEnd(List, int)}) and composed as non-blocking
+     * calls: batches are generated on demand, so at most {@code ai-server.concurrency} requests are pending
+     * (backpressure), and results are consumed in their original order, keeping {@code onAnalyzed} counts increasing.
+     * Results are handled one batch at a time on a bounded elastic worker, where fresh results are stored in the cache.
+     * Jobs that could not be analyzed are removed from the list, so they are not saved and can be retried later.
+     * The calling thread only waits for completion; when it is interrupted, the whole composition is cancelled,
+     * which aborts all requests still in flight.
+     * </p>
+     *
+     * @param jobs jobs to analyze; skills and experience level are set in place
+     * @param onAnalyzed callback receiving the number of jobs analyzed so far
+     * @throws InterruptedException if the job was cancelled while waiting for the AI service
+     * @throws ExecutionException if analysis of a whole batch failed
      */
-    private void setDownloadingNumber(UUID jobId, int downloadedCount, int remotiveCount, int remoteOkCount, int adzunaCount, int joinriseCount, String errorsCodes){
-        updateStatus(jobId, true, true, downloadedCount, remotiveCount, remoteOkCount, adzunaCount, joinriseCount,false,0,false, errorsCodes);
+    private void analyzeJobs(List<JobEntity> jobs, IntConsumer onAnalyzed) throws InterruptedException, ExecutionException {
+        List<String> hashes = new ArrayList<>(jobs.size());
+        Map<String, String> textsByHash = new LinkedHashMap<>();
+        Map<String, Integer> jobsPerHash = new HashMap<>();
+        for (JobEntity job : jobs) {
+            String text = toAnalysisText(job);
+            String hash = AiResultCache.hash(text);
+            hashes.add(hash);
+            textsByHash.putIfAbsent(hash, text);
+            jobsPerHash.merge(hash, 1, Integer::sum);
+        }
+
+        Map<String, AnalysisResult> results = new HashMap<>(aiResultCache.getAll(textsByHash.keySet()));
+        List<String> missingHashes = textsByHash.keySet().stream()
+                .filter(hash -> !results.containsKey(hash))
+                .toList();
+        List<String> missingTexts = missingHashes.stream().map(textsByHash::get).toList();
+
+        int cached = jobs.size() - missingHashes.stream().mapToInt(jobsPerHash::get).sum();
+        if (cached > 0)
+            onAnalyzed.accept(cached);
+
+        int[] analyzed = {cached};
+        CompletableFuture<Void> completion = Flux.<int[], Integer>generate(() -> 0, (from, sink) -> {
+                    if (from >= missingTexts.size()) {
+                        sink.complete();
+                        return from;
+                    }
+                    int end = aiClientService.nextBatchEnd(missingTexts, from);
+                    sink.next(new int[]{from, end});
+                    return end;
+                })
+                .flatMapSequential(range -> aiClientService.analyzeJobsAsync(missingTexts.subList(range[0], range[1]))
+                                .map(batchResults -> Map.entry(missingHashes.subList(range[0], range[1]), batchResults)),
+                        Math.max(1, aiConcurrency), 1)
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .doOnNext(batch -> {
+                    Map<String, AnalysisResult> fresh = new HashMap<>();
+                    for (int i = 0; i < batch.getKey().size(); i++) {
+                        fresh.put(batch.getKey().get(i), batch.getValue().get(i));
+                        analyzed[0] += jobsPerHash.get(batch.getKey().get(i));
+                    }
+                    aiResultCache.putAll(fresh);
+                    fresh.values().removeIf(Objects::isNull);
+                    results.putAll(fresh);
+                    onAnalyzed.accept(analyzed[0]);
+                })
+                .then()
+                .toFuture();
+        try {
+            completion.get();
+        } finally {
+            completion.cancel(true);
+        }
 
+        Set<JobEntity> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < jobs.size(); i++) {
+            JobEntity job = jobs.get(i);
+            AnalysisResult result = results.get(hashes.get(i));
+            if (result == null) {
+                failed.add(job);
+                continue;
+            }
+            job.setSkills(result.getSkills());
+            job.setExperienceLevel(JobLevel.fromString(result.getSeniority()));
+        }
+        if (!failed.isEmpty()) {
+            log.warn("Skipping {} jobs which could not be analyzed by AI", failed.size());
+            jobs.removeIf(failed::contains);
+        }
     }
 
+    /**
+     * Builds the text sent to the AI service for a single job.
+     *
+     * @param job the job to describe
+     * @return seniority (if known), title and description joined into one string
+     */
+    private static String toAnalysisText(JobEntity job) {
+        return String.join(" ",
+                job.getExperienceLevel() != null ? "Seniority: "+job.getExperienceLevel().name() : "",
+                job.getTitle(),
+                job.getDescription()
+        ).trim();
+    }
+
+    /**
+     *  Filter out jobs which are already in database.
+     *  Jobs reported by {@link JobKeyFilter} as definitely new are kept without a query,
+     *  only possible hits are checked in database.
+     * @param allJobs - list off jobs to check
+     * @return List of new jobs
+     */
+    private List<JobEntity> filterJobs(List<JobEntity> allJobs){
+        Map<ApiName, Set<String>> existingIds = new EnumMap<>(ApiName.class);
+        allJobs.stream()
+                .filter(job -> jobKeyFilter.mightContain(job.getApiName(), job.getApiId()))
+                .collect(Collectors.groupingBy(JobEntity::getApiName,
+                        Collectors.mapping(JobEntity::getApiId, Collectors.toSet())))
+                .forEach((apiName, apiIds) -> {
+                    Set<String> existing = jobRepository.findExistingApiIds(apiName, apiIds);
+                    jobKeyFilter.recordFalsePositives(apiIds.size() - existing.size());
+                    existingIds.put(apiName, existing);
+                });
+
+        return allJobs.stream()
+                .filter(job -> !existingIds.getOrDefault(job.getApiName(), Collections.emptySet()).contains(job.getApiId()))
+                .toList();
+    }
     /**
      * Sends a detailed status update message to the clients listening on the WebSocket channel.
+     * Progress updates are coalesced by {@link StatusPublisher}, so only the latest one per interval is sent.
      *
      * @param jobId the job identifier
      * @param isUpdatingDataWindowVisible controls visibility of the data update window in UI
@@ -415,37 +883,36 @@ public class DownloadDataService {
             boolean savedToDatabase,
             String errorsCodes
     ) {
-        WsPayload<DataUpdateStatus> jobStatus = new WsPayload<>(
-                WsPayload.DataType.STATUS,
-                new DataUpdateStatus(
-                        isUpdatingDataWindowVisible,
-                        isDownloadingData,
-                        downloadedOffersNumber,
-                        remotiveCount,
-                        remoteOkCount,
-                        adzunaCount,
-                        joinriseCount,
-                        isProcessingByAI,
-                        processedByAINumber,
-                        savedToDatabase,
-                        false,
-                        errorsCodes)
-        );
-
-        messagingTemplate.convertAndSend("/dataUpdate/" + jobId, jobStatus);
+        statusPublisher.publish(jobId, new DataUpdateStatus(
+                isUpdatingDataWindowVisible,
+                isDownloadingData,
+                downloadedOffersNumber,
+                remotiveCount,
+                remoteOkCount,
+                adzunaCount,
+                joinriseCount,
+                isProcessingByAI,
+                processedByAINumber,
+                savedToDatabase,
+                false,
+                errorsCodes));
     }
     private void updateData(
             UUID jobId,
             List<JobEntity> jobs
     ) {
-        userJobDataService.addJobs(jobs);
+        userJobDataService.addJobs(jobId, jobs);
         updateData(jobId);
     }
+    /**
+     * Publishes chart data of the job: a full snapshot first, then only changed entries.
+     *
+     * @param jobId the job identifier
+     */
     private void updateData(UUID jobId) {
-        AggregatesDto aDto = userJobDataService.getAggregates();
-        WsPayload<AggregatesDto> jobStatus = new WsPayload<>(WsPayload.DataType.CHART_MAP, aDto);
-
-        messagingTemplate.convertAndSend("/dataUpdate/" + jobId, jobStatus);
+        WsPayload<AggregatesDto> chartUpdate = userJobDataService.nextChartUpdate(jobId);
+        if (chartUpdate != null)
+            messagingTemplate.convertAndSend("/dataUpdate/" + jobId, chartUpdate);
     }
 
 
@@ -455,11 +922,7 @@ public class DownloadDataService {
      * @param jobId the job identifier
      */
     private void resetStatus(UUID jobId) {
-        WsPayload<DataUpdateStatus> jobStatus = new WsPayload<>(
-                WsPayload.DataType.STATUS,
-                new DataUpdateStatus()
-        );
-        messagingTemplate.convertAndSend("/dataUpdate/" + jobId, jobStatus);
+        statusPublisher.publish(jobId, new DataUpdateStatus());
     }
 
     /**
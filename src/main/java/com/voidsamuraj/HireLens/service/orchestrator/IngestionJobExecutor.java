@@ -0,0 +1,102 @@
+package com.voidsamuraj.HireLens.service.orchestrator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.*;
+
+/**
+ * Executor running ingestion jobs, separate from {@link ForkJoinPool#commonPool()}, which parallel streams
+ * elsewhere in the JVM share.
+ * <p>
+ * At most {@code ingestion.jobs.executor.max-running} jobs run at the same time; up to
+ * {@code ingestion.jobs.executor.queue-capacity} more wait in a queue, and further jobs are rejected with
+ * {@link RejectedExecutionException} (admission control). Jobs run on threads named {@code ingestion-job-N}:
+ * </p>
+ * <ul>
+ *   <li><b>virtual</b> (default) – a virtual thread per running job; jobs spend most of their time waiting
+ *       on HTTP and AI calls, so they do not hold a platform thread while blocked</li>
+ *   <li><b>platform</b> – a pool of platform threads</li>
+ * </ul>
+ *
+ * <p>Gauges {@code hirelens.ingestion.jobs.active} and {@code hirelens.ingestion.jobs.queued}, and counters
+ * {@code hirelens.ingestion.jobs.completed} and {@code hirelens.ingestion.jobs.rejected} are published through
+ * Actuator metrics.</p>
+ */
+@Service
+@Slf4j
+public class IngestionJobExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    /**
+     * Creates the executor and registers its metrics.
+     *
+     * @param meterRegistry registry receiving the executor metrics
+     * @param mode {@code virtual} or {@code platform} threads
+     * @param maxRunning maximum number of jobs running at the same time
+     * @param queueCapacity maximum number of jobs waiting to run
+     */
+    public IngestionJobExecutor(MeterRegistry meterRegistry,
+                                @Value("${ingestion.jobs.executor.mode:virtual}") String mode,
+                                @Value("${ingestion.jobs.executor.max-running:4}") int maxRunning,
+                                @Value("${ingestion.jobs.executor.queue-capacity:16}") int queueCapacity) {
+        ThreadFactory threadFactory = switch (mode.toLowerCase(Locale.ROOT)) {
+            case "virtual" -> Thread.ofVirtual().name("ingestion-job-", 0).factory();
+            case "platform" -> Thread.ofPlatform().name("ingestion-job-", 0).daemon(false).factory();
+            default -> throw new IllegalArgumentException("Unknown ingestion.jobs.executor.mode: " + mode);
+        };
+        int running = Math.max(1, maxRunning);
+        this.executor = new ThreadPoolExecutor(running, running, 60, TimeUnit.SECONDS,
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("hirelens.ingestion.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Ingestion jobs running")
+                .register(meterRegistry);
+        Gauge.builder("hirelens.ingestion.jobs.queued", executor, e -> e.getQueue().size())
+                .description("Ingestion jobs waiting for a free slot")
+                .register(meterRegistry);
+        FunctionCounter.builder("hirelens.ingestion.jobs.completed", executor, ThreadPoolExecutor::getCompletedTaskCount)
+                .description("Ingestion jobs finished, successfully or not")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("hirelens.ingestion.jobs.rejected")
+                .description("Ingestion jobs rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Submits a job, queueing it if all slots are busy.
+     *
+     * @param job the job to run
+     * @return future of the job; {@code cancel(true)} interrupts a running job, a cancelled queued job never starts
+     * @throws RejectedExecutionException if the queue is full or the executor was shut down
+     */
+    public Future<?> submit(Runnable job) {
+        try {
+            return executor.submit(job);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Rejected ingestion job, {} running and {} queued", executor.getActiveCount(), executor.getQueue().size());
+            throw e;
+        }
+    }
+
+    /**
+     * Stops running jobs when the application context is closed. Jobs still running stay {@code RUNNING}
+     * in the database and are resumed on the next startup.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,215 @@
+package com.voidsamuraj.HireLens.service.orchestrator;
+
+import com.voidsamuraj.HireLens.dto.aggregation.StartJobPayload;
+import com.voidsamuraj.HireLens.entity.ApiName;
+import com.voidsamuraj.HireLens.entity.IngestionJob;
+import com.voidsamuraj.HireLens.entity.IngestionJobStatus;
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.repository.IngestionJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service keeping ingestion jobs and their checkpoints in the database, so jobs survive a restart.
+ * <p>
+ * Every page of a job goes through three checkpoints, stored per source in {@code ingestion_job_page}:
+ * </p>
+ * <ul>
+ *   <li><b>fetched</b> – number of new offers downloaded</li>
+ *   <li><b>analyzed</b> – number of offers analyzed by AI</li>
+ *   <li><b>saved</b> – number of offers saved to database</li>
+ * </ul>
+ * <p>
+ * Once a page is processed, the job's {@code next_page} moves past it. A job still {@code RUNNING} at startup was
+ * interrupted by a restart and is resumed from {@code next_page}. Offers of the interrupted page are downloaded again,
+ * but the ones already saved are dropped by deduplication, and AI results of the rest are read from the persistent
+ * {@code ai_result_cache}, so no inference is paid for twice.
+ * </p>
+ *
+ * <p><b>Several nodes:</b> every job has an owner, the node running it, which renews its heartbeat with
+ * {@link #heartbeat(Collection)}. A running job without an owner, or whose owner missed heartbeats for
+ * {@code ingestion.jobs.lease-seconds}, is interrupted; a node resumes it only after {@link #claim(UUID)} won it,
+ * so it is never resumed twice. Node ids come from {@code ingestion.jobs.node-id}, random by default.</p>
+ *
+ * <p>Jobs finished more than {@code ingestion.jobs.retention-days} days ago are dropped when looking for
+ * interrupted jobs.</p>
+ */
+@Service
+@Slf4j
+public class IngestionJobService {
+
+    private final IngestionJobRepository ingestionJobRepository;
+    private final int retentionDays;
+    private final String nodeId;
+    private final int leaseSeconds;
+
+    public IngestionJobService(IngestionJobRepository ingestionJobRepository,
+                               @Value("${ingestion.jobs.retention-days:7}") int retentionDays,
+                               @Value("${ingestion.jobs.node-id:${random.uuid}}") String nodeId,
+                               @Value("${ingestion.jobs.lease-seconds:60}") int leaseSeconds) {
+        this.ingestionJobRepository = ingestionJobRepository;
+        this.retentionDays = retentionDays;
+        this.nodeId = nodeId;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * Stores a new running job, owned by this node.
+     *
+     * @param jobId job id
+     * @param payload start parameters of the job
+     */
+    @Transactional
+    public void create(UUID jobId, StartJobPayload payload) {
+        Instant now = Instant.now();
+        ingestionJobRepository.save(IngestionJob.builder()
+                .id(jobId)
+                .query(payload.getQuery())
+                .level(payload.getLevel())
+                .includeUnknown(payload.isIncludeUnknown())
+                .maxJobOffers(payload.getMaxJobOffers())
+                .status(IngestionJobStatus.RUNNING)
+                .nextPage(1)
+                .downloadedCount(0)
+                .owner(nodeId)
+                .heartbeatAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    /**
+     * Records the number of new offers fetched per source on a page.
+     *
+     * @param jobId job id
+     * @param page page number
+     * @param counts number of new offers per source
+     */
+    @Transactional
+    public void recordFetched(UUID jobId, int page, Map<ApiName, Integer> counts) {
+        counts.forEach((source, count) -> ingestionJobRepository.recordFetched(jobId, page, source.name(), count));
+    }
+
+    /**
+     * Records the offers of a page analyzed by AI.
+     *
+     * @param jobId job id
+     * @param page page number
+     * @param jobs analyzed offers
+     */
+    @Transactional
+    public void recordAnalyzed(UUID jobId, int page, List<JobEntity> jobs) {
+        countBySource(jobs).forEach((source, count) -> ingestionJobRepository.recordAnalyzed(jobId, page, source.name(), count));
+    }
+
+    /**
+     * Records the offers of a page saved to database.
+     *
+     * @param jobId job id
+     * @param page page number
+     * @param jobs saved offers
+     */
+    @Transactional
+    public void recordSaved(UUID jobId, int page, List<JobEntity> jobs) {
+        countBySource(jobs).forEach((source, count) -> ingestionJobRepository.recordSaved(jobId, page, source.name(), count));
+    }
+
+    /**
+     * Moves the checkpoint of a job past a processed page.
+     *
+     * @param jobId job id
+     * @param nextPage first page not processed yet
+     * @param downloadedCount number of new offers collected on processed pages
+     */
+    @Transactional
+    public void advance(UUID jobId, int nextPage, int downloadedCount) {
+        ingestionJobRepository.advance(jobId, nextPage, downloadedCount);
+    }
+
+    /**
+     * Sets the final state of a running job; a job that already ended is left unchanged.
+     *
+     * @param jobId job id
+     * @param status final state
+     */
+    @Transactional
+    public void finish(UUID jobId, IngestionJobStatus status) {
+        ingestionJobRepository.finish(jobId, status);
+    }
+
+    /**
+     * Drops old finished jobs and returns the ones interrupted by a restart or left by a stopped node.
+     * The jobs still have to be claimed before they are resumed.
+     *
+     * @return ids of running jobs no node is running, oldest first
+     */
+    @Transactional
+    public List<UUID> findInterrupted() {
+        int dropped = ingestionJobRepository.deleteFinishedFor(retentionDays);
+        if (dropped > 0)
+            log.info("Dropped {} ingestion jobs finished more than {} days ago", dropped, retentionDays);
+        return ingestionJobRepository.findClaimable(leaseSeconds);
+    }
+
+    /**
+     * Makes this node the owner of an interrupted job.
+     *
+     * @param jobId job id
+     * @return the job if this node claimed it; empty if it ended or another node claimed it first
+     */
+    @Transactional
+    public Optional<IngestionJob> claim(UUID jobId) {
+        if (ingestionJobRepository.claim(jobId, nodeId, leaseSeconds) == null)
+            return Optional.empty();
+        return ingestionJobRepository.findById(jobId);
+    }
+
+    /**
+     * Gives up a job claimed by this node without running it, so it can be claimed again right away.
+     *
+     * @param jobId job id
+     */
+    @Transactional
+    public void release(UUID jobId) {
+        ingestionJobRepository.release(jobId, nodeId);
+    }
+
+    /**
+     * Confirms that this node still runs the given jobs.
+     *
+     * @param jobIds ids of the jobs running on this node
+     */
+    @Transactional
+    public void heartbeat(Collection<UUID> jobIds) {
+        if (!jobIds.isEmpty())
+            ingestionJobRepository.heartbeat(jobIds, nodeId);
+    }
+
+    /**
+     * Restores start parameters of a job.
+     *
+     * @param job stored job
+     * @return payload the job was started with
+     */
+    public static StartJobPayload toPayload(IngestionJob job) {
+        StartJobPayload payload = new StartJobPayload();
+        payload.setQuery(job.getQuery());
+        payload.setLevel(job.getLevel());
+        payload.setIncludeUnknown(job.isIncludeUnknown());
+        payload.setMaxJobOffers(job.getMaxJobOffers());
+        return payload;
+    }
+
+    private static Map<ApiName, Integer> countBySource(List<JobEntity> jobs) {
+        return jobs.stream()
+                .filter(job -> job.getApiName() != null)
+                .collect(Collectors.groupingBy(JobEntity::getApiName, () -> new EnumMap<>(ApiName.class),
+                        Collectors.summingInt(job -> 1)));
+    }
+}
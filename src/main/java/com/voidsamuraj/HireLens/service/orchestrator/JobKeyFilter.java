@@ -0,0 +1,191 @@
+package com.voidsamuraj.HireLens.service.orchestrator;
+
+import com.voidsamuraj.HireLens.entity.ApiName;
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.repository.JobRepository;
+import com.voidsamuraj.HireLens.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory Bloom filter over keys ({@code apiName:apiId}) of jobs already stored in the database.
+ * <p>
+ * Lets the dedup step skip the database for offers which were definitely never ingested;
+ * only possible hits have to be confirmed with a query.
+ * </p>
+ *
+ * <p>Lifecycle:</p>
+ * <ul>
+ *   <li><b>warm-up</b> – once the application is ready, all keys of {@code job_entity} are read in pages
+ *       of {@code ingestion.dedup.bloom.warmup-page-size}. Until warm-up finishes, every key is reported
+ *       as a possible hit, so no offer is ever treated as new without a database check.</li>
+ *   <li><b>updates</b> – keys of saved jobs are added with {@link #addAll(Collection)}.</li>
+ * </ul>
+ *
+ * <p><b>Several nodes:</b> the filter only learns about inserts of this node, so offers saved by other nodes
+ * would be reported as definitely new. With {@code ingestion.dedup.bloom.pass-through=true} (default when
+ * {@code websocket.broker.relay.enabled} is set) the filter is never warmed up and every key is a possible hit.
+ * Persisting re-checks stored keys anyway, so a stale filter costs analysis of duplicates, never a failed save.</p>
+ *
+ * <p>Size is derived from {@code ingestion.dedup.bloom.expected-insertions} and
+ * {@code ingestion.dedup.bloom.false-positive-rate}. Counters {@code hirelens.dedup.bloom.lookups}
+ * (tag {@code result} = definite-miss/possible-hit) and {@code hirelens.dedup.bloom.false-positives},
+ * and gauges {@code hirelens.dedup.bloom.memory.bytes}, {@code hirelens.dedup.bloom.keys} and
+ * {@code hirelens.dedup.bloom.expected-fpp} are published through Actuator metrics.</p>
+ *
+ * <p><b>Thread-safety:</b> the underlying {@link BloomFilter} is lock-free; all methods may be called concurrently.</p>
+ */
+@Service
+@Slf4j
+public class JobKeyFilter {
+
+    private final JobRepository jobRepository;
+    private final BloomFilter filter;
+    private final int warmupPageSize;
+    private final boolean passThrough;
+
+    private volatile boolean ready;
+
+    private final Counter definiteMisses;
+    private final Counter possibleHits;
+    private final Counter falsePositives;
+
+    /**
+     * Creates the filter and registers its metrics.
+     *
+     * @param jobRepository repository used for warm-up
+     * @param meterRegistry registry receiving lookup counters and size gauges
+     * @param expectedInsertions number of keys the filter is sized for
+     * @param falsePositiveRate target false positive rate at {@code expectedInsertions}
+     * @param warmupPageSize number of keys read per warm-up query
+     * @param passThrough whether to report every key as a possible hit, for databases shared by several nodes
+     */
+    public JobKeyFilter(JobRepository jobRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${ingestion.dedup.bloom.expected-insertions:1000000}") long expectedInsertions,
+                        @Value("${ingestion.dedup.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                        @Value("${ingestion.dedup.bloom.warmup-page-size:10000}") int warmupPageSize,
+                        @Value("${ingestion.dedup.bloom.pass-through:${websocket.broker.relay.enabled:false}}") boolean passThrough) {
+        this.jobRepository = jobRepository;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.warmupPageSize = Math.max(1, warmupPageSize);
+        this.passThrough = passThrough;
+        this.definiteMisses = Counter.builder("hirelens.dedup.bloom.lookups")
+                .tag("result", "definite-miss")
+                .description("Job keys resolved as new without a database query")
+                .register(meterRegistry);
+        this.possibleHits = Counter.builder("hirelens.dedup.bloom.lookups")
+                .tag("result", "possible-hit")
+                .description("Job keys which had to be confirmed with a database query")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("hirelens.dedup.bloom.false-positives")
+                .description("Possible hits which turned out not to be stored in the database")
+                .register(meterRegistry);
+        Gauge.builder("hirelens.dedup.bloom.memory.bytes", filter, BloomFilter::memoryBytes)
+                .description("Size of the Bloom filter bit array")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("hirelens.dedup.bloom.keys", filter, BloomFilter::insertions)
+                .description("Number of job keys added to the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("hirelens.dedup.bloom.expected-fpp", filter, BloomFilter::expectedFalsePositiveRate)
+                .description("Estimated false positive rate at the current number of keys")
+                .register(meterRegistry);
+        log.info("Job key Bloom filter: {} bytes, {} hash functions, sized for {} keys at fpp {}",
+                filter.memoryBytes(), filter.hashFunctions(), expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Loads keys of all stored jobs into the filter, then starts answering definite misses.
+     * <p>
+     * Keys are read in id order with keyset pagination, so the cost per page does not grow with the table.
+     * If reading fails, or pass-through is configured, the filter stays in pass-through mode and every lookup
+     * goes to the database.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (passThrough) {
+            log.info("Job key filter in pass-through mode, dedup will always query db");
+            return;
+        }
+        long started = System.nanoTime();
+        long afterId = 0;
+        long loaded = 0;
+        try {
+            List<JobRepository.JobKeyProjection> page;
+            do {
+                page = jobRepository.findKeysAfter(afterId, PageRequest.ofSize(warmupPageSize));
+                for (JobRepository.JobKeyProjection key : page)
+                    filter.put(key(key.getApiName(), key.getApiId()));
+                loaded += page.size();
+                if (!page.isEmpty())
+                    afterId = page.getLast().getId();
+            } while (page.size() == warmupPageSize);
+        } catch (Exception e) {
+            log.error("Error warming up job key filter, dedup will always query db", e);
+            return;
+        }
+        ready = true;
+        log.info("Job key filter warmed up with {} keys in {} ms", loaded, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Checks whether a job may already be stored in the database.
+     *
+     * @param apiName source API of the job
+     * @param apiId id of the job in the source API
+     * @return {@code false} if the job is definitely new; {@code true} if it has to be confirmed with the database
+     */
+    public boolean mightContain(ApiName apiName, String apiId) {
+        if (ready && !filter.mightContain(key(apiName, apiId))) {
+            definiteMisses.increment();
+            return false;
+        }
+        possibleHits.increment();
+        return true;
+    }
+
+    /**
+     * Records possible hits which were not found in the database.
+     *
+     * @param count number of false positives
+     */
+    public void recordFalsePositives(int count) {
+        if (ready && count > 0)
+            falsePositives.increment(count);
+    }
+
+    /**
+     * Adds keys of stored jobs. Jobs without {@code apiId} are skipped, their id is assigned by the database.
+     *
+     * @param jobs jobs which have been saved, by this node or by another one
+     */
+    public void addAll(Collection<JobEntity> jobs) {
+        jobs.forEach(job -> {
+            if (job.getApiName() != null && job.getApiId() != null)
+                filter.put(key(job.getApiName(), job.getApiId()));
+        });
+    }
+
+    /**
+     * @return {@code true} once warm-up finished and definite misses are reported
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private static String key(ApiName apiName, String apiId) {
+        return apiName + ":" + apiId;
+    }
+}
@@ -0,0 +1,70 @@
+package com.voidsamuraj.HireLens.service.orchestrator;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics of {@link StagedPipeline} stages, shared by all pipelines running at the same time.
+ * <p>
+ * Timer {@code hirelens.pipeline.stage} (tag {@code stage}) counts processed items and their processing time,
+ * which gives per-stage throughput; gauge {@code hirelens.pipeline.queue.depth} (tag {@code stage}) reports
+ * the number of items waiting for a stage in all running pipelines.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Set<BlockingQueue<?>>> queues = new ConcurrentHashMap<>();
+
+    /**
+     * @param stage name of the stage
+     * @return timer of items processed by the stage
+     */
+    public Timer stageTimer(String stage) {
+        return timers.computeIfAbsent(stage, s -> Timer.builder("hirelens.pipeline.stage")
+                .tag("stage", s)
+                .description("Items processed by an ingestion pipeline stage")
+                .register(meterRegistry));
+    }
+
+    /**
+     * Adds the input queue of a stage of a running pipeline to the queue depth gauge.
+     *
+     * @param stage name of the stage
+     * @param queue input queue of the stage
+     */
+    public void registerQueue(String stage, BlockingQueue<?> queue) {
+        queues.computeIfAbsent(stage, s -> {
+            Set<BlockingQueue<?>> stageQueues = ConcurrentHashMap.newKeySet();
+            Gauge.builder("hirelens.pipeline.queue.depth", stageQueues, q -> q.stream().mapToInt(Collection::size).sum())
+                    .tag("stage", s)
+                    .description("Items waiting for an ingestion pipeline stage")
+                    .register(meterRegistry);
+            return stageQueues;
+        }).add(queue);
+    }
+
+    /**
+     * Removes the queue of a finished pipeline from the queue depth gauge.
+     *
+     * @param stage name of the stage
+     * @param queue input queue of the stage
+     */
+    public void unregisterQueue(String stage, BlockingQueue<?> queue) {
+        Set<BlockingQueue<?>> stageQueues = queues.get(stage);
+        if (stageQueues != null)
+            stageQueues.remove(queue);
+    }
+}
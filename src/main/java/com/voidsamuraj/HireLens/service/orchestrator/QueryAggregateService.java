@@ -0,0 +1,185 @@
+package com.voidsamuraj.HireLens.service.orchestrator;
+
+import com.voidsamuraj.HireLens.dto.aggregation.SkillData;
+import com.voidsamuraj.HireLens.entity.ApiName;
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.repository.JobRepository;
+import com.voidsamuraj.HireLens.repository.QueryAggregateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining skill and location aggregates per full-text query.
+ * <p>
+ * Instead of matching and grouping the whole corpus on every job start, each query gets its own
+ * rollup rows ({@code query_skill_aggregate}, {@code query_location_aggregate}):
+ * </p>
+ * <ul>
+ *   <li><b>first use</b> – the query is registered and its rollups are computed once with a full-text scan</li>
+ *   <li><b>saving jobs</b> – {@link #saveJobs(List)} inserts the jobs and, in the same transaction, adds them to the
+ *       rollups of every registered query they match; only the new rows are matched</li>
+ *   <li><b>later uses</b> – aggregates are read from the rollups</li>
+ * </ul>
+ *
+ * <p>Queries unused for {@code ingestion.aggregates.unused-days} days are dropped, so the per-save update cost
+ * does not grow with abandoned queries.</p>
+ *
+ * <p><b>Consistency:</b> registration takes a transaction-scoped advisory lock exclusively and saves take it shared,
+ * so a query registered while jobs are being saved never misses or double counts those jobs, while saves run side
+ * by side: their rollup updates are {@code ON CONFLICT} upserts. Saves also lock the keys of their jobs, so
+ * concurrent saves of the same offer insert it only once.</p>
+ */
+@Service
+@Slf4j
+public class QueryAggregateService {
+
+    /** Advisory lock key, held exclusively by registration and shared by rollup updates. */
+    private static final long AGGREGATES_LOCK = 0x48694c656e73L;
+
+    private final QueryAggregateRepository queryAggregateRepository;
+    private final JobRepository jobRepository;
+    private final int unusedDays;
+
+    /**
+     * Aggregates of a single query, in the shape expected by {@link UserJobDataService}.
+     *
+     * @param locations number of jobs per candidate-required location
+     * @param skills total level and group per skill
+     */
+    public record QueryAggregates(Map<String, Integer> locations, Map<String, SkillData> skills) {}
+
+    public QueryAggregateService(QueryAggregateRepository queryAggregateRepository,
+                                 JobRepository jobRepository,
+                                 @Value("${ingestion.aggregates.unused-days:30}") int unusedDays) {
+        this.queryAggregateRepository = queryAggregateRepository;
+        this.jobRepository = jobRepository;
+        this.unusedDays = unusedDays;
+    }
+
+    /**
+     * Returns aggregates of all stored jobs matching the query, computing and registering them on first use.
+     *
+     * @param query search query string
+     * @return location counts and skill sums of matching jobs
+     */
+    @Transactional
+    public QueryAggregates getAggregates(String query) {
+        Long queryId = queryAggregateRepository.findIdByQuery(query);
+        if (queryId == null) {
+            queryAggregateRepository.lockAggregates(AGGREGATES_LOCK);
+            queryId = queryAggregateRepository.findIdByQuery(query);
+            if (queryId == null)
+                queryId = register(query);
+        } else {
+            queryAggregateRepository.touch(queryId);
+        }
+
+        Map<String, Integer> locations = queryAggregateRepository.getLocationCounts(queryId).stream()
+                .collect(Collectors.toMap(JobRepository.SkillCount::skill, sc -> sc.total().intValue()));
+        Map<String, SkillData> skills = queryAggregateRepository.getSkillSums(queryId).stream()
+                .collect(Collectors.toMap(
+                        JobRepository.SkillProjection::getSkill,
+                        s -> new SkillData(s.getGroupName(), s.getTotalLevel())
+                ));
+        return new QueryAggregates(locations, skills);
+    }
+
+    /**
+     * Saves new jobs and adds them to the aggregates of every registered query they match.
+     * Both happen in one transaction, so aggregates never include jobs that were not saved.
+     * <p>
+     * Saves lock the keys of their jobs before inserting and skip jobs whose {@code (api_name, api_id)} is already
+     * stored, so jobs saved meanwhile by another ingestion job or another node are dropped instead of violating
+     * {@code uq_api} and rolling back the whole list. Saves of different offers do not wait for each other. Joinrise offers without an id first get the id the
+     * {@code job_entity} trigger would give them, so they are deduplicated like the others.
+     * </p>
+     *
+     * @param jobs new jobs to save
+     * @return jobs actually saved, in the given order
+     */
+    @Transactional
+    public List<JobEntity> saveJobs(List<JobEntity> jobs) {
+        queryAggregateRepository.lockAggregatesShared(AGGREGATES_LOCK);
+        jobs.stream()
+                .filter(job -> job.getApiName() == ApiName.JOINRISE && job.getApiId() == null)
+                .forEach(job -> job.setApiId(contentId(job)));
+        List<String> keys = jobs.stream()
+                .filter(job -> job.getApiId() != null)
+                .map(job -> job.getApiName() + ":" + job.getApiId())
+                .toList();
+        if (!keys.isEmpty())
+            jobRepository.lockKeys(keys);
+        List<JobEntity> newJobs = withoutStored(jobs);
+        if (newJobs.size() < jobs.size())
+            log.debug("Skipped {} jobs already saved", jobs.size() - newJobs.size());
+        if (newJobs.isEmpty())
+            return newJobs;
+        jobRepository.saveAllAndFlush(newJobs);
+        List<Long> ids = newJobs.stream().map(JobEntity::getId).filter(Objects::nonNull).toList();
+        if (!ids.isEmpty()) {
+            queryAggregateRepository.addSkills(ids);
+            queryAggregateRepository.addLocations(ids);
+        }
+        return newJobs;
+    }
+
+    /**
+     * Drops jobs already stored in database and repeated keys within the list; jobs without an id are kept.
+     *
+     * @param jobs jobs to check
+     * @return jobs which can be inserted
+     */
+    private List<JobEntity> withoutStored(List<JobEntity> jobs) {
+        Map<ApiName, Set<String>> existingIds = new EnumMap<>(ApiName.class);
+        jobs.stream()
+                .collect(Collectors.groupingBy(JobEntity::getApiName,
+                        Collectors.mapping(JobEntity::getApiId, Collectors.toSet())))
+                .forEach((apiName, apiIds) -> existingIds.put(apiName, jobRepository.findExistingApiIds(apiName, apiIds)));
+
+        Set<String> seen = new HashSet<>();
+        return jobs.stream()
+                .filter(job -> job.getApiId() == null
+                        || !existingIds.get(job.getApiName()).contains(job.getApiId())
+                        && seen.add(job.getApiName() + ":" + job.getApiId()))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Computes the id the {@code job_entity} insert trigger gives a Joinrise offer without one:
+     * md5 of its title, company name, publication date and description.
+     *
+     * @param job offer without {@code apiId}
+     * @return hex md5 of the offer content
+     */
+    static String contentId(JobEntity job) {
+        String content = Objects.toString(job.getTitle(), "") + Objects.toString(job.getCompanyName(), "")
+                + Objects.toString(job.getPublicationDate(), "") + Objects.toString(job.getDescription(), "");
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    private Long register(String query) {
+        int dropped = queryAggregateRepository.deleteUnusedFor(unusedDays);
+        if (dropped > 0)
+            log.info("Dropped aggregates of {} queries unused for {} days", dropped, unusedDays);
+
+        long started = System.nanoTime();
+        Long queryId = queryAggregateRepository.register(query);
+        int skills = queryAggregateRepository.computeSkills(queryId);
+        int locations = queryAggregateRepository.computeLocations(queryId);
+        log.debug("Computed aggregates of query '{}' ({} skills, {} locations) in {} ms",
+                query, skills, locations, (System.nanoTime() - started) / 1_000_000);
+        return queryId;
+    }
+}
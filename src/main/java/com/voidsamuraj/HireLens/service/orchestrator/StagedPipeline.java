@@ -0,0 +1,222 @@
+package com.voidsamuraj.HireLens.service.orchestrator;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs items through a chain of stages connected by bounded queues.
+ * <p>
+ * A single source thread produces items; every stage has its own number of workers taking items from its input
+ * queue, processing them in place and passing them to the next stage. Queues hold at most {@code queueCapacity}
+ * items, so a slow stage holds back the ones before it (backpressure) while all stages keep working on
+ * different items at the same time. With more than one worker, a stage may pass items on out of order.
+ * </p>
+ *
+ * <p><b>Errors:</b> the first exception thrown by the source or any stage stops the pipeline: all workers are
+ * interrupted and {@link #run(String, Source)} throws it wrapped in {@link ExecutionException}.</p>
+ *
+ * <p><b>Stopping:</b> {@link #run(String, Source)} returns or throws only after all workers have finished, or after
+ * the stop timeout if a worker ignores the interrupt (e.g. inside a database call). So nothing done by the caller
+ * after the pipeline (marking a job cancelled, removing its status) races with a stage still finishing an item.</p>
+ *
+ * <p>A pipeline is built and run once; stage and queue metrics go to the shared {@link PipelineMetrics}.</p>
+ *
+ * @param <T> type of the items
+ */
+@Slf4j
+public class StagedPipeline<T> {
+
+    /** Default maximum time {@link #run(String, Source)} waits for workers to stop. */
+    public static final Duration DEFAULT_STOP_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * Produces items of the pipeline.
+     */
+    @FunctionalInterface
+    public interface Source<T> {
+        /**
+         * @return next item, or {@code null} when there are no more
+         */
+        T next() throws Exception;
+    }
+
+    /**
+     * Processes a single item in place.
+     */
+    @FunctionalInterface
+    public interface Stage<T> {
+        void process(T item) throws Exception;
+    }
+
+    private record StageDefinition<T>(String name, int parallelism, Stage<T> stage) {}
+
+    /** Marks the end of the items in a queue. */
+    private static final Object END = new Object();
+
+    private final PipelineMetrics metrics;
+    private final int queueCapacity;
+    private final Duration stopTimeout;
+    private final List<StageDefinition<T>> stages = new ArrayList<>();
+
+    /**
+     * @param metrics shared stage metrics
+     * @param queueCapacity capacity of the queue before every stage
+     */
+    public StagedPipeline(PipelineMetrics metrics, int queueCapacity) {
+        this(metrics, queueCapacity, DEFAULT_STOP_TIMEOUT);
+    }
+
+    /**
+     * @param metrics shared stage metrics
+     * @param queueCapacity capacity of the queue before every stage
+     * @param stopTimeout maximum time to wait for workers to stop when the pipeline ends or is stopped
+     */
+    public StagedPipeline(PipelineMetrics metrics, int queueCapacity, Duration stopTimeout) {
+        this.metrics = metrics;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.stopTimeout = stopTimeout;
+    }
+
+    /**
+     * Appends a stage.
+     *
+     * @param name name of the stage, used in thread names and metrics
+     * @param parallelism number of workers of the stage
+     * @param stage processing of a single item
+     * @return this pipeline
+     */
+    public StagedPipeline<T> stage(String name, int parallelism, Stage<T> stage) {
+        stages.add(new StageDefinition<>(name, Math.max(1, parallelism), stage));
+        return this;
+    }
+
+    /**
+     * Runs all items of the source through the stages and waits until the last stage has processed them.
+     * When the pipeline is stopped, waits up to the stop timeout for all workers to finish.
+     *
+     * @param sourceName name of the source, used in thread names and metrics
+     * @param source producer of the items
+     * @throws InterruptedException if the calling thread was interrupted; the pipeline is stopped
+     * @throws ExecutionException if the source or a stage failed; the pipeline is stopped
+     */
+    public void run(String sourceName, Source<T> source) throws InterruptedException, ExecutionException {
+        if (stages.isEmpty())
+            throw new IllegalStateException("Pipeline has no stages");
+
+        List<BlockingQueue<Object>> queues = new ArrayList<>();
+        for (StageDefinition<T> stage : stages) {
+            BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+            metrics.registerQueue(stage.name(), queue);
+            queues.add(queue);
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        List<Thread> threads = new ArrayList<>();
+
+        Timer sourceTimer = metrics.stageTimer(sourceName);
+        threads.add(Thread.ofVirtual().name("pipeline-" + sourceName).unstarted(() -> guard(done, () -> {
+            while (true) {
+                long started = System.nanoTime();
+                T item = source.next();
+                if (item == null)
+                    break;
+                sourceTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                queues.get(0).put(item);
+            }
+            queues.get(0).put(END);
+        })));
+
+        for (int i = 0; i < stages.size(); i++) {
+            StageDefinition<T> definition = stages.get(i);
+            BlockingQueue<Object> in = queues.get(i);
+            BlockingQueue<Object> out = i + 1 < stages.size() ? queues.get(i + 1) : null;
+            AtomicInteger running = new AtomicInteger(definition.parallelism());
+            Timer timer = metrics.stageTimer(definition.name());
+            for (int w = 0; w < definition.parallelism(); w++) {
+                threads.add(Thread.ofVirtual().name("pipeline-" + definition.name() + "-" + w).unstarted(() -> guard(done, () -> {
+                    while (true) {
+                        Object taken = in.take();
+                        if (taken == END) {
+                            in.put(END);
+                            break;
+                        }
+                        @SuppressWarnings("unchecked")
+                        T item = (T) taken;
+                        long started = System.nanoTime();
+                        definition.stage().process(item);
+                        timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        if (out != null)
+                            out.put(item);
+                    }
+                    if (running.decrementAndGet() == 0) {
+                        if (out != null)
+                            out.put(END);
+                        else
+                            done.complete(null);
+                    }
+                })));
+            }
+        }
+
+        threads.forEach(Thread::start);
+        try {
+            done.get();
+        } finally {
+            threads.forEach(Thread::interrupt);
+            awaitStopped(threads);
+            for (int i = 0; i < stages.size(); i++)
+                metrics.unregisterQueue(stages.get(i).name(), queues.get(i));
+        }
+    }
+
+    /**
+     * Waits until all threads have finished or the stop timeout elapsed, even if the calling thread is interrupted;
+     * the interrupt status is restored afterwards.
+     *
+     * @param threads workers of the pipeline, already interrupted
+     */
+    private void awaitStopped(List<Thread> threads) {
+        boolean interrupted = Thread.interrupted();
+        long deadline = System.nanoTime() + stopTimeout.toNanos();
+        try {
+            for (Thread thread : threads) {
+                while (thread.isAlive()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        log.warn("Pipeline worker {} did not stop within {}", thread.getName(), stopTimeout);
+                        return;
+                    }
+                    try {
+                        thread.join(Duration.ofNanos(remaining));
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs a worker, failing the whole pipeline on its first exception.
+     */
+    private static void guard(CompletableFuture<Void> done, Work work) {
+        try {
+            work.run();
+        } catch (Throwable e) {
+            done.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.voidsamuraj.HireLens.service.orchestrator;
+
+import com.voidsamuraj.HireLens.dto.aggregation.DataUpdateStatus;
+import com.voidsamuraj.HireLens.dto.aggregation.WsPayload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Publishes {@link DataUpdateStatus} messages of running jobs to {@code /dataUpdate/{jobId}}, coalescing rapid updates.
+ * <p>
+ * At most one status frame per job is sent every {@code ingestion.status.min-interval-ms}. Updates arriving in between
+ * replace each other and only the latest one is sent when the interval elapses, so broker and serialization load
+ * stays constant no matter how fast offers are processed. Terminal states – cancelled (also with an error),
+ * saved to database and the final reset – are sent immediately and drop any update still waiting.
+ * </p>
+ *
+ * <p>Counters {@code hirelens.status.messages} (tag {@code result} = sent/coalesced) are published through
+ * Actuator metrics.</p>
+ *
+ * <p><b>Thread-safety:</b> each job has its own monitor, so updates of one job are sent in order
+ * and jobs do not block each other.</p>
+ */
+@Service
+@Slf4j
+public class StatusPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long intervalNanos;
+    private final Map<UUID, JobStatus> jobs = new ConcurrentHashMap<>();
+
+    /** Sends updates that waited for the end of their interval. */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "status-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter sent;
+    private final Counter coalesced;
+
+    /**
+     * Status publishing state of a single job; guarded by its own monitor.
+     */
+    private static final class JobStatus {
+        /** Latest update not sent yet. */
+        private DataUpdateStatus pending;
+        private long lastSent;
+        private boolean sentAny;
+        private boolean flushScheduled;
+    }
+
+    /**
+     * Creates the publisher and registers its metrics.
+     *
+     * @param messagingTemplate template sending messages to WebSocket subscribers
+     * @param meterRegistry registry receiving sent and coalesced counters
+     * @param minIntervalMs minimum time between two status frames of a job; {@code 0} sends every update
+     */
+    public StatusPublisher(SimpMessagingTemplate messagingTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${ingestion.status.min-interval-ms:250}") long minIntervalMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.intervalNanos = Duration.ofMillis(Math.max(0, minIntervalMs)).toNanos();
+        this.sent = Counter.builder("hirelens.status.messages")
+                .tag("result", "sent")
+                .description("Status frames sent to WebSocket subscribers")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("hirelens.status.messages")
+                .tag("result", "coalesced")
+                .description("Status updates replaced by a newer one before being sent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stops the scheduler when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Publishes a status update of a job.
+     * <p>
+     * Terminal states and the first update after a quiet interval are sent right away;
+     * other updates are sent at the end of the current interval, latest one wins.
+     * </p>
+     *
+     * @param jobId the job identifier
+     * @param status current status of the job
+     */
+    public void publish(UUID jobId, DataUpdateStatus status) {
+        JobStatus state = jobs.computeIfAbsent(jobId, id -> new JobStatus());
+        synchronized (state) {
+            long now = System.nanoTime();
+            long elapsed = now - state.lastSent;
+            if (isTerminal(status) || !state.sentAny || elapsed >= intervalNanos) {
+                if (state.pending != null)
+                    coalesced.increment();
+                state.pending = null;
+                send(jobId, state, status, now);
+                return;
+            }
+            if (state.pending != null)
+                coalesced.increment();
+            state.pending = status;
+            if (!state.flushScheduled) {
+                state.flushScheduled = true;
+                try {
+                    scheduler.schedule(() -> flush(jobId, state), intervalNanos - elapsed, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    log.debug("Status publisher stopped, dropping update of job {}", jobId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the publishing state of a finished job. Should be called after its last status.
+     *
+     * @param jobId the job identifier
+     */
+    public void remove(UUID jobId) {
+        jobs.remove(jobId);
+    }
+
+    /**
+     * @param status status to check
+     * @return {@code true} if the status ends a job or one of its stages and must not be delayed
+     */
+    static boolean isTerminal(DataUpdateStatus status) {
+        return status.isCancelled() || status.isSavedToDatabase() || !status.isUpdatingDataWindowVisible();
+    }
+
+    private void flush(UUID jobId, JobStatus state) {
+        synchronized (state) {
+            state.flushScheduled = false;
+            if (state.pending == null)
+                return;
+            DataUpdateStatus status = state.pending;
+            state.pending = null;
+            send(jobId, state, status, System.nanoTime());
+        }
+    }
+
+    private void send(UUID jobId, JobStatus state, DataUpdateStatus status, long now) {
+        state.lastSent = now;
+        state.sentAny = true;
+        messagingTemplate.convertAndSend("/dataUpdate/" + jobId, new WsPayload<>(WsPayload.DataType.STATUS, status));
+        sent.increment();
+    }
+}
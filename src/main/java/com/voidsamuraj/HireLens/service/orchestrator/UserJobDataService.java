@@ -4,102 +4,221 @@ import com.voidsamuraj.HireLens.dto.aggregation.AggregatesDto;
 import com.voidsamuraj.HireLens.dto.aggregation.SkillData;
 import com.voidsamuraj.HireLens.entity.JobEntity;
 import com.voidsamuraj.HireLens.dto.aggregation.UserJobsData;
-import com.voidsamuraj.HireLens.service.ai.AiClientService;
-import lombok.RequiredArgsConstructor;
+import com.voidsamuraj.HireLens.dto.aggregation.WsPayload;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 
 /**
- * Service responsible for managing the lifecycle and content of the current {@link UserJobsData} instance.
+ * Service responsible for managing the lifecycle and content of {@link UserJobsData} instances, one per job.
  * <p>
- * This service is designed for single-user or single-task applications.
- * It acts as an in-memory container that stores job-related data aggregated during
- * data download or processing (e.g., job offers, category counts, location stats).
+ * It acts as an in-memory registry that stores job-related data aggregated during
+ * data download or processing (e.g., job offers, category counts, location stats),
+ * keyed by the job id, so many users can run analyses in parallel without sharing aggregates.
  * </p>
  *
  * <p>
  * Typical usage:
  * <ul>
  *   <li>Initialize a new data session using {@link #init(UUID jobId)} before starting a new download task.</li>
- *   <li>Add new jobs incrementally using {@link #addJobs(List)} during batch processing.</li>
- *   <li>Access current aggregated results using .</li>
+ *   <li>Add new jobs incrementally using {@link #addJobs(UUID, List)} during batch processing.</li>
+ *   <li>Access current aggregated results using {@link #getAggregates(UUID)}.</li>
  * </ul>
  * </p>
  *
- * <p><b>Thread-safety:</b> The underlying {@link UserJobsData} structure uses concurrent maps,
- * so it is safe for use from multiple threads in most single-user scenarios.</p>
+ * <p><b>Eviction:</b> sessions not accessed for {@code user-data.session-ttl-minutes} are dropped, and when more than
+ * {@code user-data.max-sessions} exist, the least recently accessed ones are dropped first. Running jobs touch
+ * their session on every update, so only idle sessions are normally evicted. Gauge {@code hirelens.user-data.sessions}
+ * reports the number of sessions kept in memory.</p>
+ *
+ * <p><b>Thread-safety:</b> sessions are kept in a {@link ConcurrentHashMap}, and each {@link UserJobsData}
+ * aggregates updates without locking.</p>
  */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class UserJobDataService {
-    private final AiClientService aiClientService;
+
+    private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSessions;
 
     /**
-     * The current active job data instance for this application session.
-     * Only one data set is kept in memory at a time.
+     * Data of a single job together with the time it was last accessed
+     * and the chart state last published to its subscribers.
      */
-    private UserJobsData currentData;
+    private static final class Session {
+        private final UserJobsData data;
+        private volatile long lastAccess = System.nanoTime();
+        /** Snapshot sent in the last chart message; guarded by the session monitor. */
+        private AggregatesDto published;
+        /** Sequence number of the last chart message; guarded by the session monitor. */
+        private long sequence;
+
+        private Session(UserJobsData data) {
+            this.data = data;
+        }
+
+        private UserJobsData touch() {
+            lastAccess = System.nanoTime();
+            return data;
+        }
+    }
 
     /**
-     * Initializes a new {@link UserJobsData} instance, clearing old one and assigns it as the current active dataset.
+     * Creates the registry and registers its metrics.
+     *
+     * @param meterRegistry registry receiving the session count gauge
+     * @param ttlMinutes time after which an idle session is dropped
+     * @param maxSessions maximum number of sessions kept in memory
+     */
+    public UserJobDataService(MeterRegistry meterRegistry,
+                              @Value("${user-data.session-ttl-minutes:60}") long ttlMinutes,
+                              @Value("${user-data.max-sessions:100}") int maxSessions) {
+        this.ttlNanos = Duration.ofMinutes(ttlMinutes).toNanos();
+        this.maxSessions = Math.max(1, maxSessions);
+        Gauge.builder("hirelens.user-data.sessions", sessions, Map::size)
+                .description("Number of job data sessions kept in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates a new {@link UserJobsData} instance for the job, replacing an old one with the same id,
+     * and evicts expired sessions.
      * <p>
      * This method should be called before any data download or aggregation begins.
      * </p>
      * @param jobId job id associated with dataset
      */
     public void init(UUID jobId) {
-        this.currentData = new UserJobsData(jobId);
+        sessions.put(jobId, new Session(new UserJobsData(jobId)));
+        evict();
+    }
+
+    /**
+     * Drops the session of a job.
+     *
+     * @param jobId job id associated with dataset
+     */
+    public void remove(UUID jobId) {
+        sessions.remove(jobId);
     }
 
     /**
      * Returns the map of locations and their occurrence counts.
      *
-     * @return Map of locations and their occurrence counts.
+     * @param jobId job id associated with dataset
+     * @return Map of locations and their occurrence counts, or {@code null} if the job has no session.
      */
-    public Map<String,Integer> getLocationsCount() {
-        return (currentData != null) ? currentData.getLocationsCount() : null;
+    public Map<String,Integer> getLocationsCount(UUID jobId) {
+        UserJobsData data = get(jobId);
+        return (data != null) ? data.getLocationsCount() : null;
     }
 
     /**
      * Returns the map of categories/skills their occurrence counts and associated group.
      *
-     * @return Map of categories/skills their occurrence counts and associated group.
+     * @param jobId job id associated with dataset
+     * @return Map of categories/skills their occurrence counts and associated group, or {@code null} if the job has no session.
      */
-    public Map<String, SkillData> getSkillsData() {
-        return (currentData != null) ? currentData.getSkillsData() : null;
+    public Map<String, SkillData> getSkillsData(UUID jobId) {
+        UserJobsData data = get(jobId);
+        return (data != null) ? data.getSkillsData() : null;
     }
 
-    public AggregatesDto getAggregates(){
-        return (currentData != null) ? currentData.getAggregates() : null;
-        //return currentData.getAggregates();
+    /**
+     * Returns aggregates of a job.
+     *
+     * @param jobId job id associated with dataset
+     * @return current {@link AggregatesDto}, or {@code null} if the job has no session
+     */
+    public AggregatesDto getAggregates(UUID jobId){
+        UserJobsData data = get(jobId);
+        return (data != null) ? data.getAggregates() : null;
     }
+
     /**
-     * Adds a list of new job entities to the current data session.
+     * Builds the next chart message of a job and records it as published.
+     * <p>
+     * The first message is a full {@code CHART_MAP} snapshot; later ones are {@code CHART_DELTA} messages with only
+     * the entries changed since the previous message. A full snapshot is sent again if an entry was removed.
+     * </p>
+     *
+     * @param jobId job id associated with dataset
+     * @return message to send, or {@code null} if the job has no session or nothing changed
+     */
+    public WsPayload<AggregatesDto> nextChartUpdate(UUID jobId) {
+        Session session = getSession(jobId);
+        if (session == null)
+            return null;
+        synchronized (session) {
+            AggregatesDto current = session.data.getAggregates();
+            if (current == session.published)
+                return null;
+            AggregatesDto delta = session.published != null ? current.changesSince(session.published) : null;
+            if (delta != null && delta.isEmpty())
+                return null;
+            session.published = current;
+            session.sequence++;
+            return delta != null
+                    ? new WsPayload<>(WsPayload.DataType.CHART_DELTA, delta, session.sequence)
+                    : new WsPayload<>(WsPayload.DataType.CHART_MAP, current, session.sequence);
+        }
+    }
+
+    /**
+     * Returns the chart state last published for a job, as a full {@code CHART_MAP} message with its sequence number,
+     * so a client can resynchronize and keep applying later deltas.
+     * Before the first chart message, the current aggregates are returned with sequence {@code 0}.
+     *
+     * @param jobId job id associated with dataset
+     * @return full chart message, or {@code null} if the job has no session
+     */
+    public WsPayload<AggregatesDto> getPublishedChart(UUID jobId) {
+        Session session = getSession(jobId);
+        if (session == null)
+            return null;
+        synchronized (session) {
+            AggregatesDto snapshot = session.published != null ? session.published : session.data.getAggregates();
+            return new WsPayload<>(WsPayload.DataType.CHART_MAP, snapshot, session.sequence);
+        }
+    }
+
+    /**
+     * Adds a list of new job entities to the data session of a job.
      * <p>
      * This method updates related aggregates
      * (e.g. counts by location and category).
      * </p>
      *
+     * @param jobId job id associated with dataset
      * @param newJobs list of new {@link JobEntity} objects to include in the data set
      */
-    public void addJobs(List<JobEntity> newJobs) {
-        if (currentData != null) {
-            currentData.addJobs(newJobs);
+    public void addJobs(UUID jobId, List<JobEntity> newJobs) {
+        UserJobsData data = get(jobId);
+        if (data != null) {
+            data.addJobs(newJobs);
         }
     }
 
     /**
-     * Replaces the current aggregated location counts with the provided map.
+     * Replaces the aggregated location counts of a job with the provided map.
      * <p>
-     * This method updates the {@code currentData} only if it is not {@code null}.
+     * This method updates the session only if it exists.
      *
+     * @param jobId job id associated with dataset
      * @param locationsCount a map where keys are location names and values are their respective counts
      */
-    public void setLocations(Map<String, Integer> locationsCount){
-        if (currentData != null) {
+    public void setLocations(UUID jobId, Map<String, Integer> locationsCount){
+        UserJobsData data = get(jobId);
+        if (data != null) {
             if (locationsCount != null) {
                 Map<String, Integer> sanitized = locationsCount.entrySet().stream()
                         .filter(e -> e.getKey() != null)
@@ -108,24 +227,75 @@ public class UserJobDataService {
                                 Map.Entry::getValue
                         ));
 
-                currentData.setLocationsCount(sanitized);
+                data.setLocationsCount(sanitized);
             } else {
-                currentData.setLocationsCount(Map.of());
+                data.setLocationsCount(Map.of());
             }
         }
     }
 
     /**
-     * Replaces the current aggregated skill counts with the provided map.
+     * Replaces the aggregated skill counts of a job with the provided map.
      * <p>
-     * This method updates the {@code currentData} only if it is not {@code null}.
+     * This method updates the session only if it exists.
      *
+     * @param jobId job id associated with dataset
      * @param skillDataMap a map where keys are skill names and values is {@link SkillData} their respective counts
      */
-    public void setSkills(Map<String, SkillData> skillDataMap){
-        if (currentData != null) {
-            currentData.setSkillsData(skillDataMap);
+    public void setSkills(UUID jobId, Map<String, SkillData> skillDataMap){
+        UserJobsData data = get(jobId);
+        if (data != null) {
+            data.setSkillsData(skillDataMap != null ? skillDataMap : Map.of());
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * @return number of sessions kept in memory
+     */
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns the data of a job and marks its session as used; expired sessions are dropped instead.
+     */
+    private UserJobsData get(UUID jobId) {
+        Session session = getSession(jobId);
+        return session != null ? session.data : null;
+    }
+
+    private Session getSession(UUID jobId) {
+        if (jobId == null)
+            return null;
+        Session session = sessions.get(jobId);
+        if (session == null)
+            return null;
+        if (System.nanoTime() - session.lastAccess > ttlNanos) {
+            sessions.remove(jobId, session);
+            return null;
+        }
+        session.touch();
+        return session;
+    }
+
+    /**
+     * Drops expired sessions, then the least recently accessed ones above {@code maxSessions}.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        sessions.entrySet().removeIf(e -> now - e.getValue().lastAccess > ttlNanos);
+
+        int excess = sessions.size() - maxSessions;
+        if (excess <= 0)
+            return;
+        sessions.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(jobId -> {
+                    sessions.remove(jobId);
+                    log.warn("Evicted data of job {}, more than {} sessions in memory", jobId, maxSessions);
+                });
+    }
+}
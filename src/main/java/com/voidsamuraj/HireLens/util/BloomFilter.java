@@ -0,0 +1,150 @@
+package com.voidsamuraj.HireLens.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ *
+ * A Bloom filter answers "possibly contained" or "definitely not contained" using a fixed bit array,
+ * so it never returns false negatives, and the false positive rate grows with the number of inserted keys.
+ *
+ * The size of the bit array and the number of hash functions are derived from the expected number
+ * of keys and the target false positive rate. Bit positions are computed with double hashing of a 128-bit
+ * hash (two independent 64-bit halves) of the UTF-8 key.
+ *
+ * Usage:
+ * - put(String key): Adds a key; safe to call from many threads.
+ * - mightContain(String key): Returns false only when the key was never added.
+ * - expectedFalsePositiveRate(): Estimates the current false positive rate from the number of inserted keys.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * Creates a filter sized for the given number of keys and false positive rate.
+     *
+     * @param expectedInsertions number of keys the filter is sized for; must be positive
+     * @param falsePositiveRate target false positive rate at {@code expectedInsertions}; must be in (0, 1)
+     * @throws IllegalArgumentException if any argument is out of range
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0)
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a key to the filter.
+     *
+     * @param key the key to add; {@code null} is ignored
+     */
+    public void put(String key) {
+        if (key == null)
+            return;
+        long[] hash = hash(key);
+        long combined = hash[0];
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit((combined & Long.MAX_VALUE) % bitSize);
+            combined += hash[1];
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Checks whether a key may have been added to the filter.
+     *
+     * @param key the key to check
+     * @return {@code false} if the key was definitely never added; {@code true} if it possibly was
+     */
+    public boolean mightContain(String key) {
+        if (key == null)
+            return false;
+        long[] hash = hash(key);
+        long combined = hash[0];
+        for (int i = 0; i < hashFunctions; i++) {
+            if (!getBit((combined & Long.MAX_VALUE) % bitSize))
+                return false;
+            combined += hash[1];
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false positive rate: {@code (1 - e^(-k*n/m))^k}.
+     *
+     * @return estimated probability that {@link #mightContain(String)} returns {@code true} for a key never added
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions.get() / bitSize), hashFunctions);
+    }
+
+    /**
+     * @return number of {@link #put(String)} calls so far, counting duplicates
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * @return size of the bit array in bytes
+     */
+    public long memoryBytes() {
+        return bitSize / 8;
+    }
+
+    /**
+     * @return number of hash functions applied to every key
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0)
+                return;
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private boolean getBit(long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    /**
+     * Computes two independent 64-bit hashes of the UTF-8 key (FNV-1a with two offsets, finished with the
+     * SplitMix64 mixer), used as base and step of double hashing.
+     */
+    private static long[] hash(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x84222325cbf29ce4L;
+        for (byte b : bytes) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = (h2 ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return new long[]{mix(h1), mix(h2) | 1};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,126 @@
+package com.voidsamuraj.HireLens.util;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable inverted index answering keyword queries over a fixed list of documents.
+ *
+ * Every document is tokenized once, when the index is built: its texts are lower-cased and split on whitespace
+ * into words, and each word and exact term maps to the posting list of ordinals of the documents containing it.
+ * A query matches the documents in which every query token is a substring of some word, or equal to some exact term.
+ * Since query tokens contain no whitespace, this gives the same results as searching the whole lower-cased texts
+ * with {@link String#contains}, while only the vocabulary is scanned instead of every text. Posting lists of the
+ * query tokens are intersected.
+ *
+ * Results of the last queries are remembered, so the pages of a job, which repeat the same query, are answered
+ * from memory.
+ *
+ * Usage:
+ * - search(String query): Returns matching documents in their original order; safe to call from many threads.
+ * - documents(): Returns the indexed documents.
+ *
+ * @param <T> type of the documents
+ */
+public class InvertedIndex<T> {
+
+    private static final int MAX_CACHED_QUERIES = 256;
+
+    private final List<T> documents;
+    /** Lower-case word → sorted ordinals of documents containing it. */
+    private final Map<String, int[]> words;
+    /** Exact term → sorted ordinals of documents having it. */
+    private final Map<String, int[]> terms;
+    private final Map<String, List<T>> results = new ConcurrentHashMap<>();
+
+    /**
+     * Builds the index.
+     *
+     * @param documents documents to index; kept by reference and must not be modified afterwards
+     * @param texts texts of a document searched by substring, ignoring case; {@code null} texts are skipped
+     * @param exactTerms terms of a document matched only by equality with a lower-cased query token (e.g. tags)
+     */
+    public InvertedIndex(List<T> documents, Function<T, List<String>> texts, Function<T, Collection<String>> exactTerms) {
+        this.documents = documents;
+        Map<String, BitSet> wordPostings = new HashMap<>();
+        Map<String, BitSet> termPostings = new HashMap<>();
+        for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+            T document = documents.get(ordinal);
+            for (String text : texts.apply(document)) {
+                if (text == null)
+                    continue;
+                for (String word : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+                    if (!word.isEmpty())
+                        wordPostings.computeIfAbsent(word, w -> new BitSet()).set(ordinal);
+                }
+            }
+            Collection<String> documentTerms = exactTerms.apply(document);
+            if (documentTerms != null) {
+                for (String term : documentTerms) {
+                    if (term != null)
+                        termPostings.computeIfAbsent(term, t -> new BitSet()).set(ordinal);
+                }
+            }
+        }
+        this.words = toPostingLists(wordPostings);
+        this.terms = toPostingLists(termPostings);
+    }
+
+    /**
+     * @return the indexed documents
+     */
+    public List<T> documents() {
+        return documents;
+    }
+
+    /**
+     * Finds documents matching all whitespace separated tokens of a query, ignoring case.
+     *
+     * @param query the search query; if null or blank, all documents match
+     * @return matching documents in their original order
+     */
+    public List<T> search(String query) {
+        if (query == null || query.isBlank())
+            return documents;
+        String normalized = query.toLowerCase(Locale.ROOT).trim();
+        List<T> cached = results.get(normalized);
+        if (cached != null)
+            return cached;
+
+        BitSet matched = null;
+        for (String token : new LinkedHashSet<>(Arrays.asList(normalized.split("\\s+")))) {
+            BitSet postings = postingsOf(token);
+            if (matched == null)
+                matched = postings;
+            else
+                matched.and(postings);
+            if (matched.isEmpty())
+                break;
+        }
+        List<T> found = matched.stream().mapToObj(documents::get).toList();
+        if (results.size() < MAX_CACHED_QUERIES)
+            results.put(normalized, found);
+        return found;
+    }
+
+    private BitSet postingsOf(String token) {
+        BitSet postings = new BitSet(documents.size());
+        words.forEach((word, ordinals) -> {
+            if (word.contains(token))
+                for (int ordinal : ordinals)
+                    postings.set(ordinal);
+        });
+        int[] termOrdinals = terms.get(token);
+        if (termOrdinals != null)
+            for (int ordinal : termOrdinals)
+                postings.set(ordinal);
+        return postings;
+    }
+
+    private static Map<String, int[]> toPostingLists(Map<String, BitSet> postings) {
+        Map<String, int[]> lists = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((key, ordinals) -> lists.put(key, ordinals.stream().toArray()));
+        return lists;
+    }
+}
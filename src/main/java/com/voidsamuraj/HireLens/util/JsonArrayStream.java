@@ -0,0 +1,180 @@
+package com.voidsamuraj.HireLens.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of the elements of one JSON array inside a response body.
+ *
+ * The body is fed chunk by chunk to Jackson's non-blocking {@link JsonParser}; tokens are skipped until the array
+ * at the given field path is opened, then the tokens of every element are buffered and bound to the element type
+ * as soon as the element is closed. Only the element being read is kept in memory, never the whole response,
+ * and every element is emitted before the rest of the body arrives. Tokens after the array are ignored.
+ *
+ * Spring's JSON decoder streams only top-level arrays; this covers arrays nested in an object, such as
+ * {@code {"jobs": [...]}} or {@code {"result": {"jobs": [...]}}}.
+ *
+ * Usage:
+ * - elements(body, objectMapper, type, path...): Emits elements of the array at the given path of object fields;
+ *   without a path, elements of a top-level array. A body without that array gives an empty Flux; malformed JSON
+ *   fails with {@link DecodingException}.
+ *
+ * @param <T> type of the elements
+ */
+public class JsonArrayStream<T> {
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private final String[] path;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    /** Number of containers currently open. */
+    private int depth;
+    /** Number of leading path fields whose objects are currently open. */
+    private int matched;
+    /** Whether the last field name is the next field of the path. */
+    private boolean pendingMatch;
+    private boolean inArray;
+    private boolean done;
+
+    /** Tokens of the element being read, {@code null} between elements. */
+    private TokenBuffer element;
+    private int elementDepth;
+
+    private JsonArrayStream(ObjectMapper objectMapper, Class<T> type, String[] path) throws IOException {
+        this.objectMapper = objectMapper;
+        this.type = type;
+        this.path = path;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Reads the elements of a JSON array from a streamed body.
+     *
+     * @param body chunks of the body; every chunk is released once read
+     * @param objectMapper mapper binding the elements
+     * @param type type of the elements
+     * @param path names of the object fields leading to the array, outermost first
+     * @param <T> type of the elements
+     * @return elements in array order; {@code null} elements are skipped
+     */
+    public static <T> Flux<T> elements(Flux<DataBuffer> body, ObjectMapper objectMapper, Class<T> type, String... path) {
+        return Flux.defer(() -> {
+            JsonArrayStream<T> stream;
+            try {
+                stream = new JsonArrayStream<>(objectMapper, type, path);
+            } catch (IOException e) {
+                return Flux.error(new DecodingException("Cannot create JSON parser", e));
+            }
+            return body.concatMapIterable(stream::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(stream.endOfInput())))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    private List<T> feed(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            feeder.feedInput(bytes, 0, bytes.length);
+            return drain();
+        } catch (IOException e) {
+            throw new DecodingException("Invalid JSON response: " + e.getMessage(), e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private List<T> endOfInput() {
+        feeder.endOfInput();
+        try {
+            return drain();
+        } catch (IOException e) {
+            throw new DecodingException("Invalid JSON response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Handles all tokens of the input fed so far.
+     *
+     * @return elements closed by these tokens
+     */
+    private List<T> drain() throws IOException {
+        List<T> elements = new ArrayList<>(1);
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (!done)
+                handle(token, elements);
+        }
+        return elements;
+    }
+
+    private void handle(JsonToken token, List<T> elements) throws IOException {
+        if (element != null) {
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart())
+                elementDepth++;
+            else if (token.isStructEnd())
+                elementDepth--;
+            if (elementDepth == 0)
+                emit(elements);
+            return;
+        }
+        if (inArray) {
+            if (token == JsonToken.END_ARRAY) {
+                inArray = false;
+                done = true;
+                return;
+            }
+            element = new TokenBuffer(parser);
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart())
+                elementDepth = 1;
+            else
+                emit(elements);
+            return;
+        }
+        switch (token) {
+            case FIELD_NAME -> pendingMatch = depth == matched + 1 && matched < path.length
+                    && path[matched].equals(parser.currentName());
+            case START_OBJECT, START_ARRAY -> {
+                depth++;
+                boolean last = depth == 1 ? path.length == 0 : pendingMatch && matched + 1 == path.length;
+                if (token == JsonToken.START_ARRAY && last)
+                    inArray = true;
+                else if (token == JsonToken.START_OBJECT && pendingMatch && !last)
+                    matched++;
+                pendingMatch = false;
+            }
+            case END_OBJECT, END_ARRAY -> {
+                depth--;
+                if (matched >= depth)
+                    matched = Math.max(0, depth - 1);
+            }
+            default -> pendingMatch = false;
+        }
+    }
+
+    private void emit(List<T> elements) throws IOException {
+        try (JsonParser elementParser = element.asParser(objectMapper)) {
+            T value = objectMapper.readValue(elementParser, type);
+            if (value != null)
+                elements.add(value);
+        } finally {
+            element = null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.voidsamuraj.HireLens.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Thread-safe token bucket rate limiter.
+ *
+ * The bucket holds up to {@code capacity} tokens and is refilled continuously at {@code permitsPerSecond}.
+ * Every call takes one token; when the bucket is empty the call reserves the next token ahead of time
+ * and waits until it is refilled, so waiting callers are served in the order they arrived and the
+ * long-run rate never exceeds {@code permitsPerSecond}.
+ *
+ * Usage:
+ * - acquire(): Takes a token, sleeping until it is available.
+ * - reserve(): Takes a token and returns how long the caller has to wait before using it.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double nanosPerPermit;
+    private final Clock clock;
+
+    /** Available tokens; negative when callers reserved tokens which are not refilled yet. */
+    private double tokens;
+    private Instant refilledAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param permitsPerSecond refill rate; must be positive
+     * @param capacity maximum burst of calls without waiting; must be at least 1
+     * @param clock clock used to measure refills
+     * @throws IllegalArgumentException if any argument is out of range
+     */
+    public TokenBucket(double permitsPerSecond, int capacity, Clock clock) {
+        if (!(permitsPerSecond > 0))
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        this.capacity = capacity;
+        this.nanosPerPermit = 1_000_000_000d / permitsPerSecond;
+        this.clock = clock;
+        this.tokens = capacity;
+        this.refilledAt = clock.instant();
+    }
+
+    /**
+     * Takes a token, waiting until it is available.
+     *
+     * @throws InterruptedException if interrupted while waiting; the reserved token is not returned
+     */
+    public void acquire() throws InterruptedException {
+        Duration wait = reserve();
+        if (!wait.isZero())
+            Thread.sleep(wait);
+    }
+
+    /**
+     * Takes a token without waiting for it.
+     *
+     * @return time after which the token may be used; {@link Duration#ZERO} if it is available now
+     */
+    public synchronized Duration reserve() {
+        Instant now = clock.instant();
+        long elapsed = Duration.between(refilledAt, now).toNanos();
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed / nanosPerPermit);
+            refilledAt = now;
+        }
+        tokens -= 1;
+        if (tokens >= 0)
+            return Duration.ZERO;
+        return Duration.ofNanos((long) Math.ceil(-tokens * nanosPerPermit));
+    }
+}
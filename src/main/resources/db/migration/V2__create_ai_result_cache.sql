@@ -0,0 +1,8 @@
+-- Results of AI analysis keyed by SHA-256 of the normalized job text,
+-- so identical or re-posted offers are not analyzed again.
+CREATE TABLE ai_result_cache (
+    text_hash CHAR(64) PRIMARY KEY,
+    seniority VARCHAR(50),
+    skills JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
@@ -0,0 +1,4 @@
+-- Ids of job_entity and job_skills are allocated by Hibernate in blocks of 50 (pooled optimizer),
+-- which lets inserts be sent in JDBC batches. The increment must match allocationSize of the entities.
+ALTER SEQUENCE job_entity_id_seq INCREMENT BY 50;
+ALTER SEQUENCE job_skills_id_seq INCREMENT BY 50;
@@ -0,0 +1,25 @@
+-- Skill and location rollups per full-text query, so a job start reads a small table
+-- instead of matching and grouping the whole corpus.
+-- A query is registered (and its rollups computed once) the first time it is used;
+-- afterwards rollups are incremented in the same transaction that saves new jobs.
+CREATE TABLE query_aggregate (
+    id BIGSERIAL PRIMARY KEY,
+    query_key TEXT NOT NULL UNIQUE,
+    ts_query tsquery NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    last_used_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE TABLE query_skill_aggregate (
+    query_id BIGINT NOT NULL REFERENCES query_aggregate(id) ON DELETE CASCADE,
+    skill VARCHAR(255) NOT NULL,
+    total_level BIGINT NOT NULL,
+    PRIMARY KEY (query_id, skill)
+);
+
+CREATE TABLE query_location_aggregate (
+    query_id BIGINT NOT NULL REFERENCES query_aggregate(id) ON DELETE CASCADE,
+    location VARCHAR(255) NOT NULL,
+    total_count BIGINT NOT NULL,
+    PRIMARY KEY (query_id, location)
+);
@@ -0,0 +1,28 @@
+-- Ingestion jobs and their checkpoints, so a job interrupted by a restart resumes
+-- from the first page that was not saved instead of starting again from page 1.
+CREATE TABLE ingestion_job (
+    id UUID PRIMARY KEY,
+    query TEXT NOT NULL,
+    level VARCHAR(50),
+    include_unknown BOOLEAN NOT NULL,
+    max_job_offers INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    next_page INT NOT NULL DEFAULT 1,
+    downloaded_count INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_ingestion_job_status ON ingestion_job(status);
+
+-- Progress of every page per source: offers fetched (new ones only), analyzed by AI and saved.
+CREATE TABLE ingestion_job_page (
+    job_id UUID NOT NULL REFERENCES ingestion_job(id) ON DELETE CASCADE,
+    page INT NOT NULL,
+    source VARCHAR(20) NOT NULL,
+    fetched INT NOT NULL DEFAULT 0,
+    analyzed INT NOT NULL DEFAULT 0,
+    saved INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (job_id, page, source)
+);
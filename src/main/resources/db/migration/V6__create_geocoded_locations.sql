@@ -0,0 +1,9 @@
+-- Country codes resolved by the geocoding provider, keyed by the normalized raw location
+-- (or "@lat,lon" for coordinates), so the same strings are not geocoded again after a restart.
+CREATE TABLE geocoded_location (
+    location_key VARCHAR(512) PRIMARY KEY,
+    iso3 CHAR(3) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_geocoded_location_created_at ON geocoded_location(created_at);
@@ -0,0 +1,5 @@
+-- Node running a job and the time it last confirmed so, so with several nodes sharing the database
+-- each interrupted job is resumed by exactly one of them. heartbeat_at is compared with now() of other nodes,
+-- so it carries its time zone.
+ALTER TABLE ingestion_job ADD COLUMN owner VARCHAR(64);
+ALTER TABLE ingestion_job ADD COLUMN heartbeat_at TIMESTAMPTZ;
@@ -0,0 +1,93 @@
+package com.voidsamuraj.HireLens;
+
+import com.voidsamuraj.HireLens.entity.ApiName;
+import com.voidsamuraj.HireLens.entity.Groups;
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.entity.JobLevel;
+import com.voidsamuraj.HireLens.repository.GroupRepository;
+import com.voidsamuraj.HireLens.repository.JobRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures rows/sec of {@code JobRepository.saveAll} on a Testcontainers Postgres.
+ * Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ * Change {@code ingestion.persistence.batch-size} (e.g. to 1) to compare with unbatched inserts.
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class JobPersistenceBenchmark {
+
+    private static final int PAGES = 10;
+    private static final int JOBS_PER_PAGE = 500;
+    private static final int SKILLS_PER_JOB = 8;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Value("${ingestion.persistence.batch-size:100}")
+    private int batchSize;
+
+    @Test
+    void saveAll_rowsPerSecond() {
+        List<Groups> groups = IntStream.range(0, 50)
+                .mapToObj(i -> new Groups("benchmark-skill-" + i, "Benchmark"))
+                .toList();
+        groupRepository.saveAll(groups);
+
+        long before = jobRepository.count();
+        jobRepository.saveAll(page(-1, groups)); // warm-up: connection pool, statement cache, id blocks
+
+        long rows = 0;
+        long started = System.nanoTime();
+        for (int page = 0; page < PAGES; page++) {
+            List<JobEntity> jobs = page(page, groups);
+            jobRepository.saveAll(jobs);
+            rows += jobs.size() + (long) jobs.size() * SKILLS_PER_JOB;
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("batch-size=%d: %d rows (%d jobs, %d skills) in %.2fs = %.0f rows/s%n",
+                batchSize, rows, PAGES * JOBS_PER_PAGE, PAGES * JOBS_PER_PAGE * SKILLS_PER_JOB,
+                seconds, rows / seconds);
+        assertEquals(before + (PAGES + 1) * JOBS_PER_PAGE, jobRepository.count());
+    }
+
+    private static List<JobEntity> page(int page, List<Groups> groups) {
+        Random random = new Random(page);
+        Map<String, Groups> groupsBySkill = new HashMap<>();
+        groups.forEach(g -> groupsBySkill.put(g.getSkill(), g));
+        List<JobEntity> jobs = new ArrayList<>(JOBS_PER_PAGE);
+        for (int i = 0; i < JOBS_PER_PAGE; i++) {
+            JobEntity job = JobEntity.builder()
+                    .apiName(ApiName.REMOTIVE)
+                    .apiId("benchmark-" + page + "-" + i)
+                    .title("Benchmark job " + i)
+                    .companyName("Benchmark")
+                    .experienceLevel(JobLevel.values()[random.nextInt(JobLevel.values().length)])
+                    .candidateRequiredLocation("Poland")
+                    .description("Benchmark description " + UUID.randomUUID())
+                    .build();
+            Map<String, Integer> skills = new HashMap<>();
+            while (skills.size() < SKILLS_PER_JOB)
+                skills.put(groups.get(random.nextInt(groups.size())).getSkill(), 1 + random.nextInt(5));
+            job.setSkills(skills);
+            job.getSkills().forEach(skill -> skill.setGroup(groupsBySkill.get(skill.getGroup().getSkill())));
+            jobs.add(job);
+        }
+        return jobs;
+    }
+}
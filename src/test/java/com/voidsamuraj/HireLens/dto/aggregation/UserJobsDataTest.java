@@ -0,0 +1,105 @@
+package com.voidsamuraj.HireLens.dto.aggregation;
+
+import com.voidsamuraj.HireLens.entity.Groups;
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UserJobsDataTest {
+
+    @Test
+    void addJobs_fromManyThreads_countsEveryUpdate() throws Exception {
+        UserJobsData data = new UserJobsData(UUID.randomUUID());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++)
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++)
+                        data.addJobs(List.of(job("Poland", "Java", 2), job(null, "SQL", 1)));
+                }));
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(Map.of("Poland", 8000, "Undefined", 8000), data.getLocationsCount());
+        assertEquals(new SkillData("Programming", 16000), data.getSkillsData().get("Java"));
+        assertEquals(new SkillData("Programming", 8000), data.getSkillsData().get("SQL"));
+    }
+
+    @Test
+    void setters_seedCountersWhichAddJobsContinues() {
+        UserJobsData data = new UserJobsData(UUID.randomUUID());
+        data.setLocationsCount(Map.of("Poland", 5));
+        data.setSkillsData(Map.of("Java", new SkillData("Programming", 10)));
+
+        data.addJobs(List.of(job("Poland", "Java", 3)));
+
+        AggregatesDto aggregates = data.getAggregates();
+        assertEquals(Map.of("Poland", 6), aggregates.getLocations());
+        assertEquals(Map.of("Programming", Map.of("Java", 13)), aggregates.getSkills());
+    }
+
+    @Test
+    void getAggregates_withoutChanges_returnsSameSnapshot() {
+        UserJobsData data = new UserJobsData(UUID.randomUUID());
+        data.addJobs(List.of(job("Poland", "Java", 3)));
+
+        AggregatesDto first = data.getAggregates();
+
+        assertSame(first, data.getAggregates());
+    }
+
+    @Test
+    void getAggregates_patchesOnlyChangedGroups() {
+        UserJobsData data = new UserJobsData(UUID.randomUUID());
+        data.addJobs(List.of(job("Poland", "Java", 3), job("Poland", "Docker", 1, "DevOps")));
+        AggregatesDto first = data.getAggregates();
+
+        data.addJobs(List.of(job("Germany", "Java", 2)));
+        AggregatesDto second = data.getAggregates();
+
+        assertEquals(Map.of("Poland", 2), first.getLocations());
+        assertEquals(Map.of("Poland", 2, "Germany", 1), second.getLocations());
+        assertEquals(Map.of("Java", 3), first.getSkills().get("Programming"));
+        assertEquals(Map.of("Java", 5), second.getSkills().get("Programming"));
+        assertSame(first.getSkills().get("DevOps"), second.getSkills().get("DevOps"));
+    }
+
+    @Test
+    void getAggregates_afterReseed_dropsRemovedKeys() {
+        UserJobsData data = new UserJobsData(UUID.randomUUID());
+        data.addJobs(List.of(job("Poland", "Java", 3)));
+        data.getAggregates();
+
+        data.setLocationsCount(Map.of("Spain", 1));
+        data.setSkillsData(Map.of("Go", new SkillData("Programming", 4)));
+
+        AggregatesDto aggregates = data.getAggregates();
+        assertEquals(Map.of("Spain", 1), aggregates.getLocations());
+        assertEquals(Map.of("Programming", Map.of("Go", 4)), aggregates.getSkills());
+    }
+
+    private static JobEntity job(String location, String skill, int level) {
+        return job(location, skill, level, "Programming");
+    }
+
+    private static JobEntity job(String location, String skill, int level, String group) {
+        JobEntity job = JobEntity.builder().candidateRequiredLocation(location).build();
+        job.setSkills(Map.of(skill, level));
+        job.getSkills().forEach(s -> s.setGroup(new Groups(skill, group)));
+        return job;
+    }
+}
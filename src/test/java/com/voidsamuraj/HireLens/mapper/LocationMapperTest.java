@@ -0,0 +1,104 @@
+package com.voidsamuraj.HireLens.mapper;
+
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.service.geocoding.CountryGazetteer;
+import com.voidsamuraj.HireLens.service.geocoding.GeocodingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LocationMapperTest {
+
+    private static CountryGazetteer gazetteer;
+
+    private GeocodingService geocodingService;
+    private LocationMapper mapper;
+
+    @BeforeAll
+    static void setUpGazetteer() {
+        gazetteer = new CountryGazetteer(new SimpleMeterRegistry());
+    }
+
+    @BeforeEach
+    void setUp() {
+        geocodingService = mock(GeocodingService.class);
+        mapper = new LocationMapper(gazetteer, geocodingService, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void mapLocation_knownLocationSkipsGeocoding() {
+        assertEquals("ESP", mapper.mapLocation("Madrid, Spain"));
+        verify(geocodingService, never()).resolveLocation(anyString());
+    }
+
+    @Test
+    void mapLocation_severalCountriesAreNotMapped() {
+        assertNull(mapper.mapLocation("Europe"));
+        assertNull(mapper.mapLocation("USA or Canada"));
+        verify(geocodingService, never()).resolveLocation(anyString());
+    }
+
+    @Test
+    void mapLocation_usCityWithStateCodeSkipsGeocoding() {
+        assertEquals("USA", mapper.mapLocation("San Francisco, CA"));
+        assertEquals("USA", mapper.mapLocation("Chicago, IL"));
+        assertEquals("USA", mapper.mapLocation("Atlanta, GA"));
+        verify(geocodingService, never()).resolveLocation(anyString());
+    }
+
+    @Test
+    void mapLocation_ambiguousStateCodeFallsBackToGeocoding() {
+        when(geocodingService.resolveLocation("Springfield, IL")).thenReturn("USA");
+
+        assertEquals("USA", mapper.mapLocation("Springfield, IL"));
+    }
+
+    @Test
+    void mapLocation_unknownLocationFallsBackToGeocoding() {
+        when(geocodingService.resolveLocation("Springfield")).thenReturn("USA");
+
+        assertEquals("USA", mapper.mapLocation("Springfield"));
+        assertNull(mapper.mapLocation("CET +/- 3 hours"));
+        verify(geocodingService, times(1)).resolveLocation(anyString());
+    }
+
+    @Test
+    void normalizeLocations_geocodesEveryDistinctLocationOnce() {
+        when(geocodingService.resolveLocations(Set.of("Springfield"))).thenReturn(Map.of("Springfield", "USA"));
+        List<JobEntity> jobs = List.of(
+                JobEntity.builder().candidateRequiredLocation("Springfield").build(),
+                JobEntity.builder().candidateRequiredLocation("Berlin").build(),
+                JobEntity.builder().candidateRequiredLocation("Springfield").build(),
+                JobEntity.builder().candidateRequiredLocation("Springfield").build());
+
+        mapper.normalizeLocations(jobs);
+
+        assertEquals(List.of("USA", "DEU", "USA", "USA"),
+                jobs.stream().map(JobEntity::getCandidateRequiredLocation).toList());
+        verify(geocodingService, times(1)).resolveLocations(any());
+        verify(geocodingService, never()).resolveLocation(anyString());
+    }
+
+    @Test
+    void normalizeLocations_unmappedLocationsBecomeUnknown() {
+        JobEntity known = JobEntity.builder().candidateRequiredLocation("Berlin").build();
+        JobEntity worldwide = JobEntity.builder().candidateRequiredLocation("Worldwide").build();
+        JobEntity blank = JobEntity.builder().candidateRequiredLocation(" ").build();
+
+        mapper.normalizeLocations(List.of(known, worldwide, blank));
+
+        assertEquals("DEU", known.getCandidateRequiredLocation());
+        assertEquals("UNK", worldwide.getCandidateRequiredLocation());
+        assertNull(blank.getCandidateRequiredLocation());
+    }
+}
@@ -0,0 +1,67 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.service.ai.AdaptiveBatchSizer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBatchSizerTest {
+
+    @Test
+    void recordSuccess_fastFullBatches_growUpToMax() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1, 3, Duration.ofMillis(100), 10_000);
+
+        for (int i = 0; i < 5; i++)
+            sizer.recordSuccess(sizer.getSize(), Duration.ofMillis(10));
+
+        assertEquals(3, sizer.getSize());
+    }
+
+    @Test
+    void recordSuccess_slowBatch_shrinks() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1, 8, Duration.ofMillis(100), 10_000);
+        for (int i = 0; i < 7; i++)
+            sizer.recordSuccess(sizer.getSize(), Duration.ofMillis(10));
+        assertEquals(8, sizer.getSize());
+
+        sizer.recordSuccess(8, Duration.ofSeconds(8));
+
+        assertEquals(6, sizer.getSize());
+    }
+
+    @Test
+    void recordFailure_halvesButKeepsMinimum() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(2, 8, Duration.ofMillis(100), 10_000);
+        for (int i = 0; i < 6; i++)
+            sizer.recordSuccess(sizer.getSize(), Duration.ofMillis(10));
+        assertEquals(8, sizer.getSize());
+
+        sizer.recordFailure();
+        assertEquals(4, sizer.getSize());
+        sizer.recordFailure();
+        sizer.recordFailure();
+        assertEquals(2, sizer.getSize());
+    }
+
+    @Test
+    void nextBatchEnd_respectsSizeAndPayload() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(4, 4, Duration.ofMillis(100), 10);
+        List<String> texts = List.of("aaaa", "bbbb", "cccc", "dddd", "eeee");
+
+        assertEquals(2, sizer.nextBatchEnd(texts, 0)); // 4 + 4 bytes fit, third text exceeds 10 bytes
+        assertEquals(4, sizer.nextBatchEnd(texts, 2));
+        assertEquals(5, sizer.nextBatchEnd(texts, 4));
+    }
+
+    @Test
+    void nextBatchEnd_oversizedTextIsSentAlone() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(4, 4, Duration.ofMillis(100), 10);
+        List<String> texts = List.of(String.join("", Collections.nCopies(50, "x")), "a");
+
+        assertEquals(1, sizer.nextBatchEnd(texts, 0));
+    }
+}
@@ -8,8 +8,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,11 +30,23 @@ class AdzunaJobServiceTest {
     private AdzunaJobService service;
     private AutoCloseable mocks;
 
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private String responseBody = "{}";
+    private final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.add(request);
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(responseBody)
+                        .build());
+            })
+            .build();
+
 
     @BeforeEach
     void setUp() {
         mocks = MockitoAnnotations.openMocks(this);
-        service = new AdzunaJobService(restTemplate);
+        service = new AdzunaJobService(restTemplate, webClient, Jackson2ObjectMapperBuilder.json().build());
     }
     @AfterEach
     void tearDown() throws Exception {
@@ -69,4 +90,23 @@ class AdzunaJobServiceTest {
         assertEquals("London, UK", result.getFirst().getLocation().getDisplayName());
     }
 
-}
\ No newline at end of file
+    @Test
+    void fetchJobsAsync_requestsPageOverHttpsAndReadsResults() {
+        responseBody = "{\"results\":[{\"id\":\"abc123\",\"title\":\"Java Developer\"}]}";
+
+        List<AdzunaJobDto> result = service.fetchJobsAsync("java developer", 20, 3).block();
+
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("abc123", result.getFirst().getId());
+        String url = requests.getFirst().url().toString();
+        assertTrue(url.startsWith("https://api.adzuna.com/v1/api/jobs/gb/search/3?"), url);
+        assertTrue(url.contains("results_per_page=20&what=java%20developer"), url);
+        assertEquals(List.of(MediaType.APPLICATION_JSON), requests.getFirst().headers().getAccept());
+    }
+
+    @Test
+    void fetchJobsAsync_missingResultsGiveEmptyList() {
+        assertEquals(List.of(), service.fetchJobsAsync("java", 20, 1).block());
+    }
+}
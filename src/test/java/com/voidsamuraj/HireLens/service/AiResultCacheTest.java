@@ -0,0 +1,94 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.dto.ai.AnalysisResult;
+import com.voidsamuraj.HireLens.entity.AiResultCacheEntry;
+import com.voidsamuraj.HireLens.repository.AiResultCacheRepository;
+import com.voidsamuraj.HireLens.service.ai.AiResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiResultCacheTest {
+
+    @Mock
+    private AiResultCacheRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AiResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AiResultCache(repository, meterRegistry, 2);
+    }
+
+    @Test
+    void hash_ignoresCaseAndWhitespace() {
+        assertEquals(AiResultCache.hash("Senior  Java\nDeveloper "), AiResultCache.hash("senior java developer"));
+        assertNotEquals(AiResultCache.hash("senior java developer"), AiResultCache.hash("junior java developer"));
+    }
+
+    @Test
+    void getAll_servesFromMemoryThenDatabase() {
+        String cached = AiResultCache.hash("cached");
+        String stored = AiResultCache.hash("stored");
+        String unknown = AiResultCache.hash("unknown");
+        cache.putAll(Map.of(cached, result("Senior")));
+        when(repository.findAllById(any())).thenReturn(List.of(
+                new AiResultCacheEntry(stored, "Junior", Map.of("Java", 3), Instant.now())));
+
+        Map<String, AnalysisResult> found = cache.getAll(List.of(cached, stored, unknown));
+
+        assertEquals(2, found.size());
+        assertEquals("Senior", found.get(cached).getSeniority());
+        assertEquals(Map.of("Java", 3), found.get(stored).getSkills());
+        assertEquals(1.0, counter("hit", "memory"));
+        assertEquals(1.0, counter("hit", "database"));
+        assertEquals(1.0, counter("miss", "database"));
+    }
+
+    @Test
+    void getAll_allInMemory_skipsDatabase() {
+        String cached = AiResultCache.hash("cached");
+        cache.putAll(Map.of(cached, result("Mid")));
+
+        cache.getAll(List.of(cached));
+
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void putAll_evictsLeastRecentlyUsed() {
+        cache.putAll(Map.of("a", result("Mid")));
+        cache.putAll(Map.of("b", result("Mid")));
+        cache.getAll(List.of("a"));
+        cache.putAll(Map.of("c", result("Mid")));
+
+        assertEquals(2, cache.memorySize());
+        cache.getAll(List.of("a", "b", "c"));
+        assertEquals(3.0, counter("hit", "memory")); // a twice, c once; b was evicted
+    }
+
+    private double counter(String result, String tier) {
+        return meterRegistry.get("hirelens.ai.cache.requests").tag("result", result).tag("tier", tier).counter().count();
+    }
+
+    private static AnalysisResult result(String seniority) {
+        AnalysisResult result = new AnalysisResult();
+        result.setSeniority(seniority);
+        result.setSkills(Map.of());
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.service.ai.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private MutableClock clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        breaker = new CircuitBreaker("test", 2, Duration.ofSeconds(10), clock);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenAllowsSingleTrialCall() {
+        breaker.onFailure();
+        breaker.onFailure();
+        clock.advance(Duration.ofSeconds(10));
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        clock.advance(Duration.ofSeconds(10));
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void protect_failsFastWithoutSubscribingWhenOpen() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.error(new IllegalStateException("down"));
+        });
+
+        assertThrows(IllegalStateException.class, () -> breaker.protect(failing, e -> true).block());
+        assertThrows(IllegalStateException.class, () -> breaker.protect(failing, e -> true).block());
+        assertThrows(CircuitBreaker.OpenException.class, () -> breaker.protect(failing, e -> true).block());
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    void protect_ignoredErrorsDoNotOpen() {
+        Mono<String> rejected = Mono.error(new IllegalArgumentException("bad request"));
+
+        for (int i = 0; i < 3; i++)
+            assertThrows(IllegalArgumentException.class, () -> breaker.protect(rejected, e -> false).block());
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
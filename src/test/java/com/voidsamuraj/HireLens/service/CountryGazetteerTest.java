@@ -0,0 +1,87 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.service.geocoding.CountryGazetteer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountryGazetteerTest {
+
+    private static CountryGazetteer gazetteer;
+
+    @BeforeAll
+    static void setUp() {
+        gazetteer = new CountryGazetteer(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void resolve_countryNamesCodesAndCities() {
+        assertEquals(List.of("POL"), gazetteer.resolve("Poland"));
+        assertEquals(List.of("POL"), gazetteer.resolve("Kraków, Poland"));
+        assertEquals(List.of("DEU"), gazetteer.resolve("Deutschland"));
+        assertEquals(List.of("USA"), gazetteer.resolve("Remote - US"));
+        assertEquals(List.of("USA"), gazetteer.resolve("U.S."));
+        assertEquals(List.of("GBR"), gazetteer.resolve("London"));
+        assertEquals(List.of("BIH"), gazetteer.resolve("Bosnia & Herzegovina"));
+    }
+
+    @Test
+    void resolve_prefersLongestPhrase() {
+        assertEquals(List.of("USA"), gazetteer.resolve("New Mexico"));
+        assertTrue(gazetteer.resolve("Latin America").contains("BRA"));
+        assertFalse(gazetteer.resolve("Latin America").contains("USA"));
+    }
+
+    @Test
+    void resolve_codesOnlyInUpperCase() {
+        assertNull(gazetteer.resolve("in the office"));
+        assertEquals(List.of("POL"), gazetteer.resolve("Remote, PL"));
+        assertEquals(List.of("DEU"), gazetteer.resolve("Berlin, DE"));
+    }
+
+    @Test
+    void resolve_stateAndProvinceCodesAfterCities() {
+        assertEquals(List.of("USA"), gazetteer.resolve("San Francisco, CA"));
+        assertEquals(List.of("USA"), gazetteer.resolve("Chicago, IL"));
+        assertEquals(List.of("USA"), gazetteer.resolve("Atlanta, GA"));
+        assertEquals(List.of("USA"), gazetteer.resolve("Indianapolis, IN, USA"));
+        assertEquals(List.of("CAN"), gazetteer.resolve("Toronto, ON"));
+        assertEquals(List.of("USA", "CAN"), gazetteer.resolve("Seattle, WA or Vancouver, BC"));
+    }
+
+    @Test
+    void resolve_georgiaIsAStateOnlyAfterAUsPlace() {
+        assertEquals(List.of("USA"), gazetteer.resolve("Atlanta, Georgia"));
+        assertEquals(List.of("GEO"), gazetteer.resolve("Georgia"));
+    }
+
+    @Test
+    void resolve_ambiguousStateCodeIsLeftToGeocoder() {
+        assertNull(gazetteer.resolve("Remote, IN"));
+        assertNull(gazetteer.resolve("Springfield, IL"));
+    }
+
+    @Test
+    void resolve_multiCountryStringsAndRegions() {
+        assertEquals(List.of("USA", "CAN"), gazetteer.resolve("USA or Canada"));
+        List<String> europe = gazetteer.resolve("Remote - Europe");
+        assertTrue(europe.containsAll(List.of("POL", "DEU", "GBR", "CHE")));
+        assertEquals(27, gazetteer.resolve("EU").size());
+    }
+
+    @Test
+    void resolve_worldwideIsRecognizedWithoutCountries() {
+        assertEquals(List.of(), gazetteer.resolve("Worldwide"));
+        assertEquals(List.of(), gazetteer.resolve("Anywhere in the world"));
+    }
+
+    @Test
+    void resolve_unknownLocationReturnsNull() {
+        assertNull(gazetteer.resolve("Springfield"));
+        assertNull(gazetteer.resolve("  "));
+    }
+}
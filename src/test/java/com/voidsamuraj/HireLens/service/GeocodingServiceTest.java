@@ -0,0 +1,179 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.voidsamuraj.HireLens.entity.GeocodedLocation;
+import com.voidsamuraj.HireLens.repository.GeocodedLocationRepository;
+import com.voidsamuraj.HireLens.service.geocoding.GeocodingService;
+import com.voidsamuraj.HireLens.service.geocoding.NominatimClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs {@link GeocodingService} against a local stub of the Nominatim API.
+ */
+@ExtendWith(MockitoExtension.class)
+class GeocodingServiceTest {
+
+    @Mock
+    private GeocodedLocationRepository repository;
+
+    private HttpServer nominatim;
+    private final AtomicInteger searches = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private GeocodingService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        nominatim = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        nominatim.createContext("/search", this::search);
+        nominatim.setExecutor(Executors.newCachedThreadPool());
+        nominatim.start();
+
+        NominatimClient client = new NominatimClient("http://127.0.0.1:" + nominatim.getAddress().getPort(),
+                "HireLens-test", 5000, 1000, 10);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new GeocodingService(client, repository, meterRegistry, 100, 60, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nominatim.stop(0);
+    }
+
+    /** Answers Poland for queries containing "warsaw", no result for anything else. */
+    private void search(HttpExchange exchange) throws IOException {
+        searches.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+        String body = query.toLowerCase().contains("warsaw")
+                ? "[{\"address\":{\"city\":\"Warsaw\",\"country_code\":\"pl\"}}]"
+                : "[]";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    void resolveLocation_remoteResultIsStoredAndServedFromMemory() {
+        when(repository.findById("warsaw, poland")).thenReturn(Optional.empty());
+
+        assertEquals("POL", service.resolveLocation("Warsaw, Poland"));
+        assertEquals("POL", service.resolveLocation("  warsaw,   POLAND "));
+
+        assertEquals(1, searches.get());
+        ArgumentCaptor<GeocodedLocation> captor = ArgumentCaptor.forClass(GeocodedLocation.class);
+        verify(repository).save(captor.capture());
+        assertEquals("warsaw, poland", captor.getValue().getLocationKey());
+        assertEquals("POL", captor.getValue().getIso3());
+        assertEquals(1.0, counter("hit", "remote"));
+        assertEquals(1.0, counter("hit", "memory"));
+    }
+
+    @Test
+    void resolveLocation_storedLocationSkipsRemote() {
+        when(repository.findById("berlin"))
+                .thenReturn(Optional.of(new GeocodedLocation("berlin", "DEU", Instant.now())));
+
+        assertEquals("DEU", service.resolveLocation("Berlin"));
+
+        assertEquals(0, searches.get());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void resolveLocation_unresolvedLocationIsNotStoredButNotRetried() {
+        when(repository.findById("atlantis")).thenReturn(Optional.empty());
+
+        assertNull(service.resolveLocation("Atlantis"));
+        assertNull(service.resolveLocation("Atlantis"));
+
+        assertEquals(1, searches.get());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void resolveLocation_concurrentLookupsAreCoalesced() throws Exception {
+        when(repository.findById("warsaw")).thenReturn(Optional.empty());
+        release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++)
+                results.add(callers.submit(() -> service.resolveLocation("Warsaw")));
+            while (meterRegistry.get("hirelens.geocoding.coalesced").counter().count() < 4)
+                Thread.sleep(10);
+            release.countDown();
+
+            for (Future<String> result : results)
+                assertEquals("POL", result.get(5, TimeUnit.SECONDS));
+            assertEquals(1, searches.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void resolveLocations_looksUpEachDistinctLocationInTheCheapestTier() {
+        when(repository.findById("warsaw")).thenReturn(Optional.empty());
+        service.resolveLocation("Warsaw");
+        when(repository.findAllById(any())).thenReturn(List.of(new GeocodedLocation("berlin", "DEU", Instant.now())));
+
+        Map<String, String> resolved = service.resolveLocations(
+                List.of("Warsaw", "Berlin", "warsaw old town", "Warsaw Old Town", "Atlantis"));
+
+        assertEquals(Map.of("Warsaw", "POL", "Berlin", "DEU", "warsaw old town", "POL", "Warsaw Old Town", "POL"), resolved);
+        assertEquals(3, searches.get());
+        verify(repository, times(1)).findById(any());
+        assertEquals(1, meterRegistry.get("hirelens.geocoding.batch").tag("phase", "cache").timer().count());
+        assertEquals(1, meterRegistry.get("hirelens.geocoding.batch").tag("phase", "remote").timer().count());
+    }
+
+    @Test
+    void warmUp_loadsStoredLocationsIntoMemory() {
+        when(repository.findAllByOrderByCreatedAtDesc(any()))
+                .thenReturn(List.of(new GeocodedLocation("remote - us", "USA", Instant.now())));
+
+        service.warmUp();
+
+        assertEquals("USA", service.resolveLocation("Remote - US"));
+        verify(repository, never()).findById(any());
+        assertEquals(0, searches.get());
+    }
+
+    private double counter(String result, String tier) {
+        return meterRegistry.get("hirelens.geocoding.requests").tag("result", result).tag("tier", tier).counter().count();
+    }
+}
@@ -0,0 +1,80 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.service.orchestrator.IngestionJobExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestionJobExecutorTest {
+
+    @Test
+    void submit_queuesThenRejectsPastCapacity() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IngestionJobExecutor executor = new IngestionJobExecutor(meterRegistry, "virtual", 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<?> running = executor.submit(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<?> queued = executor.submit(() -> {});
+
+            assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> {}));
+            assertEquals(1.0, meterRegistry.get("hirelens.ingestion.jobs.active").gauge().value());
+            assertEquals(1.0, meterRegistry.get("hirelens.ingestion.jobs.queued").gauge().value());
+            assertEquals(1.0, meterRegistry.get("hirelens.ingestion.jobs.rejected").counter().count());
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void cancel_interruptsRunningJob() throws Exception {
+        IngestionJobExecutor executor = new IngestionJobExecutor(new SimpleMeterRegistry(), "platform", 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            Future<?> job = executor.submit(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            job.cancel(true);
+
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void constructor_rejectsUnknownMode() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IngestionJobExecutor(new SimpleMeterRegistry(), "forkjoin", 1, 1));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.dto.aggregation.StartJobPayload;
+import com.voidsamuraj.HireLens.entity.*;
+import com.voidsamuraj.HireLens.repository.IngestionJobRepository;
+import com.voidsamuraj.HireLens.service.orchestrator.IngestionJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngestionJobServiceTest {
+
+    @Mock
+    private IngestionJobRepository repository;
+
+    private IngestionJobService service;
+    private final UUID jobId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = new IngestionJobService(repository, 7, "node-a", 60);
+    }
+
+    @Test
+    void create_storesRunningJobStartingAtFirstPage() {
+        StartJobPayload payload = new StartJobPayload();
+        payload.setQuery("java developer");
+        payload.setLevel(JobLevel.SENIOR);
+        payload.setIncludeUnknown(true);
+        payload.setMaxJobOffers(50);
+
+        service.create(jobId, payload);
+
+        ArgumentCaptor<IngestionJob> captor = ArgumentCaptor.forClass(IngestionJob.class);
+        verify(repository).save(captor.capture());
+        IngestionJob job = captor.getValue();
+        assertEquals(jobId, job.getId());
+        assertEquals(IngestionJobStatus.RUNNING, job.getStatus());
+        assertEquals(1, job.getNextPage());
+        assertEquals("node-a", job.getOwner());
+        assertEquals(payload, IngestionJobService.toPayload(job));
+    }
+
+    @Test
+    void recordSaved_countsOffersPerSource() {
+        List<JobEntity> jobs = List.of(
+                JobEntity.builder().apiName(ApiName.REMOTIVE).build(),
+                JobEntity.builder().apiName(ApiName.REMOTIVE).build(),
+                JobEntity.builder().apiName(ApiName.ADZUNA).build());
+
+        service.recordSaved(jobId, 3, jobs);
+
+        verify(repository).recordSaved(jobId, 3, "REMOTIVE", 2);
+        verify(repository).recordSaved(jobId, 3, "ADZUNA", 1);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void findInterrupted_dropsOldJobsAndReturnsUnownedRunning() {
+        when(repository.findClaimable(60)).thenReturn(List.of(jobId));
+
+        List<UUID> interrupted = service.findInterrupted();
+
+        assertEquals(List.of(jobId), interrupted);
+        verify(repository).deleteFinishedFor(7);
+    }
+
+    @Test
+    void claim_returnsJobOnlyIfThisNodeWonIt() {
+        IngestionJob running = IngestionJob.builder().id(jobId).status(IngestionJobStatus.RUNNING).nextPage(4).build();
+        UUID takenJobId = UUID.randomUUID();
+        when(repository.claim(jobId, "node-a", 60)).thenReturn(jobId);
+        when(repository.claim(takenJobId, "node-a", 60)).thenReturn(null);
+        when(repository.findById(jobId)).thenReturn(Optional.of(running));
+
+        assertEquals(Optional.of(running), service.claim(jobId));
+        assertEquals(Optional.empty(), service.claim(takenJobId));
+        verify(repository, never()).findById(takenJobId);
+    }
+
+    @Test
+    void heartbeat_renewsOnlyJobsOfThisNode() {
+        service.heartbeat(List.of());
+        service.heartbeat(List.of(jobId));
+        service.release(jobId);
+
+        verify(repository).heartbeat(List.of(jobId), "node-a");
+        verify(repository).release(jobId, "node-a");
+        verifyNoMoreInteractions(repository);
+    }
+}
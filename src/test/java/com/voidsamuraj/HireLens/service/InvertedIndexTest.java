@@ -0,0 +1,51 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.util.InvertedIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private record Doc(String title, String description, List<String> tags) {}
+
+    private final Doc java = new Doc("java-developer", "Spring Boot developer", List.of("java", "spring"));
+    private final Doc python = new Doc("python-developer", "Django developer", List.of("python", "django"));
+    private final Doc senior = new Doc("senior-java", null, List.of("Backend"));
+
+    private final InvertedIndex<Doc> index = new InvertedIndex<>(List.of(java, python, senior),
+            doc -> Arrays.asList(doc.title(), doc.description()), Doc::tags);
+
+    @Test
+    void search_matchesSubstringsOfWordsIgnoringCase() {
+        assertEquals(List.of(java, senior), index.search("JAVA"));
+        assertEquals(List.of(java, python), index.search("develop"));
+        assertEquals(List.of(java), index.search("boot"));
+    }
+
+    @Test
+    void search_intersectsAllTokens() {
+        assertEquals(List.of(java), index.search("java  spring"));
+        assertEquals(List.of(), index.search("python spring"));
+    }
+
+    @Test
+    void search_matchesTermsOnlyExactly() {
+        assertEquals(List.of(python), index.search("django"));
+        assertEquals(List.of(), index.search("backend"));
+    }
+
+    @Test
+    void search_blankQueryReturnsAllDocuments() {
+        assertEquals(List.of(java, python, senior), index.search(" "));
+        assertEquals(List.of(java, python, senior), index.search(null));
+    }
+
+    @Test
+    void search_repeatedQueryIsServedFromMemory() {
+        assertSame(index.search("java developer"), index.search("Java Developer "));
+    }
+}
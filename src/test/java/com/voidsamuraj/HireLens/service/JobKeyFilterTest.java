@@ -0,0 +1,123 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.entity.ApiName;
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.repository.JobRepository;
+import com.voidsamuraj.HireLens.service.orchestrator.JobKeyFilter;
+import com.voidsamuraj.HireLens.util.BloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobKeyFilterTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JobKeyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JobKeyFilter(jobRepository, meterRegistry, 1000, 0.01, 2, false);
+    }
+
+    @Test
+    void beforeWarmUp_everyKeyIsPossibleHit() {
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightContain(ApiName.REMOTIVE, "1"));
+    }
+
+    @Test
+    void warmUp_readsAllPagesAndReportsDefiniteMisses() {
+        when(jobRepository.findKeysAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(key(1L, ApiName.REMOTIVE, "a"), key(2L, ApiName.ADZUNA, "b")));
+        when(jobRepository.findKeysAfter(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(key(5L, ApiName.JOINRISE, "c")));
+
+        filter.warmUp();
+
+        assertTrue(filter.isReady());
+        assertTrue(filter.mightContain(ApiName.REMOTIVE, "a"));
+        assertTrue(filter.mightContain(ApiName.ADZUNA, "b"));
+        assertTrue(filter.mightContain(ApiName.JOINRISE, "c"));
+        assertFalse(filter.mightContain(ApiName.REMOTIVE, "b"));
+        assertEquals(1.0, lookups("definite-miss"));
+        assertEquals(3.0, lookups("possible-hit"));
+        assertEquals(3.0, meterRegistry.get("hirelens.dedup.bloom.keys").gauge().value());
+    }
+
+    @Test
+    void warmUpFailure_staysInPassThroughMode() {
+        when(jobRepository.findKeysAfter(anyLong(), any(Pageable.class))).thenThrow(new RuntimeException("db down"));
+
+        filter.warmUp();
+
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightContain(ApiName.REMOTEOK, "never-saved"));
+    }
+
+    @Test
+    void passThrough_neverWarmsUp() {
+        JobKeyFilter sharedDbFilter = new JobKeyFilter(jobRepository, meterRegistry, 1000, 0.01, 2, true);
+
+        sharedDbFilter.warmUp();
+
+        assertFalse(sharedDbFilter.isReady());
+        assertTrue(sharedDbFilter.mightContain(ApiName.REMOTEOK, "saved-by-other-node"));
+        verify(jobRepository, never()).findKeysAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void addAll_addsSavedJobs() {
+        when(jobRepository.findKeysAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        filter.warmUp();
+
+        filter.addAll(List.of(JobEntity.builder().apiName(ApiName.REMOTEOK).apiId("42").build(),
+                JobEntity.builder().apiName(ApiName.JOINRISE).build()));
+
+        assertTrue(filter.mightContain(ApiName.REMOTEOK, "42"));
+        assertEquals(1.0, meterRegistry.get("hirelens.dedup.bloom.keys").gauge().value());
+    }
+
+    @Test
+    void bloomFilter_hasNoFalseNegativesAndKeepsFalsePositiveRate() {
+        BloomFilter bloom = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++)
+            bloom.put("REMOTIVE:" + i);
+
+        for (int i = 0; i < 10_000; i++)
+            assertTrue(bloom.mightContain("REMOTIVE:" + i));
+        long falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++)
+            if (bloom.mightContain("REMOTIVE:" + i))
+                falsePositives++;
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(0.01, bloom.expectedFalsePositiveRate(), 0.005);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("hirelens.dedup.bloom.lookups").tag("result", result).counter().count();
+    }
+
+    private static JobRepository.JobKeyProjection key(Long id, ApiName apiName, String apiId) {
+        return new JobRepository.JobKeyProjection() {
+            public Long getId() { return id; }
+            public ApiName getApiName() { return apiName; }
+            public String getApiId() { return apiId; }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.entity.ApiName;
+import com.voidsamuraj.HireLens.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JobRepositoryTest {
+
+    @Test
+    void findExistingApiIds_splitsLargeListsIntoChunksAndMergesResults() {
+        JobRepository repository = mock(JobRepository.class);
+        when(repository.findExistingApiIds(any(), any())).thenCallRealMethod();
+        List<Collection<String>> chunks = new ArrayList<>();
+        when(repository.findApiIdsIn(eq(ApiName.ADZUNA), any())).thenAnswer(invocation -> {
+            Collection<String> chunk = new ArrayList<>(invocation.getArgument(1));
+            chunks.add(chunk);
+            // every third id is stored
+            Set<String> stored = new HashSet<>();
+            chunk.stream().filter(id -> Integer.parseInt(id) % 3 == 0).forEach(stored::add);
+            return stored;
+        });
+        int count = 2 * JobRepository.KEY_LOOKUP_CHUNK_SIZE + 1;
+        List<String> ids = new ArrayList<>(IntStream.range(0, count).mapToObj(String::valueOf).toList());
+        ids.add(null);
+        ids.add("3");
+
+        Set<String> existing = repository.findExistingApiIds(ApiName.ADZUNA, ids);
+
+        assertEquals(List.of(JobRepository.KEY_LOOKUP_CHUNK_SIZE, JobRepository.KEY_LOOKUP_CHUNK_SIZE, 1),
+                chunks.stream().map(Collection::size).toList());
+        Set<String> expected = new HashSet<>();
+        IntStream.range(0, count).filter(i -> i % 3 == 0).forEach(i -> expected.add(String.valueOf(i)));
+        assertEquals(expected, existing);
+        verify(repository, times(3)).findApiIdsIn(eq(ApiName.ADZUNA), any());
+    }
+
+    @Test
+    void findExistingApiIds_emptyListQueriesNothing() {
+        JobRepository repository = mock(JobRepository.class);
+        when(repository.findExistingApiIds(any(), any())).thenCallRealMethod();
+
+        assertEquals(Set.of(), repository.findExistingApiIds(ApiName.REMOTIVE, List.of()));
+        verify(repository, never()).findApiIdsIn(any(), any());
+    }
+}
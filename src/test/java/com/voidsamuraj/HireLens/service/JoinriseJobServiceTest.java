@@ -7,8 +7,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,10 +32,22 @@ class  JoinriseJobServiceTest {
     private JoinriseJobService service;
     private AutoCloseable mocks;
 
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private String responseBody = "{}";
+    private final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.add(request);
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(responseBody)
+                        .build());
+            })
+            .build();
+
     @BeforeEach
     void setUp() {
         mocks = MockitoAnnotations.openMocks(this);
-        service = new JoinriseJobService(restTemplate);
+        service = new JoinriseJobService(restTemplate, webClient, Jackson2ObjectMapperBuilder.json().build());
     }
     @AfterEach
     void tearDown() throws Exception {
@@ -86,4 +107,19 @@ class  JoinriseJobServiceTest {
 
         assertEquals(2, allJobs.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void fetchJobsAsync_withQuery_filtersCorrectly() {
+        responseBody = "{\"result\":{\"count\":2,\"jobs\":["
+                + "{\"title\":\"Backend Engineer\",\"category\":\"Engineering\"},"
+                + "{\"title\":\"Marketing Manager\",\"category\":\"Marketing\"}]}}";
+
+        List<JoinriseJobDto.RiseJobDto> filtered = service.fetchJobsAsync("backend", 50, 2).block();
+
+        assertNotNull(filtered);
+        assertEquals(1, filtered.size());
+        assertEquals("Backend Engineer", filtered.getFirst().getTitle());
+        assertEquals("https://api.joinrise.io/api/v1/jobs/public?limit=50&sortedBy=createdAt&sort=des&page=2",
+                requests.getFirst().url().toString());
+    }
+}
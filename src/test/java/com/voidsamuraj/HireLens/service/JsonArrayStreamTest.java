@@ -0,0 +1,98 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voidsamuraj.HireLens.dto.Joinrise.JoinriseJobDto;
+import com.voidsamuraj.HireLens.dto.Remotive.RemotiveJobDto;
+import com.voidsamuraj.HireLens.util.JsonArrayStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonArrayStreamTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    /** Splits a body into chunks of the given size, as it may arrive from the network. */
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += size)
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + size))));
+        return Flux.fromIterable(buffers);
+    }
+
+    @Test
+    void elements_readsOnlyTheArrayAtThePath() {
+        String json = "{\"0-legal-notice\":\"…\",\"other\":{\"jobs\":[{\"title\":\"Skipped\"}]},\"job-count\":2,"
+                + "\"jobs\":[{\"id\":1,\"title\":\"Java Developer\",\"tags\":[\"java\",{\"nested\":[1]}]},null,"
+                + "{\"id\":2,\"title\":\"Programista Łódź\"}],\"after\":[{\"title\":\"Skipped\"}]}";
+
+        for (int size : new int[]{1, 3, 7, json.length()}) {
+            List<RemotiveJobDto> jobs = JsonArrayStream.elements(chunks(json, size), objectMapper, RemotiveJobDto.class, "jobs")
+                    .collectList().block();
+
+            assertNotNull(jobs);
+            assertEquals(List.of("Java Developer", "Programista Łódź"), jobs.stream().map(RemotiveJobDto::getTitle).toList(),
+                    "chunk size " + size);
+        }
+    }
+
+    @Test
+    void elements_followsNestedPath() {
+        String json = "{\"success\":true,\"jobs\":[{\"title\":\"Skipped\"}],"
+                + "\"result\":{\"count\":2,\"other\":{\"jobs\":[]},\"jobs\":[{\"title\":\"Backend\"},{\"title\":\"Frontend\"}]}}";
+
+        List<JoinriseJobDto.RiseJobDto> jobs = JsonArrayStream.elements(chunks(json, 4), objectMapper,
+                JoinriseJobDto.RiseJobDto.class, "result", "jobs").collectList().block();
+
+        assertNotNull(jobs);
+        assertEquals(List.of("Backend", "Frontend"), jobs.stream().map(JoinriseJobDto.RiseJobDto::getTitle).toList());
+    }
+
+    @Test
+    void elements_withoutPathReadsTopLevelArray() {
+        assertEquals(List.of("a", "b"),
+                JsonArrayStream.elements(chunks("[\"a\",\"b\"]", 1), objectMapper, String.class).collectList().block());
+    }
+
+    @Test
+    void elements_emitsEveryElementBeforeTheRestOfTheBody() {
+        AtomicInteger fed = new AtomicInteger();
+        Flux<DataBuffer> body = chunks("{\"jobs\":[{\"title\":\"First\"},", 100)
+                .concatWith(chunks("{\"title\":\"Second\"}]}", 100))
+                .doOnNext(buffer -> fed.incrementAndGet());
+
+        List<Integer> fedWhenEmitted = JsonArrayStream.elements(body, objectMapper, RemotiveJobDto.class, "jobs")
+                .map(job -> fed.get())
+                .collectList().block();
+
+        assertEquals(List.of(1, 2), fedWhenEmitted);
+    }
+
+    @Test
+    void elements_missingArrayGivesNoElements() {
+        assertEquals(List.of(), JsonArrayStream.elements(chunks("{\"results\":null}", 2), objectMapper,
+                RemotiveJobDto.class, "results").collectList().block());
+        assertEquals(List.of(), JsonArrayStream.elements(chunks("{}", 2), objectMapper,
+                RemotiveJobDto.class, "results").collectList().block());
+    }
+
+    @Test
+    void elements_truncatedBodyFails() {
+        Flux<RemotiveJobDto> jobs = JsonArrayStream.elements(chunks("{\"jobs\":[{\"title\":\"A\"},{\"tit", 2),
+                objectMapper, RemotiveJobDto.class, "jobs");
+
+        assertThrows(DecodingException.class, () -> jobs.collectList().block());
+    }
+}
@@ -0,0 +1,151 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.dto.aggregation.SkillData;
+import com.voidsamuraj.HireLens.entity.ApiName;
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.repository.JobRepository;
+import com.voidsamuraj.HireLens.repository.QueryAggregateRepository;
+import com.voidsamuraj.HireLens.service.orchestrator.QueryAggregateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryAggregateServiceTest {
+
+    @Mock
+    private QueryAggregateRepository queryAggregateRepository;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private QueryAggregateService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new QueryAggregateService(queryAggregateRepository, jobRepository, 30);
+    }
+
+    @Test
+    void getAggregates_registeredQuery_readsRollupsWithoutScan() {
+        when(queryAggregateRepository.findIdByQuery("java")).thenReturn(7L);
+        when(queryAggregateRepository.getLocationCounts(7L)).thenReturn(List.of(new JobRepository.SkillCount("Poland", 3L)));
+        when(queryAggregateRepository.getSkillSums(7L)).thenReturn(List.of(skill("Java", "Programming", 12)));
+
+        QueryAggregateService.QueryAggregates aggregates = service.getAggregates("java");
+
+        assertEquals(Map.of("Poland", 3), aggregates.locations());
+        assertEquals(Map.of("Java", new SkillData("Programming", 12)), aggregates.skills());
+        verify(queryAggregateRepository).touch(7L);
+        verify(queryAggregateRepository, never()).lockAggregates(anyLong());
+        verify(queryAggregateRepository, never()).computeSkills(any());
+    }
+
+    @Test
+    void getAggregates_newQuery_registersAndComputesUnderLock() {
+        when(queryAggregateRepository.findIdByQuery("kotlin")).thenReturn(null).thenReturn(null);
+        when(queryAggregateRepository.register("kotlin")).thenReturn(9L);
+
+        service.getAggregates("kotlin");
+
+        InOrder order = inOrder(queryAggregateRepository);
+        order.verify(queryAggregateRepository).lockAggregates(anyLong());
+        order.verify(queryAggregateRepository).deleteUnusedFor(30);
+        order.verify(queryAggregateRepository).register("kotlin");
+        order.verify(queryAggregateRepository).computeSkills(9L);
+        order.verify(queryAggregateRepository).computeLocations(9L);
+        order.verify(queryAggregateRepository).getLocationCounts(9L);
+    }
+
+    @Test
+    void getAggregates_registeredWhileWaitingForLock_skipsScan() {
+        when(queryAggregateRepository.findIdByQuery("go")).thenReturn(null, 4L);
+
+        service.getAggregates("go");
+
+        verify(queryAggregateRepository, never()).register(any());
+        verify(queryAggregateRepository, never()).deleteUnusedFor(anyInt());
+        verify(queryAggregateRepository).getSkillSums(4L);
+    }
+
+    @Test
+    void saveJobs_addsSavedJobsToRollups() {
+        List<JobEntity> jobs = List.of(job(1L, "a"), job(2L, "b"));
+
+        assertEquals(jobs, service.saveJobs(jobs));
+
+        InOrder order = inOrder(jobRepository, queryAggregateRepository);
+        order.verify(queryAggregateRepository).lockAggregatesShared(anyLong());
+        order.verify(jobRepository).lockKeys(List.of("REMOTIVE:a", "REMOTIVE:b"));
+        order.verify(jobRepository).findExistingApiIds(ApiName.REMOTIVE, Set.of("a", "b"));
+        order.verify(jobRepository).saveAllAndFlush(jobs);
+        order.verify(queryAggregateRepository).addSkills(List.of(1L, 2L));
+        order.verify(queryAggregateRepository).addLocations(List.of(1L, 2L));
+        verify(queryAggregateRepository, never()).lockAggregates(anyLong());
+    }
+
+    @Test
+    void saveJobs_skipsJobsSavedMeanwhileAndRepeatedKeys() {
+        JobEntity stored = job(1L, "a");
+        JobEntity fresh = job(2L, "b");
+        JobEntity repeated = job(3L, "b");
+        when(jobRepository.findExistingApiIds(ApiName.REMOTIVE, Set.of("a", "b"))).thenReturn(Set.of("a"));
+
+        List<JobEntity> saved = service.saveJobs(List.of(stored, fresh, repeated));
+
+        assertEquals(List.of(fresh), saved);
+        verify(jobRepository).saveAllAndFlush(List.of(fresh));
+        verify(queryAggregateRepository).addSkills(List.of(2L));
+        verify(queryAggregateRepository).addLocations(List.of(2L));
+    }
+
+    @Test
+    void saveJobs_allSavedMeanwhile_insertsNothing() {
+        when(jobRepository.findExistingApiIds(ApiName.REMOTIVE, Set.of("a"))).thenReturn(Set.of("a"));
+
+        assertEquals(List.of(), service.saveJobs(List.of(job(1L, "a"))));
+
+        verify(jobRepository, never()).saveAllAndFlush(any());
+        verify(queryAggregateRepository, never()).addSkills(any());
+    }
+
+    @Test
+    void saveJobs_joinriseOffersWithoutIdGetTriggerIdAndAreAllSaved() {
+        JobEntity first = JobEntity.builder().id(1L).apiName(ApiName.JOINRISE).title("abc").build();
+        JobEntity second = JobEntity.builder().id(2L).apiName(ApiName.JOINRISE).title("Backend").companyName("Rise").build();
+        JobEntity repeated = JobEntity.builder().id(3L).apiName(ApiName.JOINRISE).title("abc").build();
+
+        List<JobEntity> saved = service.saveJobs(List.of(first, second, repeated));
+
+        assertEquals(List.of(first, second), saved);
+        // md5('abc'), as computed by the job_entity trigger
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", first.getApiId());
+        assertNotEquals(first.getApiId(), second.getApiId());
+        verify(jobRepository).saveAllAndFlush(List.of(first, second));
+    }
+
+    private static JobEntity job(Long id, String apiId) {
+        return JobEntity.builder().id(id).apiName(ApiName.REMOTIVE).apiId(apiId).build();
+    }
+
+    private static JobRepository.SkillProjection skill(String skill, String group, int level) {
+        return new JobRepository.SkillProjection() {
+            public String getSkill() { return skill; }
+            public String getGroupName() { return group; }
+            public int getTotalLevel() { return level; }
+        };
+    }
+}
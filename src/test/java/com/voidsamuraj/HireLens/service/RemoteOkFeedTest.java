@@ -0,0 +1,128 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.client.remoteok.ApiClient;
+import com.voidsamuraj.HireLens.client.remoteok.api.DefaultApi;
+import com.voidsamuraj.HireLens.client.remoteok.dto.Job;
+import com.voidsamuraj.HireLens.service.api.RemoteOkFeed;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RemoteOkFeedTest {
+
+    private static final String FEED = "[{\"slug\":\"java-developer\"},{\"slug\":\"python-developer\"}]";
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private Function<ClientRequest, ClientResponse> server;
+    private Duration latency = Duration.ZERO;
+    private DefaultApi apiClient;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.fromSupplier(() -> server.apply(request)).delaySubscription(latency);
+                })
+                .build();
+        ApiClient client = mock(ApiClient.class);
+        when(client.getWebClient()).thenReturn(webClient);
+        when(client.getBasePath()).thenReturn("https://remoteok.test");
+        apiClient = mock(DefaultApi.class);
+        when(apiClient.getApiClient()).thenReturn(client);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private static ClientResponse feed() {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"v1\"")
+                .header(HttpHeaders.LAST_MODIFIED, "Wed, 01 Oct 2025 10:00:00 GMT")
+                .body(FEED)
+                .build();
+    }
+
+    @Test
+    void jobs_freshSnapshotIsServedWithoutRequests() {
+        server = request -> feed();
+        RemoteOkFeed remoteOkFeed = new RemoteOkFeed(apiClient, meterRegistry, 600, 5);
+
+        List<Job> first = remoteOkFeed.jobs();
+        List<Job> second = remoteOkFeed.jobs();
+
+        assertEquals(2, first.size());
+        assertEquals("java-developer", first.getFirst().getSlug());
+        assertSame(first, second);
+        assertEquals(1, requests.size());
+        assertEquals("https://remoteok.test/api", requests.getFirst().url().toString());
+    }
+
+    @Test
+    void jobs_expiredSnapshotIsRevalidatedConditionally() {
+        server = request -> request.headers().getIfNoneMatch().isEmpty()
+                ? feed()
+                : ClientResponse.create(HttpStatus.NOT_MODIFIED).build();
+        RemoteOkFeed remoteOkFeed = new RemoteOkFeed(apiClient, meterRegistry, 0, 5);
+
+        List<Job> first = remoteOkFeed.jobs();
+        List<Job> second = remoteOkFeed.jobs();
+
+        assertSame(first, second);
+        assertEquals(2, requests.size());
+        assertEquals(List.of("\"v1\""), requests.get(1).headers().getIfNoneMatch());
+        assertEquals("Wed, 01 Oct 2025 10:00:00 GMT", requests.get(1).headers().getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+        assertEquals(1.0, meterRegistry.get("hirelens.remoteok.feed.requests").tag("result", "not_modified").counter().count());
+    }
+
+    @Test
+    void jobs_failedRefreshServesStaleSnapshot() {
+        server = request -> feed();
+        RemoteOkFeed remoteOkFeed = new RemoteOkFeed(apiClient, meterRegistry, 0, 5);
+        List<Job> first = remoteOkFeed.jobs();
+
+        server = request -> ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build();
+
+        assertSame(first, remoteOkFeed.jobs());
+        assertEquals(1.0, meterRegistry.get("hirelens.remoteok.feed.requests").tag("result", "error").counter().count());
+    }
+
+    @Test
+    void jobs_failedFirstDownloadThrows() {
+        server = request -> ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build();
+        RemoteOkFeed remoteOkFeed = new RemoteOkFeed(apiClient, meterRegistry, 600, 5);
+
+        assertThrows(RestClientException.class, remoteOkFeed::jobs);
+    }
+
+    @Test
+    void jobsAsync_callersShareOneDownloadEvenIfOneGivesUp() {
+        server = request -> feed();
+        latency = Duration.ofMillis(200);
+        RemoteOkFeed remoteOkFeed = new RemoteOkFeed(apiClient, meterRegistry, 600, 5);
+
+        assertThrows(RuntimeException.class, () -> remoteOkFeed.jobsAsync().timeout(Duration.ofMillis(10)).block());
+        List<Job> jobs = remoteOkFeed.jobsAsync().block();
+
+        assertNotNull(jobs);
+        assertEquals(2, jobs.size());
+        assertEquals(1, requests.size());
+        assertSame(jobs, remoteOkFeed.jobs());
+    }
+}
@@ -1,14 +1,15 @@
 package com.voidsamuraj.HireLens.service;
 
-import com.voidsamuraj.HireLens.client.remoteok.api.DefaultApi;
 import com.voidsamuraj.HireLens.client.remoteok.dto.Job;
+import com.voidsamuraj.HireLens.service.api.RemoteOkFeed;
 import com.voidsamuraj.HireLens.service.api.RemoteOkService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import reactor.core.publisher.Flux;
+import org.springframework.web.client.RestClientException;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -18,14 +19,14 @@ import static org.mockito.Mockito.when;
 class RemoteOkServiceTest {
 
     @Mock
-    private DefaultApi apiClient;
+    private RemoteOkFeed feed;
 
     private RemoteOkService service;
     private AutoCloseable mocks;
     @BeforeEach
     void setUp() {
         mocks = MockitoAnnotations.openMocks(this);
-        service = new RemoteOkService(apiClient);
+        service = new RemoteOkService(feed);
     }
     @AfterEach
     void tearDown() throws Exception {
@@ -36,7 +37,7 @@ class RemoteOkServiceTest {
         Job job1 = new Job().slug("java-developer").description("Spring developer").tags(List.of("java","spring"));
         Job job2 = new Job().slug("python-developer").description("Django developer").tags(List.of("python","django"));
 
-        when(apiClient.getJobs()).thenReturn(Flux.just(job1, job2));
+        when(feed.jobs()).thenReturn(List.of(job1, job2));
 
         List<Job> result = service.fetchJobs(null);
         assertEquals(2, result.size());
@@ -51,7 +52,7 @@ class RemoteOkServiceTest {
         Job job2 = new Job().slug("python-developer").description("Django developer").tags(List.of("python","django"));
         Job job3 = new Job().slug("senior-java").description("Backend engineer").tags(List.of("java","backend"));
 
-        when(apiClient.getJobs()).thenReturn(Flux.just(job1, job2, job3));
+        when(feed.jobs()).thenReturn(List.of(job1, job2, job3));
 
         List<Job> result = service.fetchJobs("java spring");
         assertEquals(1, result.size());
@@ -63,4 +64,35 @@ class RemoteOkServiceTest {
         List<Job> result3 = service.fetchJobs("java engineer");
         assertEquals(1, result3.size()); // job1 i job3
     }
-}
\ No newline at end of file
+
+    @Test
+    void fetchJobs_pagesFilteredJobsFromSnapshot() {
+        Job job1 = new Job().slug("java-developer").description("Spring developer").tags(List.of("java","spring"));
+        Job job2 = new Job().slug("python-developer").description("Django developer").tags(List.of("python","django"));
+        Job job3 = new Job().slug("senior-java").description("Backend engineer").tags(List.of("java","backend"));
+
+        when(feed.jobs()).thenReturn(List.of(job1, job2, job3));
+
+        assertEquals(List.of(job1), service.fetchJobs("java", 1, 1));
+        assertEquals(List.of(job3), service.fetchJobs("java", 1, 2));
+        assertEquals(List.of(), service.fetchJobs("java", 1, 3));
+    }
+
+    @Test
+    void fetchJobs_feedUnavailable_returnsEmptyList() {
+        when(feed.jobs()).thenThrow(new RestClientException("RemoteOK feed unavailable"));
+
+        assertTrue(service.fetchJobs("java").isEmpty());
+        assertTrue(service.fetchAllJobs().isEmpty());
+    }
+
+    @Test
+    void fetchJobsAsync_pagesFilteredJobsFromSnapshot() {
+        Job job1 = new Job().slug("java-developer").description("Spring developer").tags(List.of("java","spring"));
+        Job job2 = new Job().slug("senior-java").description("Backend engineer").tags(List.of("java","backend"));
+
+        when(feed.jobsAsync()).thenReturn(Mono.just(List.of(job1, job2)));
+
+        assertEquals(List.of(job2), service.fetchJobsAsync("java", 1, 2).block());
+    }
+}
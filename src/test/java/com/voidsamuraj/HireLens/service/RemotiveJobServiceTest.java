@@ -9,8 +9,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,4 +53,38 @@ class RemotiveJobServiceTest {
         assertEquals(1, result.size());
         assertEquals("Lead Developer", result.getFirst().getTitle());
     }
+
+    @Test
+    void fetchJobsAsync_encodesQueryAndReadsJobs() {
+        List<ClientRequest> requests = new ArrayList<>();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"job-count\":1,\"jobs\":[{\"id\":123,\"title\":\"Lead Developer\"}]}")
+                            .build());
+                })
+                .build();
+        RemotiveJobService service = new RemotiveJobService(restTemplate, webClient, Jackson2ObjectMapperBuilder.json().build());
+
+        List<RemotiveJobDto> result = service.fetchJobsAsync("c++ developer", 10, 1).block();
+
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("Lead Developer", result.getFirst().getTitle());
+        assertEquals("https://remotive.com/api/remote-jobs?search=c%2B%2B%20developer&limit=10",
+                requests.getFirst().url().toString());
+        Mockito.verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void fetchJobsAsync_signalsHttpErrors() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()))
+                .build();
+        RemotiveJobService service = new RemotiveJobService(restTemplate, webClient, Jackson2ObjectMapperBuilder.json().build());
+
+        assertThrows(WebClientResponseException.class, () -> service.fetchJobsAsync("java", 10, 1).block());
+    }
 }
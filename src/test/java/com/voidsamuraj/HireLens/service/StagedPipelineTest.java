@@ -0,0 +1,105 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.service.orchestrator.PipelineMetrics;
+import com.voidsamuraj.HireLens.service.orchestrator.StagedPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StagedPipelineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PipelineMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new PipelineMetrics(meterRegistry);
+    }
+
+    @Test
+    void run_passesEveryItemThroughAllStages() throws Exception {
+        List<int[]> finished = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger next = new AtomicInteger();
+
+        new StagedPipeline<int[]>(metrics, 1)
+                .stage("double", 3, item -> item[0] *= 2)
+                .stage("increment", 2, item -> item[0] += 1)
+                .stage("collect", 1, finished::add)
+                .run("source", () -> next.get() < 20 ? new int[]{next.getAndIncrement()} : null);
+
+        assertEquals(20, finished.size());
+        assertEquals(20 * 19 + 20, finished.stream().mapToInt(item -> item[0]).sum());
+        assertEquals(20, meterRegistry.get("hirelens.pipeline.stage").tag("stage", "double").timer().count());
+        assertEquals(0.0, meterRegistry.get("hirelens.pipeline.queue.depth").tag("stage", "collect").gauge().value());
+    }
+
+    @Test
+    void run_overlapsStages() throws Exception {
+        CountDownLatch secondFetched = new CountDownLatch(1);
+        AtomicInteger next = new AtomicInteger();
+
+        new StagedPipeline<Integer>(metrics, 1)
+                .stage("slow", 1, item -> {
+                    if (item == 0)
+                        assertTrue(secondFetched.await(5, TimeUnit.SECONDS), "source blocked by a later stage");
+                })
+                .run("source", () -> {
+                    int item = next.getAndIncrement();
+                    if (item == 1)
+                        secondFetched.countDown();
+                    return item < 3 ? item : null;
+                });
+    }
+
+    @Test
+    void run_stageFailure_stopsPipelineAndRethrows() {
+        AtomicInteger produced = new AtomicInteger();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> new StagedPipeline<Integer>(metrics, 1)
+                .stage("failing", 1, item -> {
+                    throw new IllegalStateException("boom");
+                })
+                .run("source", produced::incrementAndGet));
+
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void run_stageFailure_waitsForWorkersIgnoringInterrupt() {
+        AtomicInteger produced = new AtomicInteger();
+        CountDownLatch busy = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+
+        assertThrows(ExecutionException.class, () -> new StagedPipeline<Integer>(metrics, 2)
+                .stage("persist", 2, item -> {
+                    if (item == 1) {
+                        busy.countDown();
+                        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+                        while (System.nanoTime() < until)
+                            Thread.onSpinWait();
+                        finished.set(true);
+                    } else {
+                        busy.await();
+                        throw new IllegalStateException("boom");
+                    }
+                })
+                .run("source", () -> {
+                    int item = produced.incrementAndGet();
+                    return item <= 2 ? item : null;
+                }));
+
+        assertTrue(finished.get());
+    }
+}
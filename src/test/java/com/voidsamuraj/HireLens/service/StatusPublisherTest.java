@@ -0,0 +1,97 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.dto.aggregation.DataUpdateStatus;
+import com.voidsamuraj.HireLens.dto.aggregation.WsPayload;
+import com.voidsamuraj.HireLens.service.orchestrator.StatusPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatusPublisherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatusPublisher publisher;
+    private final UUID jobId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new StatusPublisher(messagingTemplate, meterRegistry, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    void publish_coalescesRapidUpdatesIntoLatest() {
+        for (int processed = 1; processed <= 10; processed++)
+            publisher.publish(jobId, progress(processed));
+
+        verify(messagingTemplate, timeout(2000).times(2)).convertAndSend(eq("/dataUpdate/" + jobId), any(Object.class));
+        List<DataUpdateStatus> sent = sentStatuses(2);
+        assertEquals(1, sent.get(0).getProcessedByAINumber());
+        assertEquals(10, sent.get(1).getProcessedByAINumber());
+        assertEquals(8.0, meterRegistry.get("hirelens.status.messages").tag("result", "coalesced").counter().count());
+    }
+
+    @Test
+    void publish_sendsTerminalStateImmediatelyAndDropsPending() throws InterruptedException {
+        publisher.publish(jobId, progress(1));
+        publisher.publish(jobId, progress(2));
+        DataUpdateStatus cancelled = new DataUpdateStatus();
+        cancelled.setCancelled(true);
+        publisher.publish(jobId, cancelled);
+
+        List<DataUpdateStatus> sent = sentStatuses(2);
+        assertTrue(sent.get(1).isCancelled());
+
+        Thread.sleep(400);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/dataUpdate/" + jobId), any(Object.class));
+    }
+
+    @Test
+    void publish_withZeroInterval_sendsEveryUpdate() {
+        StatusPublisher unthrottled = new StatusPublisher(messagingTemplate, new SimpleMeterRegistry(), 0);
+        try {
+            for (int processed = 1; processed <= 5; processed++)
+                unthrottled.publish(jobId, progress(processed));
+        } finally {
+            unthrottled.shutdown();
+        }
+
+        verify(messagingTemplate, times(5)).convertAndSend(eq("/dataUpdate/" + jobId), any(Object.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DataUpdateStatus> sentStatuses(int count) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, atLeast(count)).convertAndSend(eq("/dataUpdate/" + jobId), captor.capture());
+        return captor.getAllValues().stream()
+                .map(payload -> ((WsPayload<DataUpdateStatus>) payload).getPayload())
+                .toList();
+    }
+
+    private static DataUpdateStatus progress(int processed) {
+        return new DataUpdateStatus(true, true, 10, 10, 0, 0, 0, true, processed, false, false, "");
+    }
+}
@@ -0,0 +1,68 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.util.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    void reserve_emptyBucket_queuesCallersOneIntervalApart() {
+        MutableClock clock = new MutableClock();
+        TokenBucket bucket = new TokenBucket(1, 1, clock);
+
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ofSeconds(1), bucket.reserve());
+        assertEquals(Duration.ofSeconds(2), bucket.reserve());
+    }
+
+    @Test
+    void reserve_refillsOverTimeUpToCapacity() {
+        MutableClock clock = new MutableClock();
+        TokenBucket bucket = new TokenBucket(2, 2, clock);
+        bucket.reserve();
+        bucket.reserve();
+
+        clock.advance(Duration.ofSeconds(10));
+
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ofMillis(500), bucket.reserve());
+    }
+
+    @Test
+    void constructor_rejectsInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, Clock.systemUTC()));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, Clock.systemUTC()));
+    }
+}
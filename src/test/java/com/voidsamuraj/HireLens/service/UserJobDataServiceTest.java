@@ -0,0 +1,135 @@
+package com.voidsamuraj.HireLens.service;
+
+import com.voidsamuraj.HireLens.dto.aggregation.AggregatesDto;
+import com.voidsamuraj.HireLens.dto.aggregation.SkillData;
+import com.voidsamuraj.HireLens.dto.aggregation.WsPayload;
+import com.voidsamuraj.HireLens.entity.JobEntity;
+import com.voidsamuraj.HireLens.service.orchestrator.UserJobDataService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserJobDataServiceTest {
+
+    @Test
+    void sessions_areIsolatedPerJob() {
+        UserJobDataService service = new UserJobDataService(new SimpleMeterRegistry(), 60, 10);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        service.init(first);
+        service.init(second);
+
+        service.setSkills(first, Map.of("Java", new SkillData("Programming", 3)));
+        service.addJobs(second, List.of(JobEntity.builder().candidateRequiredLocation("Poland").build()));
+
+        assertEquals(Map.of("Programming", Map.of("Java", 3)), service.getAggregates(first).getSkills());
+        assertTrue(service.getAggregates(first).getLocations().isEmpty());
+        assertEquals(Map.of("Poland", 1), service.getAggregates(second).getLocations());
+        assertTrue(service.getAggregates(second).getSkills().isEmpty());
+    }
+
+    @Test
+    void unknownJob_hasNoData() {
+        UserJobDataService service = new UserJobDataService(new SimpleMeterRegistry(), 60, 10);
+
+        service.addJobs(UUID.randomUUID(), List.of(new JobEntity()));
+
+        assertNull(service.getAggregates(UUID.randomUUID()));
+        assertEquals(0, service.sessionCount());
+    }
+
+    @Test
+    void init_evictsLeastRecentlyUsedAboveCap() {
+        UserJobDataService service = new UserJobDataService(new SimpleMeterRegistry(), 60, 2);
+        UUID oldest = UUID.randomUUID();
+        UUID used = UUID.randomUUID();
+        service.init(oldest);
+        service.init(used);
+        service.getAggregates(used);
+
+        service.init(UUID.randomUUID());
+
+        assertEquals(2, service.sessionCount());
+        assertNull(service.getAggregates(oldest));
+        assertNotNull(service.getAggregates(used));
+    }
+
+    @Test
+    void expiredSession_isDropped() throws InterruptedException {
+        UserJobDataService service = new UserJobDataService(new SimpleMeterRegistry(), 0, 10);
+        UUID jobId = UUID.randomUUID();
+        service.init(jobId);
+        Thread.sleep(5);
+
+        assertNull(service.getAggregates(jobId));
+        assertEquals(0, service.sessionCount());
+    }
+
+    @Test
+    void nextChartUpdate_sendsFullSnapshotThenDeltas() {
+        UserJobDataService service = new UserJobDataService(new SimpleMeterRegistry(), 60, 10);
+        UUID jobId = UUID.randomUUID();
+        service.init(jobId);
+        service.setLocations(jobId, Map.of("Poland", 1, "Spain", 2));
+
+        WsPayload<AggregatesDto> first = service.nextChartUpdate(jobId);
+        assertNull(service.nextChartUpdate(jobId));
+        service.addJobs(jobId, List.of(JobEntity.builder().candidateRequiredLocation("Poland").build()));
+        WsPayload<AggregatesDto> second = service.nextChartUpdate(jobId);
+
+        assertEquals(WsPayload.DataType.CHART_MAP, first.getType());
+        assertEquals(1L, first.getSequence());
+        assertEquals(Map.of("Poland", 1, "Spain", 2), first.getPayload().getLocations());
+        assertEquals(WsPayload.DataType.CHART_DELTA, second.getType());
+        assertEquals(2L, second.getSequence());
+        assertEquals(Map.of("Poland", 2), second.getPayload().getLocations());
+        assertTrue(second.getPayload().getSkills().isEmpty());
+    }
+
+    @Test
+    void nextChartUpdate_afterRemoval_sendsFullSnapshot() {
+        UserJobDataService service = new UserJobDataService(new SimpleMeterRegistry(), 60, 10);
+        UUID jobId = UUID.randomUUID();
+        service.init(jobId);
+        service.setLocations(jobId, Map.of("Poland", 1));
+        service.nextChartUpdate(jobId);
+
+        service.setLocations(jobId, Map.of("Spain", 1));
+        WsPayload<AggregatesDto> update = service.nextChartUpdate(jobId);
+
+        assertEquals(WsPayload.DataType.CHART_MAP, update.getType());
+        assertEquals(Map.of("Spain", 1), update.getPayload().getLocations());
+    }
+
+    @Test
+    void getPublishedChart_returnsLastSentSnapshotWithSequence() {
+        UserJobDataService service = new UserJobDataService(new SimpleMeterRegistry(), 60, 10);
+        UUID jobId = UUID.randomUUID();
+        service.init(jobId);
+        service.setLocations(jobId, Map.of("Poland", 1));
+        service.nextChartUpdate(jobId);
+        service.addJobs(jobId, List.of(JobEntity.builder().candidateRequiredLocation("Poland").build()));
+
+        WsPayload<AggregatesDto> published = service.getPublishedChart(jobId);
+
+        assertEquals(WsPayload.DataType.CHART_MAP, published.getType());
+        assertEquals(1L, published.getSequence());
+        assertEquals(Map.of("Poland", 1), published.getPayload().getLocations());
+    }
+
+    @Test
+    void remove_dropsSession() {
+        UserJobDataService service = new UserJobDataService(new SimpleMeterRegistry(), 60, 10);
+        UUID jobId = UUID.randomUUID();
+        service.init(jobId);
+
+        service.remove(jobId);
+
+        assertNull(service.getAggregates(jobId));
+    }
+}